@@ -0,0 +1,90 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Battles/sec and allocation rate of the original battle loop against the primitive engine.
+ * <p>
+ * Run with the GC profiler to get {@code gc.alloc.rate.norm} (bytes per battle):
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BattleEngineBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleEngineBenchmark {
+
+    private Character warrior;
+    private Character thief;
+    private BattleService battleService;
+    private BattleEngine engine;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        CharacterService characterService = new CharacterService();
+        warrior = characterService.create("BenchWarrior", "WARRIOR");
+        thief = characterService.create("BenchThief", "THIEF");
+        random = new Random(42L);
+        battleService = new BattleService(characterService, random);
+        engine = new BattleEngine();
+    }
+
+    // Old path: SpeedRoll record and String.format on every half-round
+    @Benchmark
+    public List<String> legacyExecuteBattle() {
+        revive();
+        return LegacyBattleLoop.executeBattle(warrior, thief, random);
+    }
+
+    // New path through BattleService, log kept as event codes
+    @Benchmark
+    public BattleResult engineExecuteBattle() {
+        revive();
+        return battleService.executeBattle(warrior, thief);
+    }
+
+    // New path with the full log rendered, the equivalent of what the legacy loop always did
+    @Benchmark
+    public List<String> engineExecuteBattleRendered() {
+        revive();
+        return battleService.executeBattle(warrior, thief).battleLog();
+    }
+
+    // Rounds only - should report ~0 B/op once the event buffer has grown
+    @Benchmark
+    public int engineFightOnly() {
+        engine.load(BattleEngine.FIRST, warrior.getMaxHealthPoints(), warrior.getAttackModifier(), warrior.getSpeedModifier());
+        engine.load(BattleEngine.SECOND, thief.getMaxHealthPoints(), thief.getAttackModifier(), thief.getSpeedModifier());
+        return engine.fight(random);
+    }
+
+    private void revive() {
+        warrior.setHealthPoints(warrior.getMaxHealthPoints());
+        warrior.setAlive(true);
+        thief.setHealthPoints(thief.getMaxHealthPoints());
+        thief.setAlive(true);
+    }
+}
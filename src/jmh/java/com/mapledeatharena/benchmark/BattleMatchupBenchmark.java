@@ -0,0 +1,63 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code executeBattle(id, id)} for every job pairing. Battle cost follows the number of rounds, which depends on the
+ * matchup: HP against the opponent's attack roll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleMatchupBenchmark {
+
+    @Param({"WARRIOR", "THIEF", "MAGE"})
+    public String attackerJob;
+
+    @Param({"WARRIOR", "THIEF", "MAGE"})
+    public String defenderJob;
+
+    private Character attacker;
+    private Character defender;
+    private BattleService battleService;
+
+    @Setup
+    public void setUp() {
+        CharacterService characterService = new CharacterService();
+        battleService = new BattleService(characterService, new ThreadLocalRandomProvider());
+        attacker = characterService.create("Bench_Attacker", attackerJob);
+        defender = characterService.create("Bench_Defender", defenderJob);
+    }
+
+    @Benchmark
+    public BattleResult executeBattle() {
+        revive(attacker);
+        revive(defender);
+        return battleService.executeBattle(attacker.getId(), defender.getId());
+    }
+
+    private static void revive(Character character) {
+        character.setHealthPoints(character.getMaxHealthPoints());
+        character.setAlive(true);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mapledeatharena.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The response side of {@code POST /api/characters/battle}: rendering the log into a {@link BattleResponse} and
+ * writing it as JSON, for each {@code log} detail level. The battle itself runs once in setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleResponseSerializationBenchmark {
+
+    @Param({"FULL", "SUMMARY", "NONE"})
+    public BattleLogDetail logDetail;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BattleResult result;
+    private BattleResponse response;
+
+    @Setup
+    public void setUp() {
+        CharacterService characterService = new CharacterService();
+        Character warrior = characterService.create("BenchWarrior", "WARRIOR");
+        Character mage = characterService.create("BenchMage", "MAGE");
+        result = new BattleService(characterService, new Random(42L)).executeBattle(warrior.getId(), mage.getId());
+        response = BattleResponse.from(result, logDetail);
+    }
+
+    // What the controller does after the battle: render, then serialize
+    @Benchmark
+    public byte[] renderAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(BattleResponse.from(result, logDetail));
+    }
+
+    @Benchmark
+    public byte[] serializeOnly() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,87 @@
+package com.mapledeatharena.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (as written by the benchmark profile) benchmark by benchmark and exits with 1
+ * if any got slower by more than the threshold:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.mapledeatharena.benchmark.BenchmarkComparison \
+ *     -Dbenchmark.options= -Djmh.args="target/jmh-result-1.0.0.json target/jmh-result-1.1.0.json 5"
+ * </pre>
+ * "Slower" follows the mode: a lower score for throughput, a higher one for average/sample/single-shot time.
+ * A change within the combined 99.9% error bounds of both runs is never reported as a regression.
+ */
+public final class BenchmarkComparison {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold percent, default 5]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> candidate = read(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", after.score(), "new");
+                continue;
+            }
+
+            double change = (after.score() - before.score()) / before.score() * 100;
+            double worse = after.mode().equals("thrpt") ? -change : change;
+            boolean beyondNoise = Math.abs(after.score() - before.score()) > before.error() + after.error();
+            boolean regression = worse > threshold && beyondNoise;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.score(), after.score(),
+                    change, after.unit(), regression ? "  REGRESSION" : "");
+        }
+
+        System.out.println(regressions == 0
+                ? "No regressions above " + threshold + "%"
+                : regressions + " regression(s) above " + threshold + "%");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // Keyed by benchmark method plus its parameters, e.g. "...executeBattle{attackerJob=MAGE, defenderJob=THIEF}"
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramNode = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = paramNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+
+            JsonNode metric = result.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble();
+            scores.put(result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString()),
+                    new Score(result.path("mode").asText(), metric.path("score").asDouble(),
+                            Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
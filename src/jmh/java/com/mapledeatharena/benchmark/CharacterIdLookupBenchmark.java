@@ -0,0 +1,87 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.service.HeapCharacterStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id lookups: the primitive-keyed heap store against the previous {@code ConcurrentHashMap<String, Character>}
+ * (which also paid a {@code String.valueOf} per created id). Setup prints the heap each map costs per entry, on top
+ * of the shared {@link Character} objects.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CharacterIdLookupBenchmark {
+
+    @Param({"1000000"})
+    public int characters;
+
+    private Character[] all;
+    private HeapCharacterStore longKeyed;
+    private ConcurrentHashMap<String, Character> stringKeyed;
+
+    @Setup(Level.Trial)
+    public void load() {
+        all = new Character[characters];
+        for (int i = 0; i < characters; i++) {
+            all[i] = Character.createNewCharacter(i + 1, "Bench_Fighter", Job.WARRIOR);
+        }
+
+        long before = usedHeap();
+        longKeyed = new HeapCharacterStore();
+        for (Character character : all) {
+            longKeyed.put(character);
+        }
+        long afterLong = usedHeap();
+
+        stringKeyed = new ConcurrentHashMap<>();
+        for (Character character : all) {
+            stringKeyed.put(String.valueOf(character.getId()), character);
+        }
+        long afterString = usedHeap();
+
+        System.out.printf("%nper entry: long-keyed %.1f bytes, String-keyed %.1f bytes%n",
+                (double) (afterLong - before) / characters, (double) (afterString - afterLong) / characters);
+    }
+
+    @Benchmark
+    public Character longKeyedLookup() {
+        return longKeyed.get(1 + ThreadLocalRandom.current().nextInt(characters));
+    }
+
+    // What every request paid before: a String id from the wire hashed and compared as a String
+    @Benchmark
+    public Character stringKeyedLookup() {
+        return stringKeyed.get(String.valueOf(1 + ThreadLocalRandom.current().nextInt(characters)));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
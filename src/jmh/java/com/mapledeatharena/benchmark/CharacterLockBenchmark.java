@@ -0,0 +1,85 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locked battle throughput on all cores under skewed workloads: {@code hotFraction} of battles involve one of
+ * {@code hotCharacters} characters, the rest pick uniformly from the whole store.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CharacterLockBenchmark {
+
+    @Param({"10000"})
+    public int characters;
+
+    @Param({"1"})
+    public int hotCharacters;
+
+    @Param({"0.0", "0.5", "0.9"})
+    public double hotFraction;
+
+    private CharacterService characterService;
+    private BattleService battleService;
+
+    @Setup
+    public void setUp() {
+        characterService = new CharacterService();
+        battleService = new BattleService(characterService, new ThreadLocalRandomProvider());
+        for (int i = 0; i < characters; i++) {
+            characterService.create("Bench_Fighter", "WARRIOR");
+        }
+    }
+
+    @Benchmark
+    public BattleResult skewedBattle() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long first = random.nextDouble() < hotFraction
+                ? 1 + random.nextInt(hotCharacters)
+                : 1 + random.nextInt(characters);
+        long second;
+        do {
+            second = 1 + random.nextInt(characters);
+        } while (second == first);
+
+        long attackerId = first;
+        long defenderId = second;
+
+        // Revive both under their locks so every battle can run
+        return characterService.withCharacters(attackerId, defenderId, () -> {
+            revive(attackerId);
+            revive(defenderId);
+            return battleService.executeBattle(attackerId, defenderId);
+        });
+    }
+
+    private void revive(long id) {
+        Character character = characterService.getById(id).orElseThrow();
+        character.setHealthPoints(character.getMaxHealthPoints());
+        character.setAlive(true);
+    }
+}
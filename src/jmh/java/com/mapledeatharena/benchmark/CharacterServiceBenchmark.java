@@ -0,0 +1,64 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded {@link CharacterService} operations by store size. {@code create} keeps adding to the store, so
+ * its numbers are for a store at least {@code storeSize} large. {@link CharacterServiceContentionBenchmark} covers
+ * the same calls under concurrency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CharacterServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int storeSize;
+
+    private CharacterService characterService;
+
+    @Setup
+    public void setUp() {
+        characterService = new CharacterService();
+        String[] jobs = {"WARRIOR", "THIEF", "MAGE"};
+        for (int i = 0; i < storeSize; i++) {
+            characterService.create("Bench_Fighter", jobs[i % jobs.length]);
+        }
+    }
+
+    @Benchmark
+    public Character create() {
+        return characterService.create("Bench_Created", "MAGE");
+    }
+
+    @Benchmark
+    public Optional<Character> getById() {
+        return characterService.getById(ThreadLocalRandom.current().nextLong(storeSize) + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Character> getAll() {
+        return characterService.getAll();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CharacterService} shared by many threads: lookups alone on every core, creates alone on every core (all
+ * contending for the id generator and map growth), and a read-mostly mix of six readers per two writers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CharacterServiceContentionBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int storeSize;
+
+    private CharacterService characterService;
+
+    @Setup
+    public void setUp() {
+        characterService = new CharacterService();
+        for (int i = 0; i < storeSize; i++) {
+            characterService.create("Bench_Fighter", "WARRIOR");
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Character> getByIdAllThreads() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Character createAllThreads() {
+        return characterService.create("Bench_Created", "THIEF");
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(6)
+    public Optional<Character> readMostlyLookup() {
+        return lookup();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(2)
+    public Character readMostlyCreate() {
+        return characterService.create("Bench_Created", "THIEF");
+    }
+
+    private Optional<Character> lookup() {
+        return characterService.getById(ThreadLocalRandom.current().nextLong(storeSize) + 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.persistence.MappedCharacterStore;
+import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.CharacterStore;
+import com.mapledeatharena.service.HeapCharacterStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Heap store vs. memory-mapped store with {@code characters} characters loaded. Setup prints the heap retained by
+ * the loaded store; run with {@code -prof gc} to compare allocation rate and GC time under a read/update mix.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class CharacterStoreBenchmark {
+
+    @Param({"10000000"})
+    public int characters;
+
+    @Param({"heap", "mapped"})
+    public String store;
+
+    private Path directory;
+    private CharacterStore characterStore;
+    private CharacterService characterService;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        long before = usedHeap();
+        if (store.equals("mapped")) {
+            directory = Files.createTempDirectory("arena-store");
+            characterStore = new MappedCharacterStore(directory);
+        } else {
+            characterStore = new HeapCharacterStore();
+        }
+        characterService = new CharacterService(characterStore);
+
+        String[] jobs = {"WARRIOR", "THIEF", "MAGE"};
+        for (int i = 0; i < characters; i++) {
+            characterService.create("Bench_Fighter", jobs[i % jobs.length]);
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n%s store: %d MB heap retained, %.1f bytes per character (including indexes)%n",
+                store, retained >> 20, (double) retained / characters);
+    }
+
+    @Benchmark
+    public Character lookup() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(characters);
+        return characterService.getById(id).orElseThrow();
+    }
+
+    @Benchmark
+    public Character lookupAndUpdate() {
+        long id = 1 + ThreadLocalRandom.current().nextInt(characters);
+        return characterService.withCharacter(id, () -> {
+            Character character = characterService.getById(id).orElseThrow();
+            character.setHealthPoints(character.getMaxHealthPoints());
+            characterService.update(character);
+            return character;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        characterStore.close();
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,212 @@
+package com.mapledeatharena.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running server: for each connection count, that many virtual-thread clients send
+ * requests back to back for a fixed time, and the run reports throughput and p50/p99/p99.9 latency.
+ * <p>
+ * Compare the default platform-thread Tomcat pool with the virtual-thread profile by running it against each:
+ * <pre>
+ *   java -jar target/mapledeatharena.jar                                   # platform threads (200 workers)
+ *   java -jar target/mapledeatharena.jar --spring.profiles.active=virtual  # virtual threads
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.mapledeatharena.benchmark.HttpLoadTest \
+ *       -Dbenchmark.options= -Djmh.args="--url http://localhost:8080 --connections 1000,5000,10000,50000 --seconds 30 --scenario battle"
+ * </pre>
+ * Scenarios: {@code lookup} (GET a character), {@code battle} (POST a battle between two random characters - once
+ * they die, most battles are rejected with 400, which is counted separately and still timed) and {@code mixed}
+ * (nine lookups per battle).
+ * <p>
+ * Every client holds its own connection, so past ~28k connections a single client host runs out of ephemeral ports
+ * - widen {@code net.ipv4.ip_local_port_range} and raise {@code ulimit -n} on both sides first.
+ */
+public final class HttpLoadTest {
+
+    private final HttpClient client;
+    private final String url;
+    private final String scenario;
+    private final int characters;
+
+    private HttpLoadTest(String url, String scenario, int characters, ExecutorService executor) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+        this.url = url;
+        this.scenario = scenario;
+        this.characters = characters;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String scenario = options.getOrDefault("scenario", "lookup");
+        int characters = Integer.parseInt(options.getOrDefault("characters", "10000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup-seconds", "5"));
+        int[] levels = Arrays.stream(options.getOrDefault("connections", "1000,5000,10000,50000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpLoadTest test = new HttpLoadTest(url, scenario, characters, executor);
+            test.createCharacters();
+
+            System.out.printf("%-11s %-11s %12s %10s %10s %10s %10s %9s %9s%n",
+                    "scenario", "connections", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "rejected", "errors");
+            for (int connections : levels) {
+                test.run(connections, warmupSeconds);
+                Result result = test.run(connections, seconds);
+                System.out.printf("%-11s %-11d %12d %10.0f %10.2f %10.2f %10.2f %9d %9d%n",
+                        scenario, connections, result.requests(), result.requests() / (double) seconds,
+                        result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(0.999),
+                        result.rejected(), result.errors());
+            }
+        }
+    }
+
+    private void createCharacters() throws IOException, InterruptedException {
+        String[] jobs = {"WARRIOR", "THIEF", "MAGE"};
+        for (int i = 0; i < characters; i++) {
+            String body = "{\"name\":\"Load_Fighter\",\"job\":\"" + jobs[i % jobs.length] + "\"}";
+            HttpResponse<Void> response = client.send(post("/api/characters", body), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Creating characters failed with HTTP " + response.statusCode());
+            }
+        }
+    }
+
+    private Result run(int connections, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<Client> clients = new ArrayList<>(connections);
+        List<Thread> threads = new ArrayList<>(connections);
+
+        for (int i = 0; i < connections; i++) {
+            Client client = new Client(deadline, rejected, errors);
+            clients.add(client);
+            threads.add(Thread.ofVirtual().unstarted(client));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] all = clients.stream()
+                .flatMapToLong(client -> Arrays.stream(client.latencies, 0, client.count))
+                .sorted()
+                .toArray();
+        return new Result(all, rejected.get(), errors.get());
+    }
+
+    // One connection's worth of back-to-back requests; latencies of every answered request in nanoseconds
+    private final class Client implements Runnable {
+
+        private final long deadline;
+        private final AtomicLong rejected;
+        private final AtomicLong errors;
+        private long[] latencies = new long[256];
+        private int count;
+
+        private Client(long deadline, AtomicLong rejected, AtomicLong errors) {
+            this.deadline = deadline;
+            this.rejected = rejected;
+            this.errors = errors;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                int status;
+                try {
+                    status = client.send(nextRequest(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    errors.incrementAndGet();
+                    continue;
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long latency = System.nanoTime() - start;
+
+                if (status == 400) {
+                    rejected.incrementAndGet();
+                } else if (status / 100 != 2) {
+                    errors.incrementAndGet();
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count << 1);
+                }
+                latencies[count++] = latency;
+            }
+        }
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean battle = switch (scenario) {
+            case "battle" -> true;
+            case "mixed" -> random.nextInt(10) == 0;
+            default -> false;
+        };
+        if (!battle) {
+            return HttpRequest.newBuilder(URI.create(url + "/api/characters/" + (random.nextInt(characters) + 1)))
+                    .GET()
+                    .build();
+        }
+        int attacker = random.nextInt(characters) + 1;
+        int defender = (attacker + random.nextInt(characters - 1)) % characters + 1;
+        return post("/api/characters/battle?log=none",
+                "{\"attackerId\":\"" + attacker + "\",\"defenderId\":\"" + defender + "\"}");
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private record Result(long[] sortedNanos, long rejected, long errors) {
+        long requests() {
+            return sortedNanos.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+            return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.persistence.CharacterPersistence;
+import com.mapledeatharena.service.CharacterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup time of the persistent store: recover {@code characters} characters either from a snapshot or by
+ * replaying the raw journal. 10M characters need a large heap, e.g. {@code -jvmArgsAppend -Xmx12g}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalReplayBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int characters;
+
+    @Param({"snapshot", "journal"})
+    public String source;
+
+    private Path directory;
+    private CharacterService recovered;
+
+    @Setup(Level.Trial)
+    public void writeStore() throws IOException {
+        directory = Files.createTempDirectory("arena-replay");
+        CharacterService characterService = new CharacterService();
+        CharacterPersistence persistence = open(characterService, "async");
+
+        String[] jobs = {"WARRIOR", "THIEF", "MAGE"};
+        for (int i = 0; i < characters; i++) {
+            characterService.create("Bench_Fighter", jobs[i % jobs.length]);
+        }
+        if (source.equals("snapshot")) {
+            persistence.snapshot();
+        }
+        persistence.closeJournal();
+    }
+
+    @Benchmark
+    public CharacterService recover() throws IOException {
+        recovered = new CharacterService();
+        CharacterPersistence persistence = open(recovered, "async");
+        persistence.closeJournal();
+        return recovered;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteStore() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private CharacterPersistence open(CharacterService characterService, String sync) throws IOException {
+        CharacterPersistence persistence = new CharacterPersistence(characterService, directory.toString(), sync, 4096, 0);
+        persistence.start();
+        return persistence;
+    }
+}
@@ -0,0 +1,101 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.model.Character;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The original object-based battle loop, kept as the baseline the engine benchmarks compare against.
+ * Returns the eagerly formatted battle log it always built.
+ */
+final class LegacyBattleLoop {
+
+    private LegacyBattleLoop() {
+    }
+
+    static List<String> executeBattle(Character attacker, Character defender, Random random) {
+        List<String> battleLog = new ArrayList<>();
+
+        battleLog.add(String.format(
+                "Battle between %s (%s) - %d HP and %s (%s) - %d HP begins!",
+                attacker.getName(), attacker.getJob(), attacker.getHealthPoints(),
+                defender.getName(), defender.getJob(), defender.getHealthPoints()
+        ));
+
+        Character currentAttacker;
+        Character currentDefender;
+
+        while (attacker.isAlive() && defender.isAlive()) {
+            SpeedRoll speedRoll = determineFirstAttacker(attacker, defender, random);
+
+            battleLog.add(String.format(
+                    "%s %d speed was faster than %s %d speed and will begin this round.",
+                    speedRoll.faster.getName(), speedRoll.fasterSpeed,
+                    speedRoll.slower.getName(), speedRoll.slowerSpeed
+            ));
+
+            currentAttacker = speedRoll.faster;
+            currentDefender = speedRoll.slower;
+
+            int damage = calculateDamage(currentAttacker, random);
+            currentDefender.takeDamage(damage);
+
+            battleLog.add(String.format(
+                    "%s attacks %s for %d, %s has %d HP remaining.",
+                    currentAttacker.getName(), currentDefender.getName(), damage,
+                    currentDefender.getName(), currentDefender.getHealthPoints()
+            ));
+
+            if (currentDefender.isDead()) {
+                break;
+            }
+
+            damage = calculateDamage(currentDefender, random);
+            currentAttacker.takeDamage(damage);
+
+            battleLog.add(String.format(
+                    "%s attacks %s for %d, %s has %d HP remaining.",
+                    currentDefender.getName(), currentAttacker.getName(), damage,
+                    currentAttacker.getName(), currentAttacker.getHealthPoints()
+            ));
+        }
+
+        Character winner = attacker.isAlive() ? attacker : defender;
+        Character loser = attacker.isAlive() ? defender : attacker;
+
+        battleLog.add(String.format(
+                "%s wins the battle! %s still has %d HP remaining!",
+                winner.getName(), winner.getName(), winner.getHealthPoints()
+        ));
+
+        return battleLog;
+    }
+
+    private static SpeedRoll determineFirstAttacker(Character char1, Character char2, Random random) {
+        int speed1, speed2;
+
+        do {
+            speed1 = random.nextInt((int) char1.getSpeedModifier() + 1);
+            speed2 = random.nextInt((int) char2.getSpeedModifier() + 1);
+        } while (speed1 == speed2);
+
+        if (speed1 > speed2) {
+            return new SpeedRoll(char1, speed1, char2, speed2);
+        } else {
+            return new SpeedRoll(char2, speed2, char1, speed1);
+        }
+    }
+
+    private static int calculateDamage(Character attacker, Random random) {
+        return random.nextInt((int) attacker.getAttackModifier() + 1);
+    }
+
+    private record SpeedRoll(
+            Character faster,
+            int fasterSpeed,
+            Character slower,
+            int slowerSpeed
+    ) {}
+}
@@ -0,0 +1,82 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.history.BattleRecorder;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleMetrics;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.HeapCharacterStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the battle and lookup meters on {@code executeBattle(id, id)}, against a Prometheus registry as in
+ * production. {@code none} is the uninstrumented baseline; the budget is ~1% over it.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MetricsOverheadBenchmark"
+ * </pre>
+ * {@code sampleInterval=1} shows what recording every battle would cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsOverheadBenchmark {
+
+    @Param({"none", "prometheus"})
+    public String metrics;
+
+    @Param({"1", "16"})
+    public int sampleInterval;
+
+    private Character warrior;
+    private Character thief;
+    private BattleService battleService;
+
+    @Setup
+    public void setUp() {
+        CharacterService characterService;
+        if (metrics.equals("none")) {
+            characterService = new CharacterService();
+            battleService = new BattleService(characterService, new ThreadLocalRandomProvider());
+        } else {
+            MeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            characterService = new CharacterService(new HeapCharacterStore(), registry, sampleInterval);
+            battleService = new BattleService(characterService, new ThreadLocalRandomProvider(),
+                    BattleRecorder.NONE, new BattleMetrics(registry, sampleInterval));
+        }
+        warrior = characterService.create("BenchWarrior", "WARRIOR");
+        thief = characterService.create("BenchThief", "THIEF");
+    }
+
+    @Benchmark
+    public BattleResult executeBattle() {
+        revive();
+        return battleService.executeBattle(warrior.getId(), thief.getId());
+    }
+
+    private void revive() {
+        warrior.setHealthPoints(warrior.getMaxHealthPoints());
+        warrior.setAlive(true);
+        thief.setHealthPoints(thief.getMaxHealthPoints());
+        thief.setAlive(true);
+    }
+}
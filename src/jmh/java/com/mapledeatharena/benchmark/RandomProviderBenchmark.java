@@ -0,0 +1,84 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.engine.BattleRandomProvider;
+import com.mapledeatharena.engine.PerBattleRandomProvider;
+import com.mapledeatharena.engine.SeededRandomProvider;
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.model.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Battle throughput per random provider, single-threaded and on every core. The {@code shared} provider is the
+ * old single {@link Random} every battle contended on.
+ * <p>
+ * For a full 1..N scaling curve, repeat with an explicit thread count:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="RandomProviderBenchmark.singleThread -t 4"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomProviderBenchmark {
+
+    @Param({"shared", "thread-local", "splittable", "l64x128", "seeded"})
+    public String provider;
+
+    private BattleRandomProvider randomProvider;
+
+    @State(Scope.Thread)
+    public static class ThreadEngine {
+        final BattleEngine engine = new BattleEngine();
+    }
+
+    @Setup
+    public void setUp() {
+        randomProvider = switch (provider) {
+            case "shared" -> {
+                Random shared = new Random();
+                yield () -> shared;
+            }
+            case "thread-local" -> new ThreadLocalRandomProvider();
+            case "splittable" -> PerBattleRandomProvider.splittable();
+            case "l64x128" -> PerBattleRandomProvider.of("L64X128MixRandom");
+            case "seeded" -> new SeededRandomProvider(42L);
+            default -> throw new IllegalArgumentException(provider);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int singleThread(ThreadEngine state) {
+        return fight(state.engine);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int allCores(ThreadEngine state) {
+        return fight(state.engine);
+    }
+
+    private int fight(BattleEngine engine) {
+        engine.load(BattleEngine.FIRST, Job.WARRIOR.getBaseHealthPoints(), 9.0, 4.0);
+        engine.load(BattleEngine.SECOND, Job.THIEF.getBaseHealthPoints(), 12.0, 8.0);
+        return engine.fight(randomProvider.forBattle());
+    }
+}
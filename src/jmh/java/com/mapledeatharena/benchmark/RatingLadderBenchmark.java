@@ -0,0 +1,74 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.dto.RatingStanding;
+import com.mapledeatharena.service.RatingLadder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RatingLadder} updates and queries by number of rated characters. Rank and percentile come from the Fenwick
+ * tree, so {@code standing} should stay flat as the ladder grows; {@code top} walks only the first 100 keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RatingLadderBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rated;
+
+    private RatingLadder ladder;
+
+    @Setup
+    public void setUp() {
+        ladder = new RatingLadder(null, 32);
+        SplittableRandom random = new SplittableRandom(1L);
+        for (long id = 1; id <= rated; id += 2) {
+            ladder.recordOutcome(id, id + 1);
+        }
+        for (int i = 0; i < rated; i++) {
+            long winner = random.nextLong(rated) + 1;
+            long loser = random.nextLong(rated) + 1;
+            if (winner != loser) {
+                ladder.recordOutcome(winner, loser);
+            }
+        }
+    }
+
+    @Benchmark
+    public void recordOutcome() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long winner = random.nextLong(rated) + 1;
+        long loser = winner % rated + 1;
+        ladder.recordOutcome(winner, loser);
+    }
+
+    @Benchmark
+    public Optional<RatingStanding> standing() {
+        return ladder.standing(ThreadLocalRandom.current().nextLong(rated) + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<RatingStanding> top100() {
+        return ladder.top(100);
+    }
+}
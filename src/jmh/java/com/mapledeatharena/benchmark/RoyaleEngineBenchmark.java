@@ -0,0 +1,64 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.engine.RoyaleEngine;
+import com.mapledeatharena.engine.SplitMix64;
+import com.mapledeatharena.engine.TargetPolicy;
+import com.mapledeatharena.model.CombatProfile;
+import com.mapledeatharena.model.CombatProfiles;
+import com.mapledeatharena.model.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole {@link RoyaleEngine} free-for-all of base-stat characters by arena size and target policy. Random and
+ * retaliate picks are O(1); weakest and strongest pay O(log n) per hit to keep the HP trees current.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RoyaleEngineBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int combatants;
+
+    @Param({"random", "weakest", "strongest", "retaliate"})
+    public String policy;
+
+    private TargetPolicy targetPolicy;
+    private CombatProfile[] profiles;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        targetPolicy = TargetPolicy.parse(policy);
+        profiles = new CombatProfile[Job.values().length];
+        for (Job job : Job.values()) {
+            profiles[job.ordinal()] = CombatProfiles.base(job);
+        }
+    }
+
+    @Benchmark
+    public int fight() {
+        RoyaleEngine arena = new RoyaleEngine(combatants);
+        Job[] jobs = Job.values();
+        for (int slot = 0; slot < combatants; slot++) {
+            Job job = jobs[slot % jobs.length];
+            arena.load(slot, job.getBaseHealthPoints(), profiles[job.ordinal()]);
+        }
+        return arena.fight(targetPolicy, new SplitMix64(seed++));
+    }
+}
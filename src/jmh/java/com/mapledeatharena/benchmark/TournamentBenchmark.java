@@ -0,0 +1,58 @@
+package com.mapledeatharena.benchmark;
+
+import com.mapledeatharena.dto.TournamentRequest;
+import com.mapledeatharena.dto.TournamentResult;
+import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.TournamentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole tournament over every stored character, snapshot included, by field size and format. Single elimination
+ * halves the field each round, so it should cost about two first rounds; Swiss plays the full field every round.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TournamentBenchmark {
+
+    private static final String[] JOBS = {"WARRIOR", "THIEF", "MAGE"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int entrants;
+
+    @Param({"single-elimination", "swiss"})
+    public String format;
+
+    private TournamentService tournamentService;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        CharacterService characterService = new CharacterService();
+        for (int i = 0; i < entrants; i++) {
+            characterService.create("Bench_Fighter", JOBS[i % JOBS.length]);
+        }
+        tournamentService = new TournamentService(characterService);
+    }
+
+    @Benchmark
+    public TournamentResult run() {
+        return tournamentService.prepare(new TournamentRequest(null, format, null, null, seed++)).run(round -> {
+        });
+    }
+}
@@ -1,15 +1,43 @@
 package com.mapledeatharena.config;
 
+import com.mapledeatharena.engine.BattleRandomProvider;
+import com.mapledeatharena.engine.PerBattleRandomProvider;
+import com.mapledeatharena.engine.SeededRandomProvider;
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class BattleConfiguration {
 
+    /**
+     * Random source for battles, selected by {@code battle.random.mode}:
+     * thread-local (default), splittable, l64x128 or seeded (uses {@code battle.random.seed}).
+     */
     @Bean
-    public Random random() {
-        return new Random();
+    public BattleRandomProvider battleRandomProvider(
+            @Value("${battle.random.mode:thread-local}") String mode,
+            @Value("${battle.random.seed:0}") long seed) {
+        return switch (mode.toLowerCase()) {
+            case "thread-local" -> new ThreadLocalRandomProvider();
+            case "splittable" -> PerBattleRandomProvider.splittable();
+            case "l64x128" -> PerBattleRandomProvider.of("L64X128MixRandom");
+            case "seeded" -> new SeededRandomProvider(seed);
+            default -> throw new IllegalArgumentException(
+                    "battle.random.mode must be one of: thread-local, splittable, l64x128, seeded"
+            );
+        };
     }
-}
\ No newline at end of file
+
+    /**
+     * Executor for battles run off the request thread - one virtual thread per battle
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService battleExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mapledeatharena.config;
+
+import com.mapledeatharena.persistence.MappedCharacterStore;
+import com.mapledeatharena.service.CharacterStore;
+import com.mapledeatharena.service.HeapCharacterStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class CharacterStoreConfiguration {
+
+    /**
+     * Storage backend for characters, selected by {@code arena.store.mode}:
+     * heap (default, objects in a map) or mapped (off-heap records in {@code arena.store.directory}).
+     */
+    @Bean(destroyMethod = "close")
+    public CharacterStore characterStore(
+            @Value("${arena.store.mode:heap}") String mode,
+            @Value("${arena.store.directory:data/store}") String directory) throws IOException {
+        return switch (mode.toLowerCase()) {
+            case "heap" -> new HeapCharacterStore();
+            case "mapped" -> new MappedCharacterStore(Path.of(directory));
+            default -> throw new IllegalArgumentException("arena.store.mode must be one of: heap, mapped");
+        };
+    }
+}
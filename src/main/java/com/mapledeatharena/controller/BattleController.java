@@ -1,60 +1,179 @@
 package com.mapledeatharena.controller;
 
+import com.mapledeatharena.dto.BattleLogDetail;
 import com.mapledeatharena.dto.BattleRequest;
 import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.dto.BatchBattleRequest;
+import com.mapledeatharena.dto.BatchBattleResult;
+import com.mapledeatharena.dto.BattleTicketResponse;
+import com.mapledeatharena.dto.CharacterIds;
 import com.mapledeatharena.model.BattleResult;
-import com.mapledeatharena.model.Character;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapledeatharena.service.BatchBattleService;
+import com.mapledeatharena.service.BattleQueue;
 import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.BattleTicket;
 import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.IdempotencyCache;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/characters")
 public class BattleController {
 
+    // How long an SSE subscriber may wait for a queued battle before the stream is closed
+    private static final long TICKET_EVENTS_TIMEOUT_MILLIS = 60_000;
+
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final BattleService battleService;
     private final CharacterService characterService;
+    private final BatchBattleService batchBattleService;
+    private final BattleQueue battleQueue;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
 
-    public BattleController(BattleService battleService, CharacterService characterService) {
+    public BattleController(BattleService battleService, CharacterService characterService,
+                            BatchBattleService batchBattleService, BattleQueue battleQueue,
+                            IdempotencyCache idempotencyCache, ObjectMapper objectMapper) {
         this.battleService = battleService;
         this.characterService = characterService;
+        this.batchBattleService = batchBattleService;
+        this.battleQueue = battleQueue;
+        this.idempotencyCache = idempotencyCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Execute a battle between two characters
+     * Execute a battle between two characters.
+     * The {@code log} parameter selects how much of the battle log is rendered: full (default), summary or none.
+     * With an {@code Idempotency-Key} header, a retry of the same request returns the first response (marked
+     * {@code Idempotent-Replayed: true}) instead of fighting again; the same key on a different request is a 400.
      */
     @PostMapping("/battle")
-    public ResponseEntity<?> battle(@Valid @RequestBody BattleRequest request) {
-        // Validate attacker exists
-        Character attacker = characterService.getById(request.attackerId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Attacker with ID " + request.attackerId() + " not found"
-                ));
-
-        // Validate defender exists
-        Character defender = characterService.getById(request.defenderId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Defender with ID " + request.defenderId() + " not found"
-                ));
-
-        // Validate both characters are alive
-        if (!attacker.isAlive()) {
-            return ResponseEntity.badRequest()
-                    .body("Attacker " + attacker.getName() + " is already dead");
+    public ResponseEntity<?> battle(@Valid @RequestBody BattleRequest request,
+                                    @RequestParam(name = "log", defaultValue = "full") String log,
+                                    @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        BattleLogDetail logDetail = BattleLogDetail.parse(log);
+        long attackerId = CharacterIds.parse(request.attackerId());
+        long defenderId = CharacterIds.parse(request.defenderId());
+
+        // Lookup, alive checks and the fight all happen under both characters' locks
+        try {
+            if (idempotencyKey == null) {
+                return ResponseEntity.ok(fight(attackerId, defenderId, logDetail));
+            }
+            IdempotencyCache.Lookup lookup = idempotencyCache.execute(idempotencyKey,
+                    attackerId + ":" + defenderId + ":" + logDetail,
+                    () -> fight(attackerId, defenderId, logDetail));
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(lookup.replayed()))
+                    .body(lookup.response());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
-        if (!defender.isAlive()) {
-            return ResponseEntity.badRequest()
-                    .body("Defender " + defender.getName() + " is already dead");
+    }
+
+    private BattleResponse fight(long attackerId, long defenderId, BattleLogDetail logDetail) {
+        BattleResult result = battleService.executeBattle(attackerId, defenderId);
+        return BattleResponse.from(result, logDetail);
+    }
+
+    /**
+     * Execute many battles in one request. Non-conflicting pairs run in parallel; one NDJSON line per pair is
+     * streamed back in submission order as soon as that pair (and every pair before it) has finished.
+     */
+    @PostMapping(value = "/battle/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> battleBatch(
+            @Valid @RequestBody BatchBattleRequest request,
+            @RequestParam(name = "log", defaultValue = "none") String log) {
+        BattleLogDetail logDetail = BattleLogDetail.parse(log);
+        List<CompletableFuture<BatchBattleResult>> results = batchBattleService.submit(request.battles(), logDetail);
+
+        StreamingResponseBody body = out -> {
+            for (CompletableFuture<BatchBattleResult> result : results) {
+                out.write(objectMapper.writeValueAsBytes(result.join()));
+                out.write('\n');
+                out.flush();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Queue a battle and return a ticket right away (202, with the ticket URL in {@code Location}).
+     * The result is fetched by polling the ticket or from its event stream. Answers 429 when the queue is full.
+     */
+    @PostMapping("/battle/async")
+    public ResponseEntity<BattleTicketResponse> battleAsync(@Valid @RequestBody BattleRequest request,
+                                                            @RequestParam(name = "log", defaultValue = "full") String log) {
+        BattleLogDetail logDetail = BattleLogDetail.parse(log);
+
+        BattleTicket ticket;
+        try {
+            ticket = battleQueue.submit(
+                    CharacterIds.parse(request.attackerId()), CharacterIds.parse(request.defenderId()), logDetail);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
         }
 
-        // Execute battle
-        BattleResult result = battleService.executeBattle(attacker, defender);
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/characters/battle/tickets/" + ticket.id())
+                .body(BattleTicketResponse.from(ticket));
+    }
+
+    /**
+     * Current state of a queued battle, with its result once it has run
+     */
+    @GetMapping("/battle/tickets/{ticketId}")
+    public ResponseEntity<BattleTicketResponse> getTicket(@PathVariable long ticketId) {
+        return battleQueue.find(ticketId)
+                .map(ticket -> ResponseEntity.ok(BattleTicketResponse.from(ticket)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        // Convert to response DTO
-        BattleResponse response = BattleResponse.from(result);
+    /**
+     * Server-Sent Events for a queued battle: a single {@code result} event when it has run, then the stream closes
+     */
+    @GetMapping(value = "/battle/tickets/{ticketId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getTicketEvents(@PathVariable long ticketId) {
+        Optional<BattleTicket> ticket = battleQueue.find(ticketId);
+        if (ticket.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
 
-        return ResponseEntity.ok(response);
+        SseEmitter emitter = new SseEmitter(TICKET_EVENTS_TIMEOUT_MILLIS);
+        ticket.get().completion().thenAccept(done -> {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("result")
+                        .id(String.valueOf(done.id()))
+                        .data(BattleTicketResponse.from(done)));
+                emitter.complete();
+            } catch (IOException e) {
+                // The client went away; nothing left to deliver
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
     }
-}
\ No newline at end of file
+}
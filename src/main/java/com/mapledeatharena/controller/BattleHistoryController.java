@@ -0,0 +1,75 @@
+package com.mapledeatharena.controller;
+
+import com.mapledeatharena.dto.BattleHistoryEntry;
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleReplayResponse;
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.history.BattleHistory;
+import com.mapledeatharena.history.BattleRecord;
+import com.mapledeatharena.history.BattleReplayer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api")
+public class BattleHistoryController {
+
+    static final int MAX_HISTORY_LIMIT = 1_000;
+
+    private final BattleHistory battleHistory;
+
+    public BattleHistoryController(BattleHistory battleHistory) {
+        this.battleHistory = battleHistory;
+    }
+
+    /**
+     * Get one past battle by id, with its log rendered as requested: full (default), summary or none
+     */
+    @GetMapping("/battles/{id}")
+    public ResponseEntity<BattleHistoryEntry> getBattle(
+            @PathVariable long id,
+            @RequestParam(name = "log", defaultValue = "full") String log) {
+        BattleLogDetail logDetail = BattleLogDetail.parse(log);
+        return battleHistory.find(id)
+                .map(record -> ResponseEntity.ok(BattleHistoryEntry.from(record, logDetail)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Re-simulate a past battle from its seed and starting stats, and check it still ends the way it was recorded.
+     * Battles fought without a seed cannot be replayed (409).
+     */
+    @GetMapping("/battles/{id}/replay")
+    public ResponseEntity<BattleReplayResponse> replayBattle(@PathVariable long id) {
+        Optional<BattleRecord> record = battleHistory.find(id);
+        if (record.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!record.get().seeded()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(BattleReplayResponse.from(BattleReplayer.replay(record.get())));
+    }
+
+    /**
+     * The most recent battles of a character, newest first
+     */
+    @GetMapping("/characters/{id}/battles")
+    public ResponseEntity<List<BattleHistoryEntry>> getCharacterBattles(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(name = "log", defaultValue = "none") String log) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_LIMIT);
+        }
+        BattleLogDetail logDetail = BattleLogDetail.parse(log);
+        List<BattleHistoryEntry> battles = battleHistory.recentForCharacter(CharacterIds.parse(id), limit).stream()
+                .map(record -> BattleHistoryEntry.from(record, logDetail))
+                .toList();
+        return ResponseEntity.ok(battles);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mapledeatharena.controller;
+
+import com.mapledeatharena.dto.BattleRoyaleRequest;
+import com.mapledeatharena.dto.BattleRoyaleResponse;
+import com.mapledeatharena.service.BattleRoyaleService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/battle-royale")
+public class BattleRoyaleController {
+
+    private final BattleRoyaleService battleRoyaleService;
+
+    public BattleRoyaleController(BattleRoyaleService battleRoyaleService) {
+        this.battleRoyaleService = battleRoyaleService;
+    }
+
+    /**
+     * Run a read-only free-for-all until one character is left, with placements, kills and damage.
+     * Dead combatants, or fewer than two, are refused with 400.
+     */
+    @PostMapping
+    public ResponseEntity<?> run(@RequestBody BattleRoyaleRequest request) {
+        BattleRoyaleResponse response;
+        try {
+            response = battleRoyaleService.run(request);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,23 +1,33 @@
 package com.mapledeatharena.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.dto.CharacterPage;
 import com.mapledeatharena.dto.CreateCharacterRequest;
 import com.mapledeatharena.model.Character;
 import com.mapledeatharena.service.CharacterService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/characters")
 public class CharacterController {
 
     private final CharacterService characterService;
+    private final ObjectMapper objectMapper;
 
-    public CharacterController(CharacterService characterService) {
+    public CharacterController(CharacterService characterService, ObjectMapper objectMapper) {
         this.characterService = characterService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -38,12 +48,91 @@ public class CharacterController {
         return ResponseEntity.ok(characters);
     }
 
+    /**
+     * Get one page of characters in id order, optionally filtered by job, alive status and HP range
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CharacterPage> getCharacterPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) Integer minHp,
+            @RequestParam(required = false) Integer maxHp) {
+        CharacterFilter filter = CharacterFilter.of(job, alive, minHp, maxHp);
+        return ResponseEntity.ok(characterService.getPage(cursor, limit, filter));
+    }
+
+    /**
+     * Stream all matching characters as NDJSON, one per line, written while the store is iterated
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCharacters(
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) Integer minHp,
+            @RequestParam(required = false) Integer maxHp) {
+        CharacterFilter filter = CharacterFilter.of(job, alive, minHp, maxHp);
+
+        StreamingResponseBody body = out -> {
+            try (Stream<Character> characters = characterService.stream(filter)) {
+                Iterator<Character> iterator = characters.iterator();
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Indexed search by exact name, name prefix, job, alive status and HP range
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<Character>> searchCharacters(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String job,
+            @RequestParam(required = false) Boolean alive,
+            @RequestParam(required = false) Integer minHp,
+            @RequestParam(required = false) Integer maxHp,
+            @RequestParam(defaultValue = "100") int limit) {
+        CharacterFilter filter = CharacterFilter.of(job, alive, minHp, maxHp);
+        return ResponseEntity.ok(characterService.search(name, namePrefix, filter, limit));
+    }
+
+    /**
+     * Top characters by HP (default) or level
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<Character>> leaderboard(
+            @RequestParam(defaultValue = "hp") String by,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Character> top = switch (by.toLowerCase()) {
+            case "hp" -> characterService.leaderboardByHealthPoints(limit);
+            case "level" -> characterService.leaderboardByLevel(limit);
+            default -> throw new IllegalArgumentException("Leaderboard must be one of: hp, level");
+        };
+        return ResponseEntity.ok(top);
+    }
+
     /**
      * Get character by ID
      */
     @GetMapping("/{id}")
     public ResponseEntity<Character> getCharacterById(@PathVariable String id) {
-        return characterService.getById(id)
+        long characterId;
+        try {
+            characterId = CharacterIds.parse(id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return characterService.getById(characterId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
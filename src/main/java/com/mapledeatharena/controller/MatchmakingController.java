@@ -0,0 +1,67 @@
+package com.mapledeatharena.controller;
+
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.dto.MatchmakingStatus;
+import com.mapledeatharena.service.Matchmaker;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+public class MatchmakingController {
+
+    private final Matchmaker matchmaker;
+
+    public MatchmakingController(Matchmaker matchmaker) {
+        this.matchmaker = matchmaker;
+    }
+
+    /**
+     * Queue a character for a battle against one of similar power (202, status URL in {@code Location}).
+     * The character may be paired at once; dead or already queued characters are refused with 400.
+     */
+    @PostMapping("/{characterId}")
+    public ResponseEntity<?> enqueue(@PathVariable String characterId) {
+        long id = CharacterIds.parse(characterId);
+        MatchmakingStatus status;
+        try {
+            status = matchmaker.enqueue(id);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/matchmaking/" + id)
+                .body(status);
+    }
+
+    /**
+     * Whether a character is still waiting, and its opponent and battle result once matched
+     */
+    @GetMapping("/{characterId}")
+    public ResponseEntity<MatchmakingStatus> status(@PathVariable String characterId) {
+        long id;
+        try {
+            id = CharacterIds.parse(characterId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return matchmaker.status(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Leave the queue; 404 if the character was not waiting
+     */
+    @DeleteMapping("/{characterId}")
+    public ResponseEntity<Void> cancel(@PathVariable String characterId) {
+        long id;
+        try {
+            id = CharacterIds.parse(characterId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return matchmaker.cancel(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mapledeatharena.controller;
+
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.dto.RatingStanding;
+import com.mapledeatharena.service.RatingLadder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ratings")
+public class RatingController {
+
+    private final RatingLadder ratingLadder;
+
+    public RatingController(RatingLadder ratingLadder) {
+        this.ratingLadder = ratingLadder;
+    }
+
+    /**
+     * Highest-rated characters first, with rank and percentile
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<RatingStanding>> top(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ratingLadder.top(limit));
+    }
+
+    /**
+     * Rating, rank and percentile of one character; 404 until it has fought
+     */
+    @GetMapping("/{characterId}")
+    public ResponseEntity<RatingStanding> standing(@PathVariable String characterId) {
+        long id;
+        try {
+            id = CharacterIds.parse(characterId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return ratingLadder.standing(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recover the ladder from the battle history, e.g. after a crash lost ratings newer than the last snapshot;
+     * returns how many battles were replayed and how many the previous ladder had seen beyond what the history holds
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<RatingLadder.Rebuild> rebuild() {
+        return ResponseEntity.ok(ratingLadder.rebuild());
+    }
+}
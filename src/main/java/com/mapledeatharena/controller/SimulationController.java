@@ -0,0 +1,55 @@
+package com.mapledeatharena.controller;
+
+import com.mapledeatharena.dto.ExactOddsResponse;
+import com.mapledeatharena.dto.MatchupRequest;
+import com.mapledeatharena.dto.SimulationRequest;
+import com.mapledeatharena.dto.SimulationResponse;
+import com.mapledeatharena.service.ExactOddsService;
+import com.mapledeatharena.service.SimulationService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/simulations")
+public class SimulationController {
+
+    private final SimulationService simulationService;
+    private final ExactOddsService exactOddsService;
+
+    public SimulationController(SimulationService simulationService, ExactOddsService exactOddsService) {
+        this.simulationService = simulationService;
+        this.exactOddsService = exactOddsService;
+    }
+
+    /**
+     * Run a read-only Monte Carlo simulation between two stat blocks - stored characters are never touched
+     */
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<?> monteCarlo(@Valid @RequestBody SimulationRequest request) {
+        SimulationResponse response;
+        try {
+            response = simulationService.simulate(
+                    request.first().toStatBlock(),
+                    request.second().toStatBlock(),
+                    request.battles(),
+                    request.seed()
+            );
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Exact win probabilities and expected rounds for two stat blocks, cached per matchup
+     */
+    @PostMapping("/exact")
+    public ResponseEntity<ExactOddsResponse> exact(@Valid @RequestBody MatchupRequest request) {
+        ExactOddsResponse response = exactOddsService.calculate(
+                request.first().toStatBlock(),
+                request.second().toStatBlock()
+        );
+        return ResponseEntity.ok(response);
+    }
+}
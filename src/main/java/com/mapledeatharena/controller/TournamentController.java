@@ -0,0 +1,66 @@
+package com.mapledeatharena.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mapledeatharena.dto.TournamentRequest;
+import com.mapledeatharena.dto.TournamentResult;
+import com.mapledeatharena.service.Tournament;
+import com.mapledeatharena.service.TournamentService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/tournaments")
+public class TournamentController {
+
+    private final TournamentService tournamentService;
+    private final ObjectMapper objectMapper;
+
+    public TournamentController(TournamentService tournamentService, ObjectMapper objectMapper) {
+        this.tournamentService = tournamentService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run a read-only single-elimination or Swiss tournament. One NDJSON line is streamed per round as it finishes,
+     * then a last line with the champion and standings. Dead entrants, or fewer than two, are refused with 400.
+     */
+    @PostMapping
+    public ResponseEntity<?> run(@Valid @RequestBody TournamentRequest request) {
+        Tournament tournament;
+        try {
+            tournament = tournamentService.prepare(request);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> {
+            TournamentResult result;
+            try {
+                result = tournament.run(round -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(round));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
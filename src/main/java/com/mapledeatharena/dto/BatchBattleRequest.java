@@ -0,0 +1,14 @@
+package com.mapledeatharena.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchBattleRequest(
+        @NotEmpty(message = "Battles cannot be empty")
+        @Size(max = 10_000, message = "A batch can contain at most 10000 battles")
+        List<@Valid BattleRequest> battles
+) {
+}
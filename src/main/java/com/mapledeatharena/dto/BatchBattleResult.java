@@ -0,0 +1,34 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one pair of a batch, identified by its position in the submitted list
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchBattleResult(
+        int index,
+        String attackerId,
+        String defenderId,
+        Status status,
+        BattleResponse result,
+        String error
+) {
+    public enum Status {
+        OK,
+        // A participant already fights in an earlier pair of the same batch
+        CONFLICT,
+        NOT_FOUND,
+        // A participant is dead, or the pair is a character against itself
+        REJECTED,
+        FAILED
+    }
+
+    public static BatchBattleResult ok(int index, BattleRequest request, BattleResponse result) {
+        return new BatchBattleResult(index, request.attackerId(), request.defenderId(), Status.OK, result, null);
+    }
+
+    public static BatchBattleResult error(int index, BattleRequest request, Status status, String error) {
+        return new BatchBattleResult(index, request.attackerId(), request.defenderId(), status, null, error);
+    }
+}
@@ -0,0 +1,57 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mapledeatharena.engine.BattleLog;
+import com.mapledeatharena.history.BattleRecord;
+import com.mapledeatharena.history.BattleReplayer;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A battle read back from the history, with as much of its log as the client asked for
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BattleHistoryEntry(
+        String battleId,
+        Instant timestamp,
+        Participant attacker,
+        Participant defender,
+        String winnerId,
+        int rounds,
+        // Present when the battle ran from a per-battle seed
+        String seed,
+        List<String> battleLog
+) {
+    public record Participant(
+            String id,
+            String name,
+            String job,
+            int startingHealthPoints
+    ) {
+        static Participant from(BattleRecord.Combatant combatant) {
+            return new Participant(String.valueOf(combatant.id()), combatant.name(), combatant.job().name(),
+                    combatant.startHealthPoints());
+        }
+    }
+
+    public static BattleHistoryEntry from(BattleRecord record, BattleLogDetail logDetail) {
+        // Seeded battles are stored without events; only re-simulate when a log was asked for
+        List<String> battleLog = switch (logDetail) {
+            case FULL -> BattleReplayer.withEvents(record).toLog().render();
+            case SUMMARY -> BattleReplayer.withEvents(record).toLog().summary();
+            case NONE -> null;
+        };
+
+        return new BattleHistoryEntry(
+                String.valueOf(record.battleId()),
+                Instant.ofEpochMilli(record.timestamp()),
+                Participant.from(record.first()),
+                Participant.from(record.second()),
+                String.valueOf(record.winner().id()),
+                record.rounds(),
+                record.seeded() ? String.valueOf(record.seed()) : null,
+                battleLog
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.mapledeatharena.dto;
+
+import java.util.Locale;
+
+/**
+ * How much of the battle log a client wants rendered into the response
+ */
+public enum BattleLogDetail {
+    FULL,
+    SUMMARY,
+    NONE;
+
+    public static BattleLogDetail parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Log must be one of: full, summary, none");
+        }
+    }
+}
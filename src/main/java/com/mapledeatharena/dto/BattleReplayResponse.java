@@ -0,0 +1,29 @@
+package com.mapledeatharena.dto;
+
+import com.mapledeatharena.history.BattleReplayer;
+
+import java.util.List;
+
+/**
+ * A stored battle re-simulated from its seed. {@code verified} is true when the replay reproduced the recorded
+ * winner, remaining health points, round count and event checksum.
+ */
+public record BattleReplayResponse(
+        String battleId,
+        String algorithm,
+        String seed,
+        boolean verified,
+        List<String> mismatches,
+        List<String> battleLog
+) {
+    public static BattleReplayResponse from(BattleReplayer.Replay replay) {
+        return new BattleReplayResponse(
+                String.valueOf(replay.record().battleId()),
+                replay.record().algorithm(),
+                String.valueOf(replay.record().seed()),
+                replay.verified(),
+                replay.mismatches(),
+                replay.record().toLog().render()
+        );
+    }
+}
@@ -1,27 +1,36 @@
 package com.mapledeatharena.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.mapledeatharena.model.Character;
 import com.mapledeatharena.model.BattleResult;
 
 import java.util.List;
 
 public record BattleResponse(
+        // Look the battle up again under /api/battles/{battleId}; absent when history is disabled
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String battleId,
         CharacterSummary winner,
         CharacterSummary loser,
+        int experienceGained,
+        // Level-up HP on top of what the battle log's closing line reports
+        int healthPointsGained,
         List<String> battleLog
 ) {
     public record CharacterSummary(
             String id,
             String name,
             String job,
+            int level,
             int remainingHealthPoints,
             boolean alive
     ) {
         public static CharacterSummary from(Character character) {
             return new CharacterSummary(
-                    character.getId(),
+                    String.valueOf(character.getId()),
                     character.getName(),
                     character.getJob().name(),
+                    character.getLevel(),
                     character.getHealthPoints(),
                     character.isAlive()
             );
@@ -29,10 +38,24 @@ public record BattleResponse(
     }
 
     public static BattleResponse from(BattleResult battleResult) {
+        return from(battleResult, BattleLogDetail.FULL);
+    }
+
+    // Render only as much of the battle log as the client asked for
+    public static BattleResponse from(BattleResult battleResult, BattleLogDetail logDetail) {
+        List<String> battleLog = switch (logDetail) {
+            case FULL -> battleResult.log().render();
+            case SUMMARY -> battleResult.log().summary();
+            case NONE -> List.of();
+        };
+
         return new BattleResponse(
+                battleResult.battleId() > 0 ? String.valueOf(battleResult.battleId()) : null,
                 CharacterSummary.from(battleResult.winner()),
                 CharacterSummary.from(battleResult.loser()),
-                battleResult.battleLog()
+                battleResult.experienceGained(),
+                battleResult.healthPointsGained(),
+                battleLog
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.mapledeatharena.dto;
+
+import java.util.List;
+
+public record BattleRoyaleRequest(
+        // Combatants; absent or empty enters every alive character
+        List<String> characterIds,
+
+        // random (default), weakest, strongest or retaliate
+        String targetPolicy,
+
+        // Optional - the same seed and combatants always yield the same fight
+        Long seed
+) {
+}
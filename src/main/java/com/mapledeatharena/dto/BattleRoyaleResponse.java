@@ -0,0 +1,15 @@
+package com.mapledeatharena.dto;
+
+import java.util.List;
+
+public record BattleRoyaleResponse(
+        int combatants,
+        String targetPolicy,
+        int rounds,
+        long turns,
+        BattleRoyaleStanding winner,
+        List<BattleRoyaleStanding> standings,
+        long seed,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,20 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Place 1 is the last one standing. {@code eliminatedInRound} and {@code eliminatedById} are missing for the winner.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BattleRoyaleStanding(
+        int place,
+        String characterId,
+        String name,
+        String job,
+        int healthPoints,
+        int kills,
+        long damageDealt,
+        Integer eliminatedInRound,
+        String eliminatedById
+) {
+}
@@ -0,0 +1,19 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mapledeatharena.service.BattleTicket;
+
+/**
+ * State of a queued battle; {@code result} is set once the battle ran, {@code error} when it could not
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BattleTicketResponse(
+        String ticketId,
+        BattleTicket.Status status,
+        BattleResponse result,
+        String error
+) {
+    public static BattleTicketResponse from(BattleTicket ticket) {
+        return new BattleTicketResponse(String.valueOf(ticket.id()), ticket.status(), ticket.result(), ticket.error());
+    }
+}
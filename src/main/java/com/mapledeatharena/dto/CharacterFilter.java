@@ -0,0 +1,44 @@
+package com.mapledeatharena.dto;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+
+import java.util.Locale;
+
+/**
+ * Optional listing filters; a null field matches everything
+ */
+public record CharacterFilter(
+        Job job,
+        Boolean alive,
+        Integer minHealthPoints,
+        Integer maxHealthPoints
+) {
+    public static final CharacterFilter NONE = new CharacterFilter(null, null, null, null);
+
+    // Build a filter from raw query parameters
+    public static CharacterFilter of(String job, Boolean alive, Integer minHealthPoints, Integer maxHealthPoints) {
+        Job parsedJob = null;
+        if (job != null && !job.isBlank()) {
+            try {
+                parsedJob = Job.valueOf(job.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Job must be one of: WARRIOR, THIEF, MAGE");
+            }
+        }
+        return new CharacterFilter(parsedJob, alive, minHealthPoints, maxHealthPoints);
+    }
+
+    public boolean matches(Character character) {
+        if (job != null && character.getJob() != job) {
+            return false;
+        }
+        if (alive != null && character.isAlive() != alive) {
+            return false;
+        }
+        if (minHealthPoints != null && character.getHealthPoints() < minHealthPoints) {
+            return false;
+        }
+        return maxHealthPoints == null || character.getHealthPoints() <= maxHealthPoints;
+    }
+}
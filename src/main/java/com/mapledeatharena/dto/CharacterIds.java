@@ -0,0 +1,23 @@
+package com.mapledeatharena.dto;
+
+/**
+ * Character ids travel as strings on the wire but are positive longs everywhere else; this is the one place they
+ * are converted.
+ */
+public final class CharacterIds {
+
+    private CharacterIds() {
+    }
+
+    public static long parse(String id) {
+        try {
+            long parsed = Long.parseLong(id);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the common error
+        }
+        throw new IllegalArgumentException("Invalid character ID: " + id);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mapledeatharena.dto;
+
+import com.mapledeatharena.model.Character;
+
+import java.util.List;
+
+/**
+ * One page of characters in id order. Pass {@code nextCursor} back to continue; it is null on the last page.
+ */
+public record CharacterPage(
+        List<Character> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,51 @@
+package com.mapledeatharena.dto;
+
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.model.StatBlock;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.Locale;
+
+/**
+ * A job plus optional stat overrides; anything left out takes the job's base value
+ */
+public record CombatantSpec(
+        @NotBlank(message = "Job cannot be empty")
+        @Pattern(
+                regexp = "^(WARRIOR|THIEF|MAGE)$",
+                flags = Pattern.Flag.CASE_INSENSITIVE,
+                message = "Job must be one of: WARRIOR, THIEF, MAGE"
+        )
+        String job,
+
+        @Min(value = 1, message = "Health points must be between 1 and 65535")
+        @Max(value = 65_535, message = "Health points must be between 1 and 65535")
+        Integer healthPoints,
+
+        @Min(value = 0, message = "Strength must be between 0 and 1000")
+        @Max(value = 1_000, message = "Strength must be between 0 and 1000")
+        Integer strength,
+
+        @Min(value = 0, message = "Dexterity must be between 0 and 1000")
+        @Max(value = 1_000, message = "Dexterity must be between 0 and 1000")
+        Integer dexterity,
+
+        @Min(value = 0, message = "Intelligence must be between 0 and 1000")
+        @Max(value = 1_000, message = "Intelligence must be between 0 and 1000")
+        Integer intelligence
+) {
+    public StatBlock toStatBlock() {
+        Job parsed = Job.valueOf(job.toUpperCase(Locale.ROOT));
+        StatBlock base = StatBlock.base(parsed);
+        return new StatBlock(
+                parsed,
+                healthPoints != null ? healthPoints : base.healthPoints(),
+                strength != null ? strength : base.strength(),
+                dexterity != null ? dexterity : base.dexterity(),
+                intelligence != null ? intelligence : base.intelligence()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.mapledeatharena.dto;
+
+public record ExactOddsResponse(
+        double firstWinProbability,
+        double secondWinProbability,
+        double expectedRounds
+) {
+}
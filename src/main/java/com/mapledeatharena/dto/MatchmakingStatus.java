@@ -0,0 +1,23 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Where a character is in matchmaking. {@code MATCHED} carries the opponent right away and the battle
+ * {@code result} once it has run; {@code FAILED} means the battle was refused, with the reason in {@code error}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MatchmakingStatus(
+        String characterId,
+        State state,
+        String opponentId,
+        long waitedMillis,
+        BattleResponse result,
+        String error
+) {
+    public enum State {
+        QUEUED,
+        MATCHED,
+        FAILED
+    }
+}
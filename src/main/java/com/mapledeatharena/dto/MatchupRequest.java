@@ -0,0 +1,15 @@
+package com.mapledeatharena.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record MatchupRequest(
+        @NotNull(message = "First combatant cannot be null")
+        @Valid
+        CombatantSpec first,
+
+        @NotNull(message = "Second combatant cannot be null")
+        @Valid
+        CombatantSpec second
+) {
+}
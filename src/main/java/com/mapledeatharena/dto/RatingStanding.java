@@ -0,0 +1,14 @@
+package com.mapledeatharena.dto;
+
+/**
+ * A character's place on the rating ladder. Rank 1 is the highest rating; characters with equal ratings share a
+ * rank. The percentile is the share of rated characters with a lower rating.
+ */
+public record RatingStanding(
+        String characterId,
+        int rating,
+        int battles,
+        long rank,
+        double percentile
+) {
+}
@@ -0,0 +1,24 @@
+package com.mapledeatharena.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record SimulationRequest(
+        @NotNull(message = "First combatant cannot be null")
+        @Valid
+        CombatantSpec first,
+
+        @NotNull(message = "Second combatant cannot be null")
+        @Valid
+        CombatantSpec second,
+
+        @Min(value = 1, message = "Battles must be between 1 and 100000000")
+        @Max(value = 100_000_000, message = "Battles must be between 1 and 100000000")
+        long battles,
+
+        // Optional - the same seed always yields the same result
+        Long seed
+) {
+}
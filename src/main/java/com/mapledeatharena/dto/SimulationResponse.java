@@ -0,0 +1,26 @@
+package com.mapledeatharena.dto;
+
+/**
+ * Aggregated outcome of a Monte Carlo matchup simulation. Damage distributions count hits by damage value:
+ * {@code firstDamageDistribution[d]} is how many of the first combatant's hits dealt exactly {@code d}.
+ */
+public record SimulationResponse(
+        long battles,
+        long firstWins,
+        long secondWins,
+        double firstWinProbability,
+        double secondWinProbability,
+        double meanRounds,
+        RoundPercentiles rounds,
+        long[] firstDamageDistribution,
+        long[] secondDamageDistribution,
+        long seed,
+        long elapsedMillis
+) {
+    public record RoundPercentiles(
+            int p50,
+            int p90,
+            int p99,
+            int max
+    ) {}
+}
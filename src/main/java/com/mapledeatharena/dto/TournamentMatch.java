@@ -0,0 +1,10 @@
+package com.mapledeatharena.dto;
+
+public record TournamentMatch(
+        String firstId,
+        String secondId,
+        String winnerId,
+        int winnerHealthPoints,
+        int rounds
+) {
+}
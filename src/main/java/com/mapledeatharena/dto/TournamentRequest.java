@@ -0,0 +1,26 @@
+package com.mapledeatharena.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+public record TournamentRequest(
+        // Entrants in seeding order; absent or empty enters every alive character
+        List<String> characterIds,
+
+        // single-elimination (default) or swiss
+        String format,
+
+        // reset (default): every match starts at max HP; carry: winners keep what they have left (single elimination only)
+        String healthPoints,
+
+        // Swiss only - defaults to log2 of the entrants, rounded up
+        @Min(value = 1, message = "Rounds must be between 1 and 64")
+        @Max(value = 64, message = "Rounds must be between 1 and 64")
+        Integer rounds,
+
+        // Optional - the same seed and entrants always yield the same bracket
+        Long seed
+) {
+}
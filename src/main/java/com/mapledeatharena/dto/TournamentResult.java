@@ -0,0 +1,16 @@
+package com.mapledeatharena.dto;
+
+import java.util.List;
+
+public record TournamentResult(
+        String format,
+        String healthPoints,
+        int entrants,
+        int rounds,
+        long matches,
+        TournamentStanding champion,
+        List<TournamentStanding> standings,
+        long seed,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,20 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One finished round. Individual {@code results} are only listed while a round has at most 64 matches, so the
+ * early rounds of a huge bracket stay one short line each.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TournamentRound(
+        int round,
+        int matches,
+        int byes,
+        int remaining,
+        long elapsedMillis,
+        List<TournamentMatch> results
+) {
+}
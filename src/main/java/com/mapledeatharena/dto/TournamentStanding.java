@@ -0,0 +1,17 @@
+package com.mapledeatharena.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Entrants with the same number of wins share a place. {@code healthPoints} is what was left after the last match;
+ * {@code name} is missing if the character has been deleted since.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TournamentStanding(
+        int place,
+        String characterId,
+        String name,
+        int wins,
+        int healthPoints
+) {
+}
@@ -0,0 +1,195 @@
+package com.mapledeatharena.engine;
+
+import com.mapledeatharena.model.CombatProfile;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Allocation-free core of a two-character battle.
+ * <p>
+ * Both combatants are loaded into primitive slots ({@link #FIRST}, {@link #SECOND}); rounds are resolved in place
+ * and every half-round is appended to {@link #events()} as a packed code. Random draws happen in exactly the same
+ * order as the original object-based loop, so a given seed still produces the same battle.
+ * <p>
+ * An engine is reusable but not thread-safe. {@link #acquire()} hands out one for the calling thread and
+ * {@link #release()} gives it back: platform threads keep theirs in a thread-local, while virtual threads - one per
+ * request, gone after it - borrow from a shared pool so each battle does not allocate a fresh engine.
+ */
+public final class BattleEngine {
+
+    public static final int FIRST = 0;
+    public static final int SECOND = 1;
+
+    private static final ThreadLocal<BattleEngine> LOCAL = ThreadLocal.withInitial(BattleEngine::new);
+
+    // Idle engines for virtual threads, most recently used first; beyond the limit released engines are dropped
+    private static final int POOL_LIMIT = 1024;
+    private static final ConcurrentLinkedDeque<BattleEngine> POOL = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    private final int[] healthPoints = new int[2];
+    private final int[] attackBound = new int[2];
+    private final int[] speedBound = new int[2];
+    private final BattleEvents events = new BattleEvents();
+
+    // Simulation hooks: skip event recording, optionally count hits by damage value per slot
+    private boolean recordEvents = true;
+    private long[][] damageCounts;
+
+    // Result of the last speed roll, kept in fields so the roll does not allocate
+    private int fasterSpeed;
+    private int slowerSpeed;
+    private int rounds;
+    private boolean pooled;
+
+    public static BattleEngine acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return LOCAL.get();
+        }
+        BattleEngine engine = POOL.pollFirst();
+        if (engine == null) {
+            engine = new BattleEngine();
+            engine.pooled = true;
+        } else {
+            POOL_SIZE.decrementAndGet();
+        }
+        return engine;
+    }
+
+    // The engine must not be used after this; its events are overwritten by the next battle
+    public void release() {
+        if (!pooled) {
+            return;
+        }
+        recordEvents = true;
+        damageCounts = null;
+        if (POOL_SIZE.incrementAndGet() <= POOL_LIMIT) {
+            POOL.offerFirst(this);
+        } else {
+            POOL_SIZE.decrementAndGet();
+        }
+    }
+
+    /**
+     * Load a combatant into a slot. Rolls use {@code nextInt((int) modifier + 1)}, so the bounds are derived here once.
+     */
+    public void load(int slot, int healthPoints, double attackModifier, double speedModifier) {
+        if (healthPoints < 0 || healthPoints > BattleEvents.MAX_VALUE) {
+            throw new IllegalArgumentException("Health points out of range: " + healthPoints);
+        }
+        this.healthPoints[slot] = healthPoints;
+        this.attackBound[slot] = (int) attackModifier + 1;
+        this.speedBound[slot] = (int) speedModifier + 1;
+    }
+
+    /**
+     * Load a combatant from its precomputed profile, whose roll bounds are used as they are.
+     */
+    public void load(int slot, int healthPoints, CombatProfile profile) {
+        if (healthPoints < 0 || healthPoints > BattleEvents.MAX_VALUE) {
+            throw new IllegalArgumentException("Health points out of range: " + healthPoints);
+        }
+        this.healthPoints[slot] = healthPoints;
+        this.attackBound[slot] = profile.attackBound();
+        this.speedBound[slot] = profile.speedBound();
+    }
+
+    public void recordEvents(boolean recordEvents) {
+        this.recordEvents = recordEvents;
+    }
+
+    /**
+     * Count every hit by damage value: {@code counts[slot][damage]++}. Each array must hold at least
+     * {@code (int) attackModifier + 1} entries for its slot. Pass {@code null} to stop counting.
+     */
+    public void recordDamage(long[][] counts) {
+        this.damageCounts = counts;
+    }
+
+    /**
+     * Fight until one side reaches 0 HP.
+     *
+     * @return the slot of the winner
+     */
+    public int fight(RandomGenerator random) {
+        if (speedBound[FIRST] == 1 && speedBound[SECOND] == 1) {
+            throw new IllegalStateException("Both speed modifiers are below 1 - a speed roll can never be won");
+        }
+        if (attackBound[FIRST] == 1 && attackBound[SECOND] == 1) {
+            throw new IllegalStateException("Both attack modifiers are below 1 - the battle can never end");
+        }
+        events.clear();
+        rounds = 0;
+
+        while (healthPoints[FIRST] > 0 && healthPoints[SECOND] > 0) {
+            rounds++;
+
+            int first = determineFirstAttacker(random);
+            int second = first ^ 1;
+            if (recordEvents) {
+                events.add(BattleEvents.encode(BattleEvents.SPEED, first, rounds, fasterSpeed, slowerSpeed));
+            }
+
+            // First attack, then counter-attack if the defender survived
+            if (strike(first, second, random)) {
+                break;
+            }
+            strike(second, first, random);
+        }
+
+        return healthPoints[FIRST] > 0 ? FIRST : SECOND;
+    }
+
+    public int healthPoints(int slot) {
+        return healthPoints[slot];
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    public BattleEvents events() {
+        return events;
+    }
+
+    // Roll speed for both slots, re-rolling invisibly on draws, and return the faster slot
+    private int determineFirstAttacker(RandomGenerator random) {
+        int speed1;
+        int speed2;
+
+        do {
+            speed1 = random.nextInt(speedBound[FIRST]);
+            speed2 = random.nextInt(speedBound[SECOND]);
+        } while (speed1 == speed2);
+
+        if (speed1 > speed2) {
+            fasterSpeed = speed1;
+            slowerSpeed = speed2;
+            return FIRST;
+        }
+        fasterSpeed = speed2;
+        slowerSpeed = speed1;
+        return SECOND;
+    }
+
+    // Apply one attack and record it; returns true when the defender died
+    private boolean strike(int attacker, int defender, RandomGenerator random) {
+        int damage = calculateDamage(attacker, random);
+        int remaining = Math.max(0, healthPoints[defender] - damage);
+        healthPoints[defender] = remaining;
+
+        if (recordEvents) {
+            events.add(BattleEvents.encode(BattleEvents.ATTACK, attacker, rounds, damage, remaining));
+        }
+        if (damageCounts != null) {
+            damageCounts[attacker][damage]++;
+        }
+        return remaining == 0;
+    }
+
+    private int calculateDamage(int attacker, RandomGenerator random) {
+        return random.nextInt(attackBound[attacker]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mapledeatharena.engine;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of battle events, each packed into a single {@code long}.
+ * <p>
+ * Layout (most significant bit first):
+ * <pre>
+ *   63..62  type   (SPEED / ATTACK)
+ *   61      actor  slot of the faster character or the attacker
+ *   60..32  round  1-based round number
+ *   31..16  a      faster speed roll / damage dealt
+ *   15..0   b      slower speed roll / defender HP remaining
+ * </pre>
+ * The backing array only grows, so a reused buffer stops allocating once it has seen its longest battle.
+ */
+public final class BattleEvents {
+
+    public static final int SPEED = 1;
+    public static final int ATTACK = 2;
+
+    // Largest value that fits in the a/b fields
+    public static final int MAX_VALUE = 0xFFFF;
+
+    private long[] codes;
+    private int size;
+
+    public BattleEvents() {
+        this(64);
+    }
+
+    public BattleEvents(int initialCapacity) {
+        this.codes = new long[Math.max(1, initialCapacity)];
+    }
+
+    public static long encode(int type, int actor, int round, int a, int b) {
+        return ((long) type << 62)
+                | ((long) actor << 61)
+                | ((long) round << 32)
+                | ((long) a << 16)
+                | b;
+    }
+
+    public static int type(long code) {
+        return (int) (code >>> 62);
+    }
+
+    public static int actor(long code) {
+        return (int) (code >>> 61) & 1;
+    }
+
+    public static int round(long code) {
+        return (int) (code >>> 32) & 0x1FFF_FFFF;
+    }
+
+    public static int a(long code) {
+        return (int) (code >>> 16) & 0xFFFF;
+    }
+
+    public static int b(long code) {
+        return (int) code & 0xFFFF;
+    }
+
+    // 64-bit fingerprint of an event stream, stored instead of the events when a battle can be replayed
+    public static long checksum(long[] codes) {
+        long hash = codes.length;
+        for (long code : codes) {
+            hash = Long.rotateLeft(hash ^ (code * 0x9E3779B97F4A7C15L), 31) * 0xBF58476D1CE4E5B9L;
+        }
+        return hash ^ (hash >>> 29);
+    }
+
+    public void add(long code) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size << 1);
+        }
+        codes[size++] = code;
+    }
+
+    public long get(int index) {
+        return codes[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Exact-size copy of the recorded events, safe to keep after the buffer is reused
+    public long[] toArray() {
+        return Arrays.copyOf(codes, size);
+    }
+}
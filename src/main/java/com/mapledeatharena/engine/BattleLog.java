@@ -0,0 +1,121 @@
+package com.mapledeatharena.engine;
+
+import com.mapledeatharena.model.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured log of a finished battle: who fought, their starting HP and the packed event codes of every
+ * half-round. Nothing is formatted until {@link #render()} or {@link #summary()} is called, and the rendered
+ * text is identical to the original eager battle log.
+ */
+public final class BattleLog {
+
+    private final String[] names;
+    private final Job[] jobs;
+    private final int[] startHealthPoints;
+    private final long[] events;
+    private final int winnerSlot;
+    private final int winnerHealthPoints;
+
+    public BattleLog(String firstName, Job firstJob, int firstStartHp,
+                     String secondName, Job secondJob, int secondStartHp,
+                     long[] events, int winnerSlot, int winnerHealthPoints) {
+        this.names = new String[]{firstName, secondName};
+        this.jobs = new Job[]{firstJob, secondJob};
+        this.startHealthPoints = new int[]{firstStartHp, secondStartHp};
+        this.events = events;
+        this.winnerSlot = winnerSlot;
+        this.winnerHealthPoints = winnerHealthPoints;
+    }
+
+    /**
+     * One decoded half-round. {@code actor} is the faster character for speed events and the attacker for attacks.
+     */
+    public record Event(
+            int round,
+            boolean speedRoll,
+            String actor,
+            String target,
+            int fasterSpeed,
+            int slowerSpeed,
+            int damage,
+            int remainingHealthPoints
+    ) {}
+
+    public int rounds() {
+        return events.length == 0 ? 0 : BattleEvents.round(events[events.length - 1]);
+    }
+
+    public int eventCount() {
+        return events.length;
+    }
+
+    public long[] eventCodes() {
+        return events.clone();
+    }
+
+    // Decode the event codes into structured events
+    public List<Event> events() {
+        List<Event> decoded = new ArrayList<>(events.length);
+        for (long code : events) {
+            int actor = BattleEvents.actor(code);
+            if (BattleEvents.type(code) == BattleEvents.SPEED) {
+                decoded.add(new Event(BattleEvents.round(code), true, names[actor], names[actor ^ 1],
+                        BattleEvents.a(code), BattleEvents.b(code), 0, 0));
+            } else {
+                decoded.add(new Event(BattleEvents.round(code), false, names[actor], names[actor ^ 1],
+                        0, 0, BattleEvents.a(code), BattleEvents.b(code)));
+            }
+        }
+        return decoded;
+    }
+
+    // Full human-readable battle log
+    public List<String> render() {
+        List<String> battleLog = new ArrayList<>(events.length + 2);
+        battleLog.add(openingLine());
+
+        for (long code : events) {
+            String actor = names[BattleEvents.actor(code)];
+            String other = names[BattleEvents.actor(code) ^ 1];
+
+            if (BattleEvents.type(code) == BattleEvents.SPEED) {
+                battleLog.add(String.format(
+                        "%s %d speed was faster than %s %d speed and will begin this round.",
+                        actor, BattleEvents.a(code), other, BattleEvents.b(code)
+                ));
+            } else {
+                battleLog.add(String.format(
+                        "%s attacks %s for %d, %s has %d HP remaining.",
+                        actor, other, BattleEvents.a(code), other, BattleEvents.b(code)
+                ));
+            }
+        }
+
+        battleLog.add(closingLine());
+        return battleLog;
+    }
+
+    // Opening and closing lines only
+    public List<String> summary() {
+        return List.of(openingLine(), closingLine());
+    }
+
+    private String openingLine() {
+        return String.format(
+                "Battle between %s (%s) - %d HP and %s (%s) - %d HP begins!",
+                names[0], jobs[0], startHealthPoints[0],
+                names[1], jobs[1], startHealthPoints[1]
+        );
+    }
+
+    private String closingLine() {
+        String winner = names[winnerSlot];
+        return String.format(
+                "%s wins the battle! %s still has %d HP remaining!",
+                winner, winner, winnerHealthPoints
+        );
+    }
+}
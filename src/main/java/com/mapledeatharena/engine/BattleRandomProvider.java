@@ -0,0 +1,16 @@
+package com.mapledeatharena.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of the generator a battle draws its speed and damage rolls from.
+ * <p>
+ * The returned generator is only used by the calling thread for the duration of one battle, so implementations
+ * can hand out per-thread or per-battle instances and avoid contending on a shared seed. Providers whose battles
+ * can be re-created from a seed implement {@link ReplayableRandomProvider}.
+ */
+@FunctionalInterface
+public interface BattleRandomProvider {
+
+    RandomGenerator forBattle();
+}
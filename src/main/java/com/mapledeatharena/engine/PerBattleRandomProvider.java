@@ -0,0 +1,52 @@
+package com.mapledeatharena.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Creates an independent generator for every battle, seeded from the calling thread's {@link ThreadLocalRandom}.
+ * Each battle owns its stream outright, which keeps battles statistically independent of scheduling.
+ */
+public final class PerBattleRandomProvider implements ReplayableRandomProvider {
+
+    private final String algorithm;
+    private final LongFunction<RandomGenerator> factory;
+
+    private PerBattleRandomProvider(String algorithm, LongFunction<RandomGenerator> factory) {
+        this.algorithm = algorithm;
+        this.factory = factory;
+    }
+
+    public static PerBattleRandomProvider splittable() {
+        return new PerBattleRandomProvider("SplittableRandom", SplittableRandom::new);
+    }
+
+    // Any algorithm known to RandomGeneratorFactory, e.g. "L64X128MixRandom"
+    public static PerBattleRandomProvider of(String algorithm) {
+        RandomGeneratorFactory<RandomGenerator> generatorFactory = RandomGeneratorFactory.of(algorithm);
+        return new PerBattleRandomProvider(algorithm, generatorFactory::create);
+    }
+
+    @Override
+    public RandomGenerator forBattle() {
+        return forSeed(nextSeed());
+    }
+
+    @Override
+    public String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public long nextSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public RandomGenerator forSeed(long seed) {
+        return factory.apply(seed);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mapledeatharena.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link BattleRandomProvider} that gives every battle its own seed, so the battle history can store the seed
+ * and {@link SeededGenerators#create} can rebuild the exact stream later.
+ */
+public interface ReplayableRandomProvider extends BattleRandomProvider {
+
+    /**
+     * Name of the generator {@link #forSeed(long)} builds, stored with every seed.
+     */
+    String algorithm();
+
+    long nextSeed();
+
+    RandomGenerator forSeed(long seed);
+}
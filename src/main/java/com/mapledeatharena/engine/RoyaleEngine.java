@@ -0,0 +1,317 @@
+package com.mapledeatharena.engine;
+
+import com.mapledeatharena.model.CombatProfile;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Free-for-all between any number of combatants, last one standing wins.
+ * <p>
+ * Every combatant is a slot in parallel primitive arrays; a turn allocates nothing. Each round generalises the
+ * two-character speed roll: every living combatant rolls speed, and a {@link TurnQueue} hands out turns fastest
+ * first (ties broken by a second random draw), each turn one attack on the target its {@link TargetPolicy} picks.
+ * A combatant knocked out before its turn comes up loses that turn.
+ * <p>
+ * The living slots are kept in a dense list for uniform random picks, and - once a policy first asks for the
+ * weakest or strongest opponent - in two tournament trees ordered by HP, so every pick costs O(1) or O(log n).
+ * Not thread-safe, and not reusable: load every slot, then call {@link #fight} once.
+ */
+public final class RoyaleEngine {
+
+    public static final int NONE = -1;
+
+    // Speed rolls occupy 15 bits of a turn key, so the key stays positive
+    private static final int MAX_SPEED_BOUND = 1 << 15;
+
+    private final int size;
+    private final int[] healthPoints;
+    private final int[] attackBound;
+    private final int[] speedBound;
+
+    private final int[] lastAttacker;
+    private final int[] kills;
+    private final long[] damageDealt;
+    private final int[] eliminatedBy;
+    private final int[] eliminatedRound;
+    private final int[] placement;
+    private final int[] slotAtPlace;
+
+    // Living slots in alive[0..aliveCount), and each slot's position in that list
+    private final int[] alive;
+    private final int[] position;
+    private int aliveCount;
+
+    // Tournament trees over slots: each node holds the weaker/stronger living slot below it, or NONE
+    private final int leaves;
+    private int[] weakest;
+    private int[] strongest;
+
+    private final TurnQueue turns;
+    private int rounds;
+    private long turnsTaken;
+
+    public RoyaleEngine(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("A battle royale needs at least 2 combatants");
+        }
+        this.size = size;
+        this.healthPoints = new int[size];
+        this.attackBound = new int[size];
+        this.speedBound = new int[size];
+        this.lastAttacker = new int[size];
+        this.kills = new int[size];
+        this.damageDealt = new long[size];
+        this.eliminatedBy = new int[size];
+        this.eliminatedRound = new int[size];
+        this.placement = new int[size];
+        this.slotAtPlace = new int[size + 1];
+        this.alive = new int[size];
+        this.position = new int[size];
+        this.leaves = Integer.highestOneBit(size - 1) << 1;
+        this.turns = new TurnQueue(size);
+
+        Arrays.fill(lastAttacker, NONE);
+        Arrays.fill(eliminatedBy, NONE);
+        for (int slot = 0; slot < size; slot++) {
+            alive[slot] = slot;
+            position[slot] = slot;
+        }
+        aliveCount = size;
+    }
+
+    public void load(int slot, int healthPoints, CombatProfile profile) {
+        if (healthPoints < 1) {
+            throw new IllegalArgumentException("Combatants must enter alive, slot " + slot + " has " + healthPoints + " HP");
+        }
+        if (profile.speedBound() > MAX_SPEED_BOUND) {
+            throw new IllegalArgumentException("Speed modifier out of range: " + profile.speedModifier());
+        }
+        this.healthPoints[slot] = healthPoints;
+        this.attackBound[slot] = profile.attackBound();
+        this.speedBound[slot] = profile.speedBound();
+    }
+
+    /**
+     * Fight until one combatant is left.
+     *
+     * @return the slot of the winner
+     */
+    public int fight(TargetPolicy policy, RandomGenerator random) {
+        for (int slot = 0; slot < size; slot++) {
+            if (attackBound[slot] < 2) {
+                throw new IllegalStateException("Slot " + slot + " can never deal damage - the fight might never end");
+            }
+        }
+
+        while (aliveCount > 1) {
+            rounds++;
+
+            // Key: speed roll, then a random tie-breaker, then the slot in the low 32 bits
+            turns.clear();
+            for (int i = 0; i < aliveCount; i++) {
+                int slot = alive[i];
+                turns.add(((long) random.nextInt(speedBound[slot]) << 48)
+                        | ((long) random.nextInt(1 << 16) << 32)
+                        | slot);
+            }
+            turns.heapify();
+
+            while (!turns.isEmpty() && aliveCount > 1) {
+                int attacker = (int) turns.poll();
+                if (healthPoints[attacker] == 0) {
+                    continue;
+                }
+                int target = policy.target(this, attacker, random);
+                if (target == attacker || target < 0 || target >= size || healthPoints[target] == 0) {
+                    throw new IllegalStateException("Target policy picked an invalid target: " + target);
+                }
+                strike(attacker, target, random);
+            }
+        }
+
+        int winner = alive[0];
+        placement[winner] = 1;
+        slotAtPlace[1] = winner;
+        return winner;
+    }
+
+    private void strike(int attacker, int target, RandomGenerator random) {
+        int damage = random.nextInt(attackBound[attacker]);
+        turnsTaken++;
+        lastAttacker[target] = attacker;
+        if (damage == 0) {
+            return;
+        }
+
+        int dealt = Math.min(damage, healthPoints[target]);
+        healthPoints[target] -= dealt;
+        damageDealt[attacker] += dealt;
+        if (healthPoints[target] == 0) {
+            eliminate(target, attacker);
+        } else if (weakest != null) {
+            refresh(target);
+        }
+    }
+
+    // Placed by how many were still alive when it fell; swap-removed from the living list
+    private void eliminate(int slot, int by) {
+        placement[slot] = aliveCount;
+        slotAtPlace[aliveCount] = slot;
+        eliminatedBy[slot] = by;
+        eliminatedRound[slot] = rounds;
+        kills[by]++;
+
+        int last = alive[--aliveCount];
+        alive[position[slot]] = last;
+        position[last] = position[slot];
+        if (weakest != null) {
+            refresh(slot);
+        }
+    }
+
+    // --- Queries for target policies ---
+
+    public int randomOpponent(int attacker, RandomGenerator random) {
+        int opponent = alive[random.nextInt(aliveCount - 1)];
+        return opponent == attacker ? alive[aliveCount - 1] : opponent;
+    }
+
+    // Least HP, lowest slot on ties
+    public int weakestOpponent(int attacker) {
+        ensureOrdered();
+        return excluding(weakest, attacker);
+    }
+
+    // Most HP, lowest slot on ties
+    public int strongestOpponent(int attacker) {
+        ensureOrdered();
+        return excluding(strongest, attacker);
+    }
+
+    public int lastAttacker(int slot) {
+        return lastAttacker[slot];
+    }
+
+    public boolean isAlive(int slot) {
+        return healthPoints[slot] > 0;
+    }
+
+    public int aliveCount() {
+        return aliveCount;
+    }
+
+    // --- Results ---
+
+    public int size() {
+        return size;
+    }
+
+    public int healthPoints(int slot) {
+        return healthPoints[slot];
+    }
+
+    public int kills(int slot) {
+        return kills[slot];
+    }
+
+    public long damageDealt(int slot) {
+        return damageDealt[slot];
+    }
+
+    // NONE for the winner
+    public int eliminatedBy(int slot) {
+        return eliminatedBy[slot];
+    }
+
+    // 0 for the winner
+    public int eliminatedRound(int slot) {
+        return eliminatedRound[slot];
+    }
+
+    // 1 for the winner, N for the first one out
+    public int placement(int slot) {
+        return placement[slot];
+    }
+
+    public int slotAtPlace(int place) {
+        return slotAtPlace[place];
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    public long turns() {
+        return turnsTaken;
+    }
+
+    // --- HP-ordered trees, built on first use ---
+
+    private void ensureOrdered() {
+        if (weakest != null) {
+            return;
+        }
+        weakest = new int[leaves << 1];
+        strongest = new int[leaves << 1];
+        for (int i = 0; i < leaves; i++) {
+            int slot = i < size && healthPoints[i] > 0 ? i : NONE;
+            weakest[leaves + i] = slot;
+            strongest[leaves + i] = slot;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            weakest[node] = weaker(weakest[node << 1], weakest[(node << 1) + 1]);
+            strongest[node] = stronger(strongest[node << 1], strongest[(node << 1) + 1]);
+        }
+    }
+
+    // Root of the tree with the attacker's leaf taken out, then put back
+    private int excluding(int[] tree, int attacker) {
+        int leaf = leaves + attacker;
+        tree[leaf] = NONE;
+        update(tree, leaf);
+        int result = tree[1];
+        tree[leaf] = attacker;
+        update(tree, leaf);
+        return result;
+    }
+
+    private void refresh(int slot) {
+        int leaf = leaves + slot;
+        int value = healthPoints[slot] > 0 ? slot : NONE;
+        weakest[leaf] = value;
+        strongest[leaf] = value;
+        update(weakest, leaf);
+        update(strongest, leaf);
+    }
+
+    private void update(int[] tree, int leaf) {
+        boolean min = tree == weakest;
+        for (int node = leaf >>> 1; node > 0; node >>>= 1) {
+            int left = tree[node << 1];
+            int right = tree[(node << 1) + 1];
+            tree[node] = min ? weaker(left, right) : stronger(left, right);
+        }
+    }
+
+    // The left argument always has the lower slot, so it wins ties
+    private int weaker(int left, int right) {
+        if (left == NONE) {
+            return right;
+        }
+        if (right == NONE) {
+            return left;
+        }
+        return healthPoints[right] < healthPoints[left] ? right : left;
+    }
+
+    private int stronger(int left, int right) {
+        if (left == NONE) {
+            return right;
+        }
+        if (right == NONE) {
+            return left;
+        }
+        return healthPoints[right] > healthPoints[left] ? right : left;
+    }
+}
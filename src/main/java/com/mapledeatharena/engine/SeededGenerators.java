@@ -0,0 +1,22 @@
+package com.mapledeatharena.engine;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Rebuilds a battle's generator from the algorithm name and seed stored with it, independent of how the random
+ * provider is configured today.
+ */
+public final class SeededGenerators {
+
+    private SeededGenerators() {
+    }
+
+    public static RandomGenerator create(String algorithm, long seed) {
+        if (SplitMix64.ALGORITHM.equals(algorithm)) {
+            return new SplitMix64(seed);
+        }
+        // JDK algorithms, e.g. SplittableRandom or L64X128MixRandom, seeded exactly as the providers seed them
+        return RandomGeneratorFactory.of(algorithm).create(seed);
+    }
+}
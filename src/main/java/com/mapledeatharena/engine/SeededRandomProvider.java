@@ -0,0 +1,44 @@
+package com.mapledeatharena.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Deterministic mode for replays and tests: the n-th battle always gets the same stream for a given seed,
+ * no matter which thread runs it.
+ */
+public final class SeededRandomProvider implements ReplayableRandomProvider {
+
+    // Golden-ratio increment between battle numbers, mixed into a seed by nextSeed
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final AtomicLong battles = new AtomicLong();
+
+    public SeededRandomProvider(long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public RandomGenerator forBattle() {
+        return forSeed(nextSeed());
+    }
+
+    @Override
+    public String algorithm() {
+        return "SplittableRandom";
+    }
+
+    // Mixed, not just stepped: SplittableRandom advances by the same gamma, so seed + n * GAMMA would make battle
+    // n + 1 replay battle n's stream one draw later
+    @Override
+    public long nextSeed() {
+        return SplitMix64.mix(seed + battles.getAndIncrement() * GAMMA);
+    }
+
+    @Override
+    public RandomGenerator forSeed(long battleSeed) {
+        return new SplittableRandom(battleSeed);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mapledeatharena.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64: one {@code long} of state, so a generator can be re-seeded in place for every battle instead of being
+ * allocated. The same seed always produces the same stream, which is what makes battles replayable.
+ */
+public final class SplitMix64 implements RandomGenerator {
+
+    public static final String ALGORITHM = "SplitMix64";
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public SplitMix64 reseed(long seed) {
+        this.state = seed;
+        return this;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += GAMMA);
+    }
+
+    // The SplitMix64 finaliser: spreads structured inputs (seed plus an index) into independent-looking seeds
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
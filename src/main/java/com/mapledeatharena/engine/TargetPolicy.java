@@ -0,0 +1,43 @@
+package com.mapledeatharena.engine;
+
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * How a combatant in a {@link RoyaleEngine} picks whom to attack. Called once per turn with at least one living
+ * opponent; the returned slot must be alive and not the attacker.
+ */
+@FunctionalInterface
+public interface TargetPolicy {
+
+    int target(RoyaleEngine arena, int attacker, RandomGenerator random);
+
+    // Any living opponent, uniformly
+    TargetPolicy RANDOM = (arena, attacker, random) -> arena.randomOpponent(attacker, random);
+
+    // The living opponent with the least HP - finish off the wounded
+    TargetPolicy WEAKEST = (arena, attacker, random) -> arena.weakestOpponent(attacker);
+
+    // The living opponent with the most HP - gang up on the leader
+    TargetPolicy STRONGEST = (arena, attacker, random) -> arena.strongestOpponent(attacker);
+
+    // Whoever hit this combatant last, while they live; otherwise random
+    TargetPolicy RETALIATE = (arena, attacker, random) -> {
+        int last = arena.lastAttacker(attacker);
+        return last != RoyaleEngine.NONE && arena.isAlive(last) ? last : arena.randomOpponent(attacker, random);
+    };
+
+    static TargetPolicy parse(String value) {
+        if (value == null || value.isBlank()) {
+            return RANDOM;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "random" -> RANDOM;
+            case "weakest" -> WEAKEST;
+            case "strongest" -> STRONGEST;
+            case "retaliate" -> RETALIATE;
+            default -> throw new IllegalArgumentException(
+                    "Target policy must be one of: random, weakest, strongest, retaliate");
+        };
+    }
+}
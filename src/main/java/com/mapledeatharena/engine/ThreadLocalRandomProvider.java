@@ -0,0 +1,38 @@
+package com.mapledeatharena.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Seeds every battle from the calling thread's {@link ThreadLocalRandom} and runs it on the thread's own
+ * {@link SplitMix64}, re-seeded in place: no shared state, no allocation per battle, and every battle can be
+ * replayed from its seed. Virtual threads get a fresh generator instead - they live for one request, so a
+ * thread-local would only add a map entry per thread.
+ */
+public final class ThreadLocalRandomProvider implements ReplayableRandomProvider {
+
+    private static final ThreadLocal<SplitMix64> GENERATOR = ThreadLocal.withInitial(() -> new SplitMix64(0));
+
+    @Override
+    public RandomGenerator forBattle() {
+        return forSeed(nextSeed());
+    }
+
+    @Override
+    public String algorithm() {
+        return SplitMix64.ALGORITHM;
+    }
+
+    @Override
+    public long nextSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public RandomGenerator forSeed(long seed) {
+        if (Thread.currentThread().isVirtual()) {
+            return new SplitMix64(seed);
+        }
+        return GENERATOR.get().reseed(seed);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mapledeatharena.engine;
+
+import java.util.Arrays;
+
+/**
+ * Max-heap of packed {@code long} turn keys. A round appends every key, heapifies once in O(n) and polls them back
+ * in descending order; the backing array only grows, so a reused queue stops allocating after its largest round.
+ */
+public final class TurnQueue {
+
+    private long[] keys;
+    private int size;
+
+    public TurnQueue(int initialCapacity) {
+        this.keys = new long[Math.max(1, initialCapacity)];
+    }
+
+    // Append without restoring heap order - call heapify() before polling
+    public void add(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        keys[size++] = key;
+    }
+
+    public void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, keys[i]);
+        }
+    }
+
+    public long poll() {
+        long top = keys[0];
+        long last = keys[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void siftDown(int index, long key) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && keys[right] > keys[child]) {
+                child = right;
+            }
+            if (key >= keys[child]) {
+                break;
+            }
+            keys[index] = keys[child];
+            index = child;
+        }
+        keys[index] = key;
+    }
+}
@@ -0,0 +1,680 @@
+package com.mapledeatharena.history;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Battle history: every battle's {@link BattleRecord}, kept in time-ordered, deflate-compressed blocks.
+ * <p>
+ * {@link #record} only assigns an id and offers the record to a bounded queue - if the queue is full the record is
+ * dropped and counted rather than slowing the battle down. A single writer thread collects up to
+ * {@value #BLOCK_RECORDS} records (or whatever arrived within a second), compresses them as one block and appends
+ * it to the current {@code history-N.seg} file. Segments roll over by size and are deleted once all their battles
+ * are older than the retention period. A failed append is cut back off the segment, or the writer moves on to a
+ * new one, so the blocks after it stay where the index and a restart expect them.
+ * <p>
+ * A per-character index points at the blocks each character appears in, so "the last 100 fights of X" decompresses
+ * at most 100 blocks, usually far fewer. Battles still waiting for their block are served from memory.
+ * <p>
+ * Off by default. Records name characters by id, so the history outliving the characters would credit old battles
+ * to whoever gets those ids next; it can only be enabled with a character store that survives restarts.
+ */
+@Service
+public class BattleHistory implements BattleRecorder {
+
+    static final int BLOCK_RECORDS = 512;
+    private static final long FLUSH_INTERVAL_MILLIS = 1_000;
+    private static final int BLOCK_CACHE_SIZE = 64;
+
+    // Block header: magic, compressed length, raw length, record count, min/max id, min/max timestamp, crc32
+    private static final int BLOCK_MAGIC = 0x4D444248; // "MDBH"
+    private static final int BLOCK_HEADER_BYTES = 4 * 4 + 4 * 8 + 4;
+
+    private static final Pattern SEGMENT = Pattern.compile("history-(\\d{20})\\.seg");
+
+    // Block references in the character index pack (segment number, block index)
+    private static final int BLOCK_INDEX_BITS = 24;
+
+    private record Block(long segment, int index, long offset, int compressedLength, int rawLength, int count,
+                         long minId, long maxId, long minTimestamp, long maxTimestamp) {
+
+        long ref() {
+            return segment << BLOCK_INDEX_BITS | index;
+        }
+
+        boolean mayContain(long battleId) {
+            return minId <= battleId && battleId <= maxId;
+        }
+    }
+
+    // One history file; only the newest segment is appended to
+    private static final class Segment {
+        final long number;
+        final Path path;
+        final List<Block> blocks = new ArrayList<>();
+        long bytes;
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+
+        Segment(long number, Path path) {
+            this.number = number;
+            this.path = path;
+        }
+
+        void add(Block block) {
+            blocks.add(block);
+            bytes = block.offset() + BLOCK_HEADER_BYTES + block.compressedLength();
+            minId = Math.min(minId, block.minId());
+            maxId = Math.max(maxId, block.maxId());
+            maxTimestamp = Math.max(maxTimestamp, block.maxTimestamp());
+        }
+    }
+
+    // Block refs of one character, oldest first; only the writer thread appends
+    private static final class CharacterBlocks {
+        long[] refs = new long[4];
+        int size;
+
+        void add(long ref) {
+            if (size > 0 && refs[size - 1] == ref) {
+                return;
+            }
+            if (size == refs.length) {
+                refs = Arrays.copyOf(refs, size << 1);
+            }
+            refs[size++] = ref;
+        }
+    }
+
+    // Opens a new segment file for writing; replaced in tests to inject write failures
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final SegmentOpener opener;
+    private final long retentionMillis;
+    private final long maxSegmentBytes;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<BattleRecord> queue;
+
+    private final AtomicLong battleIds = new AtomicLong();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // Shared between the writer thread and readers
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<BattleRecord> pending = new ArrayList<>();
+    private final Map<Long, CharacterBlocks> byCharacter = new HashMap<>();
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<Block, List<BattleRecord>> blockCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Block, List<BattleRecord>> eldest) {
+            return size() > BLOCK_CACHE_SIZE;
+        }
+    };
+
+    // Writer thread only
+    private FileChannel channel;
+    private long pendingSince;
+    private Thread writer;
+    private volatile boolean running;
+
+    public BattleHistory(@Value("${arena.history.enabled:false}") boolean enabled,
+                         @Value("${arena.history.directory:data/history}") String directory,
+                         @Value("${arena.history.queue-capacity:65536}") int queueCapacity,
+                         @Value("${arena.history.retention-hours:168}") long retentionHours,
+                         @Value("${arena.history.segment-megabytes:64}") long segmentMegabytes,
+                         @Value("${arena.persistence.enabled:false}") boolean persistenceEnabled,
+                         @Value("${arena.store.mode:heap}") String storeMode) {
+        this(enabled, Path.of(directory), queueCapacity, TimeUnit.HOURS.toMillis(retentionHours),
+                segmentMegabytes << 20, FLUSH_INTERVAL_MILLIS);
+        if (enabled && !persistenceEnabled && !"mapped".equalsIgnoreCase(storeMode)) {
+            throw new IllegalArgumentException("arena.history.enabled needs a durable character store: "
+                    + "arena.persistence.enabled=true or arena.store.mode=mapped");
+        }
+    }
+
+    BattleHistory(boolean enabled, Path directory, int queueCapacity, long retentionMillis, long maxSegmentBytes,
+                  long flushIntervalMillis) {
+        this(enabled, directory, queueCapacity, retentionMillis, maxSegmentBytes, flushIntervalMillis,
+                path -> FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    BattleHistory(boolean enabled, Path directory, int queueCapacity, long retentionMillis, long maxSegmentBytes,
+                  long flushIntervalMillis, SegmentOpener opener) {
+        if (queueCapacity <= 0 || retentionMillis <= 0 || maxSegmentBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "arena.history.queue-capacity, retention-hours and segment-megabytes must be positive");
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retentionMillis = retentionMillis;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.opener = opener;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        long nextSegment = load();
+        openSegment(nextSegment);
+        applyRetention(System.currentTimeMillis());
+
+        running = true;
+        writer = Thread.ofPlatform().name("battle-history").daemon().start(this::run);
+    }
+
+    @Override
+    public long record(BattleRecord record) {
+        if (!enabled) {
+            return 0;
+        }
+        long battleId = battleIds.incrementAndGet();
+        if (!queue.offer(record.assign(battleId, System.currentTimeMillis()))) {
+            dropped.increment();
+        }
+        return battleId;
+    }
+
+    /**
+     * Look up one battle by id.
+     */
+    public Optional<BattleRecord> find(long battleId) {
+        List<Block> candidates = new ArrayList<>();
+        stateLock.readLock().lock();
+        try {
+            for (BattleRecord record : pending) {
+                if (record.battleId() == battleId) {
+                    return Optional.of(record);
+                }
+            }
+            for (Segment segment : segments) {
+                if (segment.minId <= battleId && battleId <= segment.maxId) {
+                    for (Block block : segment.blocks) {
+                        if (block.mayContain(battleId)) {
+                            candidates.add(block);
+                        }
+                    }
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        for (Block block : candidates) {
+            for (BattleRecord record : readBlock(block)) {
+                if (record.battleId() == battleId) {
+                    return Optional.of(record);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The most recent battles a character took part in, newest first.
+     */
+    public List<BattleRecord> recentForCharacter(long characterId, int limit) {
+        List<BattleRecord> result = new ArrayList<>();
+        List<Block> blocks = new ArrayList<>();
+
+        stateLock.readLock().lock();
+        try {
+            for (BattleRecord record : pending) {
+                if (record.involves(characterId)) {
+                    result.add(record);
+                }
+            }
+            // Every block holds at least one battle of the character, so 'limit' blocks are always enough
+            CharacterBlocks refs = byCharacter.get(characterId);
+            if (refs != null) {
+                for (int i = refs.size - 1; i >= 0 && blocks.size() < limit; i--) {
+                    Block block = block(refs.refs[i]);
+                    if (block != null) {
+                        blocks.add(block);
+                    }
+                }
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        for (Block block : blocks) {
+            for (BattleRecord record : readBlock(block)) {
+                if (record.involves(characterId)) {
+                    result.add(record);
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingLong(BattleRecord::battleId).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Map every retained battle to one value per block, decompressing blocks in parallel. Values come back in battle
+     * order, battles not yet written to disk last. Blocks bypass the cache so a full scan does not evict the ones
+     * recent lookups need.
+     */
+    public <T> List<T> mapBlocks(Function<List<BattleRecord>, T> mapper) {
+        List<Block> blocks = new ArrayList<>();
+        List<BattleRecord> unwritten;
+        stateLock.readLock().lock();
+        try {
+            for (Segment segment : segments) {
+                blocks.addAll(segment.blocks);
+            }
+            unwritten = new ArrayList<>(pending);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        List<T> mapped = new ArrayList<>(blocks.parallelStream()
+                .map(block -> mapper.apply(readStoredBlock(block)))
+                .toList());
+        if (!unwritten.isEmpty()) {
+            mapped.add(mapper.apply(unwritten));
+        }
+        return mapped;
+    }
+
+    public long storedCount() {
+        return stored.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void run() {
+        List<BattleRecord> batch = new ArrayList<>(BLOCK_RECORDS);
+        while (running || !queue.isEmpty()) {
+            try {
+                BattleRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, Math.max(0, BLOCK_RECORDS - pending.size() - 1));
+                    addPending(batch);
+                    batch.clear();
+                }
+                long now = System.currentTimeMillis();
+                if (pending.size() >= BLOCK_RECORDS
+                        || (!pending.isEmpty() && now - pendingSince >= flushIntervalMillis)) {
+                    flushBlock();
+                    applyRetention(now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Do not retry forever: the block is lost, the next one gets a fresh chance
+                dropPending();
+            }
+        }
+        try {
+            if (!pending.isEmpty()) {
+                flushBlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            dropPending();
+        }
+    }
+
+    private void addPending(List<BattleRecord> batch) {
+        if (pending.isEmpty()) {
+            pendingSince = System.currentTimeMillis();
+        }
+        stateLock.writeLock().lock();
+        try {
+            pending.addAll(batch);
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    private void dropPending() {
+        stateLock.writeLock().lock();
+        try {
+            dropped.add(pending.size());
+            pending.clear();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    // Compress the pending records into one block, append it and only then swap it in for the pending list
+    private void flushBlock() throws IOException {
+        List<BattleRecord> records = new ArrayList<>(pending);
+        records.sort(Comparator.comparingLong(BattleRecord::battleId));
+
+        byte[] raw = BattleRecordCodec.encode(records);
+        byte[] compressed = BattleRecordCodec.compress(raw);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        for (BattleRecord record : records) {
+            minTimestamp = Math.min(minTimestamp, record.timestamp());
+            maxTimestamp = Math.max(maxTimestamp, record.timestamp());
+        }
+        Segment segment = segments.get(segments.size() - 1);
+        Block block = new Block(segment.number, segment.blocks.size(), segment.bytes, compressed.length, raw.length,
+                records.size(), records.get(0).battleId(), records.get(records.size() - 1).battleId(),
+                minTimestamp, maxTimestamp);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER_BYTES + compressed.length)
+                .putInt(BLOCK_MAGIC)
+                .putInt(compressed.length)
+                .putInt(raw.length)
+                .putInt(records.size())
+                .putLong(block.minId())
+                .putLong(block.maxId())
+                .putLong(minTimestamp)
+                .putLong(maxTimestamp)
+                .putInt((int) crc.getValue())
+                .put(compressed)
+                .flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            discardTornWrite(segment);
+            throw e;
+        }
+
+        stateLock.writeLock().lock();
+        try {
+            segment.add(block);
+            index(block, records);
+            pending.clear();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        stored.add(records.size());
+
+        if (segment.bytes >= maxSegmentBytes) {
+            openSegment(segment.number + 1);
+        }
+    }
+
+    // Cut a partly written block back off the segment, so the next one starts at segment.bytes as its Block says
+    // and a restart does not stop at the torn bytes. If even that fails, continue in a new segment.
+    private void discardTornWrite(Segment segment) {
+        try {
+            channel.truncate(segment.bytes);
+            channel.position(segment.bytes);
+        } catch (IOException e) {
+            try {
+                channel.close();
+                openSegment(segment.number + 1);
+            } catch (IOException ignored) {
+                // The channel stays closed, so the next block fails and tries again
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void index(Block block, List<BattleRecord> records) {
+        long ref = block.ref();
+        for (BattleRecord record : records) {
+            byCharacter.computeIfAbsent(record.first().id(), id -> new CharacterBlocks()).add(ref);
+            byCharacter.computeIfAbsent(record.second().id(), id -> new CharacterBlocks()).add(ref);
+        }
+    }
+
+    // Delete whole segments whose newest battle is past retention; the segment being written is always kept
+    void applyRetention(long now) throws IOException {
+        List<Segment> expired = new ArrayList<>();
+        stateLock.writeLock().lock();
+        try {
+            while (segments.size() > 1 && segments.get(0).maxTimestamp < now - retentionMillis) {
+                expired.add(segments.remove(0));
+            }
+            if (!expired.isEmpty()) {
+                long firstSegment = segments.get(0).number;
+                byCharacter.values().removeIf(refs -> trimBefore(refs, firstSegment));
+            }
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        for (Segment segment : expired) {
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    // Drop refs into retired segments; true when nothing is left
+    private static boolean trimBefore(CharacterBlocks refs, long firstSegment) {
+        int keepFrom = 0;
+        while (keepFrom < refs.size && (refs.refs[keepFrom] >>> BLOCK_INDEX_BITS) < firstSegment) {
+            keepFrom++;
+        }
+        if (keepFrom > 0) {
+            System.arraycopy(refs.refs, keepFrom, refs.refs, 0, refs.size - keepFrom);
+            refs.size -= keepFrom;
+        }
+        return refs.size == 0;
+    }
+
+    // Caller holds a lock; null when the block's segment has been retired
+    private Block block(long ref) {
+        long number = ref >>> BLOCK_INDEX_BITS;
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Segment segment = segments.get(mid);
+            if (segment.number < number) {
+                low = mid + 1;
+            } else if (segment.number > number) {
+                high = mid - 1;
+            } else {
+                int index = (int) (ref & ((1L << BLOCK_INDEX_BITS) - 1));
+                return index < segment.blocks.size() ? segment.blocks.get(index) : null;
+            }
+        }
+        return null;
+    }
+
+    private List<BattleRecord> readBlock(Block block) {
+        cacheLock.lock();
+        try {
+            List<BattleRecord> cached = blockCache.get(block);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        List<BattleRecord> records = readStoredBlock(block);
+        cacheLock.lock();
+        try {
+            blockCache.put(block, records);
+        } finally {
+            cacheLock.unlock();
+        }
+        return records;
+    }
+
+    private List<BattleRecord> readStoredBlock(Block block) {
+        try (FileChannel reader = FileChannel.open(segmentPath(block.segment()), StandardOpenOption.READ)) {
+            return readBlock(reader, block);
+        } catch (NoSuchFileException e) {
+            // Retired while we were reading
+            return List.of();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read battle history", e);
+        }
+    }
+
+    private static List<BattleRecord> readBlock(FileChannel reader, Block block) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.compressedLength());
+        long position = block.offset() + BLOCK_HEADER_BYTES;
+        while (compressed.hasRemaining()) {
+            int read = reader.read(compressed, position + compressed.position());
+            if (read < 0) {
+                throw new IllegalStateException("History block is truncated");
+            }
+        }
+        byte[] raw = BattleRecordCodec.decompress(compressed.array(), block.rawLength());
+        return BattleRecordCodec.decode(raw, block.count());
+    }
+
+    // Rebuild segments, block index and character index from disk; returns the next segment number
+    private long load() throws IOException {
+        List<Long> numbers;
+        try (Stream<Path> files = Files.list(directory)) {
+            numbers = files
+                    .map(file -> SEGMENT.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+
+        long next = 0;
+        for (long number : numbers) {
+            Segment segment = new Segment(number, segmentPath(number));
+            try (FileChannel reader = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                loadBlocks(reader, segment);
+            }
+            if (segment.blocks.isEmpty()) {
+                Files.deleteIfExists(segment.path);
+            } else {
+                segments.add(segment);
+                battleIds.accumulateAndGet(segment.maxId, Math::max);
+            }
+            next = number + 1;
+        }
+        return next;
+    }
+
+    // Read blocks until the end of the file or the first torn or damaged block
+    private void loadBlocks(FileChannel reader, Segment segment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        long position = 0;
+        while (true) {
+            header.clear();
+            while (header.hasRemaining() && reader.read(header, position + header.position()) > 0) {
+                // keep reading
+            }
+            if (header.hasRemaining()) {
+                return;
+            }
+            header.flip();
+            if (header.getInt() != BLOCK_MAGIC) {
+                return;
+            }
+            Block block = new Block(segment.number, segment.blocks.size(), position,
+                    header.getInt(), header.getInt(), header.getInt(),
+                    header.getLong(), header.getLong(), header.getLong(), header.getLong());
+            int storedCrc = header.getInt();
+
+            List<BattleRecord> records;
+            try {
+                ByteBuffer compressed = ByteBuffer.allocate(block.compressedLength());
+                long start = position + BLOCK_HEADER_BYTES;
+                while (compressed.hasRemaining() && reader.read(compressed, start + compressed.position()) > 0) {
+                    // keep reading
+                }
+                CRC32 crc = new CRC32();
+                crc.update(compressed.array());
+                if (compressed.hasRemaining() || (int) crc.getValue() != storedCrc) {
+                    return;
+                }
+                records = BattleRecordCodec.decode(
+                        BattleRecordCodec.decompress(compressed.array(), block.rawLength()), block.count());
+            } catch (RuntimeException e) {
+                return;
+            }
+
+            segment.add(block);
+            index(block, records);
+            stored.add(records.size());
+            position += BLOCK_HEADER_BYTES + block.compressedLength();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+        Segment segment = new Segment(number, segmentPath(number));
+        channel = opener.open(segment.path);
+        stateLock.writeLock().lock();
+        try {
+            segments.add(segment);
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("history-%020d.seg", number));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mapledeatharena.history;
+
+import com.mapledeatharena.engine.BattleEvents;
+import com.mapledeatharena.engine.BattleLog;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+
+/**
+ * Everything needed to reconstruct one finished battle: who fought with which stats, the generator and seed (when
+ * the random provider is replayable) and the packed per-round events.
+ * <p>
+ * Seeded battles are stored without their events - {@link BattleReplayer} re-simulates them from the seed and
+ * checks the result against {@code rounds}, the winner and the event {@code checksum}. Unseeded battles keep their
+ * events, since there is no other way to get them back.
+ */
+public record BattleRecord(
+        long battleId,
+        long timestamp,
+        // Generator algorithm, null when the battle did not run from a seed
+        String algorithm,
+        long seed,
+        Combatant first,
+        Combatant second,
+        int winnerSlot,
+        int winnerHealthPoints,
+        int rounds,
+        long checksum,
+        // Null when the events were not stored
+        long[] events
+) {
+    /**
+     * A participant as it entered the battle
+     */
+    public record Combatant(
+            long id,
+            String name,
+            Job job,
+            int startHealthPoints,
+            double attackModifier,
+            double speedModifier
+    ) {
+        public static Combatant of(Character character, int startHealthPoints) {
+            return new Combatant(character.getId(), character.getName(), character.getJob(), startHealthPoints,
+                    character.getAttackModifier(), character.getSpeedModifier());
+        }
+    }
+
+    // A battle as it just finished: not yet numbered, with its events
+    public static BattleRecord completed(String algorithm, long seed, Combatant first, Combatant second,
+                                         int winnerSlot, int winnerHealthPoints, int rounds, long[] events) {
+        return new BattleRecord(0, 0, algorithm, seed, first, second, winnerSlot, winnerHealthPoints,
+                rounds, BattleEvents.checksum(events), events);
+    }
+
+    // Id and timestamp are assigned by the recorder
+    BattleRecord assign(long battleId, long timestamp) {
+        return new BattleRecord(battleId, timestamp, algorithm, seed, first, second,
+                winnerSlot, winnerHealthPoints, rounds, checksum, events);
+    }
+
+    BattleRecord withEvents(long[] events) {
+        return new BattleRecord(battleId, timestamp, algorithm, seed, first, second,
+                winnerSlot, winnerHealthPoints, rounds, checksum, events);
+    }
+
+    public boolean seeded() {
+        return algorithm != null;
+    }
+
+    public boolean hasEvents() {
+        return events != null;
+    }
+
+    public Combatant winner() {
+        return winnerSlot == 0 ? first : second;
+    }
+
+    public boolean involves(long characterId) {
+        return first.id() == characterId || second.id() == characterId;
+    }
+
+    public BattleLog toLog() {
+        if (events == null) {
+            throw new IllegalStateException("Events of battle " + battleId + " were not stored - replay it first");
+        }
+        return new BattleLog(
+                first.name(), first.job(), first.startHealthPoints(),
+                second.name(), second.job(), second.startHealthPoints(),
+                events, winnerSlot, winnerHealthPoints
+        );
+    }
+}
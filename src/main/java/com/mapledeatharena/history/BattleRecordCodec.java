@@ -0,0 +1,147 @@
+package com.mapledeatharena.history;
+
+import com.mapledeatharena.history.BattleRecord.Combatant;
+import com.mapledeatharena.model.Job;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block encoding for battle history: records are written back to back with {@link DataOutputStream} and the whole
+ * block is deflated. Consecutive battles share names, jobs and event patterns, so blocks compress well.
+ * <p>
+ * Seeded battles are written without their events: generator, seed, rounds and checksum are enough to re-create
+ * and verify them, and cut a typical record from a few hundred bytes to well under a hundred.
+ */
+final class BattleRecordCodec {
+
+    private static final int SEEDED = 1;
+    private static final int SECOND_WON = 2;
+    private static final int EVENTS = 4;
+
+    private static final Job[] JOBS = Job.values();
+
+    private BattleRecordCodec() {
+    }
+
+    static byte[] encode(List<BattleRecord> records) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (BattleRecord record : records) {
+                out.writeLong(record.battleId());
+                out.writeLong(record.timestamp());
+                boolean storeEvents = !record.seeded() && record.hasEvents();
+                out.writeByte((record.seeded() ? SEEDED : 0)
+                        | (record.winnerSlot() == 1 ? SECOND_WON : 0)
+                        | (storeEvents ? EVENTS : 0));
+                if (record.seeded()) {
+                    out.writeUTF(record.algorithm());
+                    out.writeLong(record.seed());
+                }
+                writeCombatant(out, record.first());
+                writeCombatant(out, record.second());
+                out.writeInt(record.winnerHealthPoints());
+                out.writeInt(record.rounds());
+                out.writeLong(record.checksum());
+                if (storeEvents) {
+                    out.writeInt(record.events().length);
+                    for (long event : record.events()) {
+                        out.writeLong(event);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<BattleRecord> decode(byte[] raw, int count) {
+        List<BattleRecord> records = new ArrayList<>(count);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < count; i++) {
+                long battleId = in.readLong();
+                long timestamp = in.readLong();
+                int flags = in.readByte();
+                String algorithm = (flags & SEEDED) != 0 ? in.readUTF() : null;
+                long seed = algorithm != null ? in.readLong() : 0;
+                Combatant first = readCombatant(in);
+                Combatant second = readCombatant(in);
+                int winnerHealthPoints = in.readInt();
+                int rounds = in.readInt();
+                long checksum = in.readLong();
+                long[] events = null;
+                if ((flags & EVENTS) != 0) {
+                    events = new long[in.readInt()];
+                    for (int e = 0; e < events.length; e++) {
+                        events[e] = in.readLong();
+                    }
+                }
+                records.add(new BattleRecord(battleId, timestamp, algorithm, seed, first, second,
+                        (flags & SECOND_WON) != 0 ? 1 : 0, winnerHealthPoints, rounds, checksum, events));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+
+    static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] compressed, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            if (read != rawLength) {
+                throw new IllegalStateException("History block is damaged: expected " + rawLength + " bytes, got " + read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("History block is damaged", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeCombatant(DataOutputStream out, Combatant combatant) throws IOException {
+        out.writeLong(combatant.id());
+        out.writeUTF(combatant.name());
+        out.writeByte(combatant.job().ordinal());
+        out.writeInt(combatant.startHealthPoints());
+        out.writeDouble(combatant.attackModifier());
+        out.writeDouble(combatant.speedModifier());
+    }
+
+    private static Combatant readCombatant(DataInputStream in) throws IOException {
+        return new Combatant(in.readLong(), in.readUTF(), JOBS[in.readByte()], in.readInt(),
+                in.readDouble(), in.readDouble());
+    }
+}
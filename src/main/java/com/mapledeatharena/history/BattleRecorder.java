@@ -0,0 +1,18 @@
+package com.mapledeatharena.history;
+
+/**
+ * Receives every finished battle. Must be cheap: it is called on the battle's own thread.
+ */
+@FunctionalInterface
+public interface BattleRecorder {
+
+    // Keeps nothing; battles get id 0
+    BattleRecorder NONE = record -> 0;
+
+    /**
+     * Hand a finished battle over for storage.
+     *
+     * @return the id assigned to the battle, or 0 when it is not kept
+     */
+    long record(BattleRecord record);
+}
@@ -0,0 +1,87 @@
+package com.mapledeatharena.history;
+
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.engine.BattleEvents;
+import com.mapledeatharena.engine.SeededGenerators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Re-runs a seeded battle from its recorded starting stats and checks the outcome against what was stored.
+ * <p>
+ * The engine draws in a fixed order, so the same generator, seed and stats reproduce the battle round for round.
+ * A mismatch means the combat rules (or a generator algorithm) changed since the battle was fought.
+ */
+public final class BattleReplayer {
+
+    /**
+     * @param record     the stored record with the re-simulated events
+     * @param mismatches what differs from the stored outcome; empty when the replay is verified
+     */
+    public record Replay(BattleRecord record, List<String> mismatches) {
+        public boolean verified() {
+            return mismatches.isEmpty();
+        }
+    }
+
+    private BattleReplayer() {
+    }
+
+    public static Replay replay(BattleRecord record) {
+        if (!record.seeded()) {
+            throw new IllegalArgumentException("Battle " + record.battleId() + " did not run from a seed");
+        }
+
+        BattleEngine engine = BattleEngine.acquire();
+        int winnerSlot;
+        int winnerHealthPoints;
+        int rounds;
+        long[] events;
+        try {
+            engine.load(BattleEngine.FIRST, record.first().startHealthPoints(),
+                    record.first().attackModifier(), record.first().speedModifier());
+            engine.load(BattleEngine.SECOND, record.second().startHealthPoints(),
+                    record.second().attackModifier(), record.second().speedModifier());
+            winnerSlot = engine.fight(SeededGenerators.create(record.algorithm(), record.seed()));
+            winnerHealthPoints = engine.healthPoints(winnerSlot);
+            rounds = engine.rounds();
+            events = engine.events().toArray();
+        } finally {
+            engine.release();
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        compare(mismatches, "winner slot", record.winnerSlot(), winnerSlot);
+        compare(mismatches, "winner health points", record.winnerHealthPoints(), winnerHealthPoints);
+        compare(mismatches, "rounds", record.rounds(), rounds);
+        if (record.checksum() != BattleEvents.checksum(events)) {
+            mismatches.add("event checksum differs");
+        }
+        if (record.hasEvents() && !Arrays.equals(record.events(), events)) {
+            mismatches.add("events differ from the stored events");
+        }
+
+        return new Replay(record.withEvents(events), mismatches);
+    }
+
+    // The record with its events, re-simulated if they were not stored
+    public static BattleRecord withEvents(BattleRecord record) {
+        if (record.hasEvents()) {
+            return record;
+        }
+        Replay replay = replay(record);
+        if (!replay.verified()) {
+            throw new IllegalStateException("Battle " + record.battleId() + " no longer replays to its recorded outcome: "
+                    + String.join("; ", replay.mismatches()));
+        }
+        return replay.record();
+    }
+
+    private static void compare(List<String> mismatches, String what, int recorded, int replayed) {
+        if (recorded != replayed) {
+            mismatches.add(what + ": recorded " + recorded + ", replayed " + replayed);
+        }
+    }
+}
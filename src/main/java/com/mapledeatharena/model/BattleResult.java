@@ -1,10 +1,25 @@
 package com.mapledeatharena.model;
 
+import com.mapledeatharena.engine.BattleLog;
+
 import java.util.List;
 
 public record BattleResult(
+        // Id in the battle history, 0 when history is disabled
+        long battleId,
         Character winner,
         Character loser,
-        List<String> battleLog
+        BattleLog log,
+        // Experience the winner gained
+        int experienceGained,
+        // HP the winner gained by levelling up after the battle: the log's closing line is from before it,
+        // the winner's current HP includes it
+        int healthPointsGained
 ) {
-}
\ No newline at end of file
+    /**
+     * Human-readable battle log, rendered on demand from the structured log
+     */
+    public List<String> battleLog() {
+        return log.render();
+    }
+}
@@ -1,16 +1,23 @@
 package com.mapledeatharena.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Character {
-    private String id;
+    // Numeric internally, still a JSON string on the wire
+    @JsonSerialize(using = ToStringSerializer.class)
+    private long id;
     private String name;
     private Job job;
 
@@ -28,14 +35,19 @@ public class Character {
     @Builder.Default
     private boolean alive = true;
 
-    // Future-proof: Level system - not implemented yet
+    // Progression - total experience and the level it reached, see Progression
     @Builder.Default
     private int level = 1;
+    private int experience;
+
+    // Derived from job and stats on first use; the setters below drop it whenever one of those changes
+    @Setter(AccessLevel.NONE)
+    private transient CombatProfile combatProfile;
 
     /**
      * Factory method to create a new character with job-based stats
      */
-    public static Character createNewCharacter(String id, String name, Job job) {
+    public static Character createNewCharacter(long id, String name, Job job) {
         Character character = Character.builder()
                 .id(id)
                 .name(name)
@@ -56,8 +68,89 @@ public class Character {
      * Calculate attack and speed modifiers based on current stats
      */
     public void calculateModifiers() {
-        this.attackModifier = job.calculateAttackModifier(strength, dexterity, intelligence);
-        this.speedModifier = job.calculateSpeedModifier(strength, dexterity, intelligence);
+        this.combatProfile = null;
+        CombatProfile profile = getCombatProfile();
+        this.attackModifier = profile.attackModifier();
+        this.speedModifier = profile.speedModifier();
+    }
+
+    /**
+     * Cached combat profile for the current job and stats
+     */
+    @JsonIgnore
+    public CombatProfile getCombatProfile() {
+        CombatProfile profile = combatProfile;
+        if (profile == null) {
+            profile = CombatProfiles.of(job, level, strength, dexterity, intelligence);
+            combatProfile = profile;
+        }
+        return profile;
+    }
+
+    public void setJob(Job job) {
+        this.job = job;
+        this.combatProfile = null;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+        this.combatProfile = null;
+    }
+
+    public void setDexterity(int dexterity) {
+        this.dexterity = dexterity;
+        this.combatProfile = null;
+    }
+
+    public void setIntelligence(int intelligence) {
+        this.intelligence = intelligence;
+        this.combatProfile = null;
+    }
+
+    /**
+     * Add experience and level up as far as it reaches. Each level-up adds the job's growth between the old and the
+     * new level to the stats and to both max and current HP; modifiers are only recomputed when a combat stat
+     * actually changed.
+     *
+     * @return the number of levels gained
+     */
+    public int gainExperience(int amount) {
+        int cap = Progression.experienceFor(Progression.MAX_LEVEL);
+        this.experience = (int) Math.min(cap, Math.max(0L, (long) experience + amount));
+
+        int previous = level;
+        int reached = Progression.levelFor(experience);
+        if (reached <= previous) {
+            return 0;
+        }
+
+        StatBlock from = Progression.stats(job, previous);
+        StatBlock to = Progression.stats(job, reached);
+        this.level = reached;
+
+        int healthPointsGained = to.healthPoints() - from.healthPoints();
+        this.maxHealthPoints += healthPointsGained;
+        if (alive) {
+            this.healthPoints += healthPointsGained;
+        }
+
+        boolean statsChanged = false;
+        if (to.strength() != from.strength()) {
+            this.strength += to.strength() - from.strength();
+            statsChanged = true;
+        }
+        if (to.dexterity() != from.dexterity()) {
+            this.dexterity += to.dexterity() - from.dexterity();
+            statsChanged = true;
+        }
+        if (to.intelligence() != from.intelligence()) {
+            this.intelligence += to.intelligence() - from.intelligence();
+            statsChanged = true;
+        }
+        if (statsChanged) {
+            calculateModifiers();
+        }
+        return reached - previous;
     }
 
     /**
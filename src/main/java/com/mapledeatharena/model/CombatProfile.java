@@ -0,0 +1,28 @@
+package com.mapledeatharena.model;
+
+/**
+ * Immutable battle view of a stat block: the job's attack and speed modifiers plus the integer roll bounds the engine
+ * draws from ({@code nextInt(bound)}, i.e. {@code (int) modifier + 1}). Obtained from {@link CombatProfiles}.
+ */
+public record CombatProfile(
+        Job job,
+        int strength,
+        int dexterity,
+        int intelligence,
+        double attackModifier,
+        double speedModifier,
+        int attackBound,
+        int speedBound
+) {
+    CombatProfile(Job job, int strength, int dexterity, int intelligence, double attackModifier, double speedModifier) {
+        this(job, strength, dexterity, intelligence, attackModifier, speedModifier,
+                (int) attackModifier + 1, (int) speedModifier + 1);
+    }
+
+    public boolean matches(Job job, int strength, int dexterity, int intelligence) {
+        return this.job == job
+                && this.strength == strength
+                && this.dexterity == dexterity
+                && this.intelligence == intelligence;
+    }
+}
@@ -0,0 +1,81 @@
+package com.mapledeatharena.model;
+
+/**
+ * Precomputed, immutable lookup of {@link CombatProfile}s.
+ * <p>
+ * Every job formula is a sum of one term per stat, evaluated strength, dexterity, intelligence from left to right, so
+ * each term is tabulated per stat value and a profile costs three array loads and two additions. Adding the terms in
+ * the same order reproduces {@link Job#calculateAttackModifier} and {@link Job#calculateSpeedModifier} bit for bit,
+ * which keeps seeds and stored replays valid. The profile of every job's stat block at every level of
+ * {@link Progression} is built once and shared. Stats outside {@code [0, MAX_STAT]} fall back to the formulas.
+ */
+public final class CombatProfiles {
+
+    public static final int MAX_STAT = 1023;
+
+    private static final int STRENGTH = 0;
+    private static final int DEXTERITY = 1;
+    private static final int INTELLIGENCE = 2;
+
+    // [job][stat][value] terms of the attack and speed modifiers
+    private static final double[][][] ATTACK_TERMS = new double[Job.values().length][3][MAX_STAT + 1];
+    private static final double[][][] SPEED_TERMS = new double[Job.values().length][3][MAX_STAT + 1];
+    private static final CombatProfile[][] LEVELS = new CombatProfile[Job.values().length][Progression.MAX_LEVEL + 1];
+
+    static {
+        for (Job job : Job.values()) {
+            int j = job.ordinal();
+            for (int value = 0; value <= MAX_STAT; value++) {
+                ATTACK_TERMS[j][STRENGTH][value] = job.calculateAttackModifier(value, 0, 0);
+                ATTACK_TERMS[j][DEXTERITY][value] = job.calculateAttackModifier(0, value, 0);
+                ATTACK_TERMS[j][INTELLIGENCE][value] = job.calculateAttackModifier(0, 0, value);
+                SPEED_TERMS[j][STRENGTH][value] = job.calculateSpeedModifier(value, 0, 0);
+                SPEED_TERMS[j][DEXTERITY][value] = job.calculateSpeedModifier(0, value, 0);
+                SPEED_TERMS[j][INTELLIGENCE][value] = job.calculateSpeedModifier(0, 0, value);
+            }
+            for (int level = 1; level <= Progression.MAX_LEVEL; level++) {
+                StatBlock stats = Progression.stats(job, level);
+                LEVELS[j][level] = compute(job, stats.strength(), stats.dexterity(), stats.intelligence());
+            }
+        }
+    }
+
+    private CombatProfiles() {
+    }
+
+    public static CombatProfile of(Job job, int strength, int dexterity, int intelligence) {
+        return of(job, 1, strength, dexterity, intelligence);
+    }
+
+    // The shared profile when the stats are the level's regular ones, otherwise a fresh one
+    public static CombatProfile of(Job job, int level, int strength, int dexterity, int intelligence) {
+        if (level >= 1 && level <= Progression.MAX_LEVEL) {
+            CombatProfile regular = LEVELS[job.ordinal()][level];
+            if (regular.matches(job, strength, dexterity, intelligence)) {
+                return regular;
+            }
+        }
+        return compute(job, strength, dexterity, intelligence);
+    }
+
+    public static CombatProfile base(Job job) {
+        return LEVELS[job.ordinal()][1];
+    }
+
+    private static CombatProfile compute(Job job, int strength, int dexterity, int intelligence) {
+        if (!inTable(strength) || !inTable(dexterity) || !inTable(intelligence)) {
+            return new CombatProfile(job, strength, dexterity, intelligence,
+                    job.calculateAttackModifier(strength, dexterity, intelligence),
+                    job.calculateSpeedModifier(strength, dexterity, intelligence));
+        }
+        double[][] attack = ATTACK_TERMS[job.ordinal()];
+        double[][] speed = SPEED_TERMS[job.ordinal()];
+        return new CombatProfile(job, strength, dexterity, intelligence,
+                attack[STRENGTH][strength] + attack[DEXTERITY][dexterity] + attack[INTELLIGENCE][intelligence],
+                speed[STRENGTH][strength] + speed[DEXTERITY][dexterity] + speed[INTELLIGENCE][intelligence]);
+    }
+
+    private static boolean inTable(int stat) {
+        return stat >= 0 && stat <= MAX_STAT;
+    }
+}
@@ -4,20 +4,31 @@ import lombok.Getter;
 
 @Getter
 public enum Job {
-    WARRIOR(20, 10, 5, 5),
-    THIEF(15, 4, 10, 4),
-    MAGE(12, 5, 6, 10);
+    WARRIOR(20, 10, 5, 5, 30, 15, 5, 2),
+    THIEF(15, 4, 10, 4, 20, 5, 15, 5),
+    MAGE(12, 5, 6, 10, 15, 3, 5, 15);
 
     private final int baseHealthPoints;
     private final int baseStrength;
     private final int baseDexterity;
     private final int baseIntelligence;
 
-    Job(int baseHealthPoints, int baseStrength, int baseDexterity, int baseIntelligence) {
+    // Stat growth per level, in tenths of a point (see Progression)
+    private final int healthPointsGrowth;
+    private final int strengthGrowth;
+    private final int dexterityGrowth;
+    private final int intelligenceGrowth;
+
+    Job(int baseHealthPoints, int baseStrength, int baseDexterity, int baseIntelligence,
+        int healthPointsGrowth, int strengthGrowth, int dexterityGrowth, int intelligenceGrowth) {
         this.baseHealthPoints = baseHealthPoints;
         this.baseStrength = baseStrength;
         this.baseDexterity = baseDexterity;
         this.baseIntelligence = baseIntelligence;
+        this.healthPointsGrowth = healthPointsGrowth;
+        this.strengthGrowth = strengthGrowth;
+        this.dexterityGrowth = dexterityGrowth;
+        this.intelligenceGrowth = intelligenceGrowth;
     }
 
     /**
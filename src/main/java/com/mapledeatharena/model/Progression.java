@@ -0,0 +1,78 @@
+package com.mapledeatharena.model;
+
+/**
+ * Levels, experience and per-job stat growth, all precomputed once into immutable tables.
+ * <p>
+ * Growth is given in tenths of a point per level and floored, so a stat that grows by 1.5 gains 1 and 2 on alternate
+ * levels and a level-up usually changes only some stats. {@link #stats(Job, int)} is the stat block - with
+ * {@code healthPoints} as max HP - a character of that job has at that level.
+ */
+public final class Progression {
+
+    public static final int MAX_LEVEL = 100;
+
+    // Cumulative experience needed to reach each level; index 0 unused, level 1 needs none
+    private static final int[] EXPERIENCE = new int[MAX_LEVEL + 1];
+    private static final StatBlock[][] STATS = new StatBlock[Job.values().length][MAX_LEVEL + 1];
+
+    static {
+        for (int level = 2; level <= MAX_LEVEL; level++) {
+            EXPERIENCE[level] = EXPERIENCE[level - 1] + experienceToNext(level - 1);
+        }
+        for (Job job : Job.values()) {
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                int gained = level - 1;
+                STATS[job.ordinal()][level] = new StatBlock(job,
+                        job.getBaseHealthPoints() + gained * job.getHealthPointsGrowth() / 10,
+                        job.getBaseStrength() + gained * job.getStrengthGrowth() / 10,
+                        job.getBaseDexterity() + gained * job.getDexterityGrowth() / 10,
+                        job.getBaseIntelligence() + gained * job.getIntelligenceGrowth() / 10);
+            }
+        }
+    }
+
+    private Progression() {
+    }
+
+    public static StatBlock stats(Job job, int level) {
+        return STATS[job.ordinal()][clamp(level)];
+    }
+
+    // Total experience needed to reach the level
+    public static int experienceFor(int level) {
+        return EXPERIENCE[clamp(level)];
+    }
+
+    // Highest level the total experience reaches
+    public static int levelFor(int experience) {
+        int low = 1;
+        int high = MAX_LEVEL;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (EXPERIENCE[mid] <= experience) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Experience for beating a character: more for higher-level opponents, scaled up to double for a stronger one
+     * and down to a quarter for a much weaker one.
+     */
+    public static int victoryExperience(int winnerLevel, int loserLevel) {
+        int base = 40 + 20 * clamp(loserLevel);
+        int gap = Math.max(-3, Math.min(4, loserLevel - winnerLevel));
+        return base * (4 + gap) / 4;
+    }
+
+    private static int experienceToNext(int level) {
+        return 100 + 25 * level * (level - 1);
+    }
+
+    private static int clamp(int level) {
+        return Math.max(1, Math.min(MAX_LEVEL, level));
+    }
+}
@@ -0,0 +1,46 @@
+package com.mapledeatharena.model;
+
+/**
+ * Immutable combat-relevant snapshot of a character: job, current HP and the three base stats.
+ * Equal stat blocks always fight the same way, which makes this a natural cache key.
+ */
+public record StatBlock(
+        Job job,
+        int healthPoints,
+        int strength,
+        int dexterity,
+        int intelligence
+) {
+    public static StatBlock of(Character character) {
+        return new StatBlock(
+                character.getJob(),
+                character.getHealthPoints(),
+                character.getStrength(),
+                character.getDexterity(),
+                character.getIntelligence()
+        );
+    }
+
+    // Stat block of a freshly created character of the given job
+    public static StatBlock base(Job job) {
+        return new StatBlock(
+                job,
+                job.getBaseHealthPoints(),
+                job.getBaseStrength(),
+                job.getBaseDexterity(),
+                job.getBaseIntelligence()
+        );
+    }
+
+    public CombatProfile combatProfile() {
+        return CombatProfiles.of(job, strength, dexterity, intelligence);
+    }
+
+    public double attackModifier() {
+        return combatProfile().attackModifier();
+    }
+
+    public double speedModifier() {
+        return combatProfile().speedModifier();
+    }
+}
@@ -0,0 +1,205 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.model.Character;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of character upserts with group commit.
+ * <p>
+ * Callers encode their record and enqueue it; a single writer thread drains whatever has queued up, writes the
+ * whole batch and issues one {@code fsync} for all of it. Under load many writers share each fsync, so durability
+ * costs roughly one disk flush per batch rather than per battle. The journal is split into numbered segments so
+ * snapshots can retire the ones they cover.
+ * <p>
+ * A failed write or fsync fails its whole batch, and the journal moves on to a new segment: part of a frame may
+ * already be in the old one, and recovery stops reading a segment at its first damaged frame, so anything appended
+ * after it there would be lost even though it was acknowledged.
+ */
+final class CharacterJournal implements AutoCloseable {
+
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    // A frame to append, or a request to start a new segment when frame is null
+    private record Entry(byte[] frame, CompletableFuture<Long> done) {}
+
+    // Opens a segment file for appending; replaced in tests to inject write failures
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private final Path directory;
+    private final SegmentOpener opener;
+    private final int maxBatch;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+
+    CharacterJournal(Path directory, long segment, int maxBatch) throws IOException {
+        this(directory, segment, maxBatch, path -> FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    CharacterJournal(Path directory, long segment, int maxBatch, SegmentOpener opener) throws IOException {
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.opener = opener;
+        openSegment(segment);
+        this.writer = Thread.ofPlatform().name("character-journal").daemon().start(this::run);
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("journal-%020d.log", segment));
+    }
+
+    /**
+     * Queue a character's current state. The future completes once the batch containing it has been fsynced.
+     * Blocks while the queue is full, which pushes back on writers if the disk cannot keep up.
+     */
+    CompletableFuture<Long> append(Character character) {
+        return enqueue(CharacterRecords.frame(character));
+    }
+
+    /**
+     * Close the current segment and continue in a new one. Everything appended before this call lands in older
+     * segments; the future yields the new segment number.
+     */
+    CompletableFuture<Long> rotate() {
+        return enqueue(null);
+    }
+
+    private CompletableFuture<Long> enqueue(byte[] frame) {
+        if (!running) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        Entry entry = new Entry(frame, new CompletableFuture<>());
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending to the journal", e);
+        }
+        return entry.done();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                batch.forEach(entry -> entry.done().completeExceptionally(e));
+                abandonSegment();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Write every frame of the batch, fsync once, then release the waiting callers
+    private void writeBatch(List<Entry> batch) throws IOException {
+        List<Entry> written = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (entry.frame() == null) {
+                flush();
+                complete(written);
+                openSegment(segment + 1);
+                entry.done().complete(segment);
+                continue;
+            }
+            if (buffer.remaining() < entry.frame().length) {
+                drain();
+            }
+            buffer.put(entry.frame());
+            segmentBytes += entry.frame().length;
+            written.add(entry);
+        }
+        flush();
+        complete(written);
+
+        if (segmentBytes >= MAX_SEGMENT_BYTES) {
+            openSegment(segment + 1);
+        }
+    }
+
+    // Drop whatever the failed batch left in the buffer and continue after the possibly torn segment. If the new
+    // segment cannot be opened either, the next batch fails on the closed channel and tries again.
+    private void abandonSegment() {
+        buffer.clear();
+        try {
+            openSegment(segment + 1);
+        } catch (IOException e) {
+            // Reported to the callers of the next batch
+        }
+    }
+
+    private void complete(List<Entry> written) {
+        for (Entry entry : written) {
+            entry.done().complete(segment);
+        }
+        written.clear();
+    }
+
+    private void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void openSegment(long number) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        channel = opener.open(segmentPath(directory, number));
+        segment = number;
+        segmentBytes = channel.size();
+    }
+
+    long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
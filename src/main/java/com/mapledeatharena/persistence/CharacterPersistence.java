@@ -0,0 +1,186 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.CharacterStoreListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional durability for the in-memory character store, enabled with {@code arena.persistence.enabled=true}.
+ * <p>
+ * Every create/update is appended to a write-ahead journal. With {@code sync: group} (default) the call returns only
+ * after the batch holding it has been fsynced, so an acknowledged battle survives a crash; {@code sync: async}
+ * returns immediately and may lose the last few milliseconds of writes. Snapshots are taken periodically and on
+ * shutdown; on startup the newest snapshot is loaded and the journal written after it is replayed. Registered
+ * {@link SnapshotListener}s save their own state with every snapshot.
+ */
+@Component
+@ConditionalOnProperty(name = "arena.persistence.enabled", havingValue = "true")
+public class CharacterPersistence implements CharacterStoreListener {
+
+    private final CharacterService characterService;
+    private final Path directory;
+    private final boolean groupSync;
+    private final int maxBatch;
+    private final long snapshotIntervalSeconds;
+
+    private final CharacterSnapshots snapshots;
+    // Snapshots wait on the journal writer and do file I/O; a lock rather than a monitor lets virtual threads unmount
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final List<SnapshotListener> snapshotListeners = new CopyOnWriteArrayList<>();
+    private CharacterJournal journal;
+    private ScheduledExecutorService scheduler;
+    private volatile Exception lastSnapshotFailure;
+
+    public CharacterPersistence(CharacterService characterService,
+                                @Value("${arena.persistence.directory:data}") String directory,
+                                @Value("${arena.persistence.sync:group}") String sync,
+                                @Value("${arena.persistence.max-batch:4096}") int maxBatch,
+                                @Value("${arena.persistence.snapshot-interval-seconds:300}") long snapshotIntervalSeconds) {
+        this.characterService = characterService;
+        this.directory = Path.of(directory);
+        this.groupSync = switch (sync.toLowerCase()) {
+            case "group" -> true;
+            case "async" -> false;
+            default -> throw new IllegalArgumentException("arena.persistence.sync must be one of: group, async");
+        };
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("arena.persistence.max-batch must be positive");
+        }
+        this.maxBatch = maxBatch;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.snapshots = new CharacterSnapshots(this.directory);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        long nextSegment = recover();
+
+        // Start a fresh segment rather than appending after a possibly torn tail
+        journal = new CharacterJournal(directory, nextSegment, maxBatch);
+        characterService.addListener(this);
+
+        if (snapshotIntervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("character-snapshot").daemon().factory());
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // Load the newest snapshot and replay the journal after it; returns the segment number to write next
+    long recover() throws IOException {
+        long firstSegment = 0;
+        OptionalLong latest = snapshots.latestSnapshot();
+        if (latest.isPresent()) {
+            firstSegment = latest.getAsLong();
+            snapshots.load(firstSegment, characterService::restore).ifPresent(characterService::advanceNextId);
+        }
+
+        long nextSegment = firstSegment;
+        for (long segment : snapshots.segments()) {
+            if (segment < firstSegment) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(
+                    CharacterJournal.segmentPath(directory, segment), StandardOpenOption.READ)) {
+                CharacterRecords.readAll(channel, characterService::restore);
+            }
+            nextSegment = segment + 1;
+        }
+        return nextSegment;
+    }
+
+    @Override
+    public void onSaved(Character character) {
+        CompletableFuture<Long> written = journal.append(character);
+        if (groupSync) {
+            try {
+                written.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Failed to journal character " + character.getId(), e.getCause());
+            }
+        }
+    }
+
+    // Register state to save with every snapshot, e.g. the rating ladder
+    public void addSnapshotListener(SnapshotListener listener) {
+        snapshotListeners.add(listener);
+    }
+
+    /**
+     * Take a snapshot now, drop the journal segments it covers and let the snapshot listeners save their state.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            // Everything saved before the rotation is in older segments and already visible in the store
+            long segment = journal.rotate().join();
+            long nextId = characterService.getNextId();
+
+            try (Stream<Character> characters = characterService.stream(CharacterFilter.NONE)) {
+                Iterator<Character> iterator = characters.iterator();
+                snapshots.write(segment, nextId, iterator);
+            }
+            snapshots.retireBefore(segment);
+
+            for (SnapshotListener listener : snapshotListeners) {
+                listener.onSnapshot();
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Never let a failure escape - that would cancel the schedule. The journal still holds everything.
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+            lastSnapshotFailure = null;
+        } catch (IOException | RuntimeException e) {
+            lastSnapshotFailure = e;
+        }
+    }
+
+    // Why the last scheduled snapshot failed, or null if it succeeded
+    public Exception getLastSnapshotFailure() {
+        return lastSnapshotFailure;
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        snapshot();
+        closeJournal();
+    }
+
+    // Stop writing without a final snapshot, as a crash would - leaves recovery to the journal
+    public void closeJournal() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,127 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding of a full character state, shared by the journal and snapshots.
+ * <p>
+ * Frame: {@code int payloadLength | payload | int crc32(payload)}. Payload: {@code long id, byte job, byte alive,
+ * short nameLength, name (UTF-8), int hp, int maxHp, int strength, int dexterity, int intelligence, int level,
+ * int experience}. Frames written before experience existed end after level and decode with none.
+ * Every frame is a complete upsert, so replaying a frame twice or over a newer snapshot is harmless.
+ */
+final class CharacterRecords {
+
+    static final int MAX_PAYLOAD = 1024;
+    private static final int READ_BUFFER = 1 << 20;
+
+    private CharacterRecords() {
+    }
+
+    static byte[] frame(Character character) {
+        byte[] name = character.getName().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 8 + 1 + 1 + 2 + name.length + 7 * 4;
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + payloadLength + 4);
+        buffer.putInt(payloadLength);
+        buffer.putLong(character.getId());
+        buffer.put((byte) character.getJob().ordinal());
+        buffer.put((byte) (character.isAlive() ? 1 : 0));
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putInt(character.getHealthPoints());
+        buffer.putInt(character.getMaxHealthPoints());
+        buffer.putInt(character.getStrength());
+        buffer.putInt(character.getDexterity());
+        buffer.putInt(character.getIntelligence());
+        buffer.putInt(character.getLevel());
+        buffer.putInt(character.getExperience());
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, payloadLength);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Decode every frame from the channel's current position. Stops quietly at the first truncated or corrupt frame,
+     * which is what a crash in the middle of a write leaves behind.
+     *
+     * @return the number of frames decoded
+     */
+    static long readAll(FileChannel channel, Consumer<Character> sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER);
+        buffer.flip();
+        byte[] payload = new byte[MAX_PAYLOAD];
+        CRC32 crc = new CRC32();
+        long count = 0;
+
+        while (true) {
+            if (!fill(channel, buffer, 4)) {
+                return count;
+            }
+            int payloadLength = buffer.getInt();
+            if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD || !fill(channel, buffer, payloadLength + 4)) {
+                return count;
+            }
+            buffer.get(payload, 0, payloadLength);
+            int storedCrc = buffer.getInt();
+
+            crc.reset();
+            crc.update(payload, 0, payloadLength);
+            if ((int) crc.getValue() != storedCrc) {
+                return count;
+            }
+            sink.accept(decode(ByteBuffer.wrap(payload, 0, payloadLength)));
+            count++;
+        }
+    }
+
+    private static Character decode(ByteBuffer payload) {
+        long id = payload.getLong();
+        Job job = Job.values()[payload.get()];
+        boolean alive = payload.get() == 1;
+        byte[] name = new byte[payload.getShort()];
+        payload.get(name);
+
+        Character character = Character.builder()
+                .id(id)
+                .name(new String(name, StandardCharsets.UTF_8))
+                .job(job)
+                .alive(alive)
+                .healthPoints(payload.getInt())
+                .maxHealthPoints(payload.getInt())
+                .strength(payload.getInt())
+                .dexterity(payload.getInt())
+                .intelligence(payload.getInt())
+                .level(payload.getInt())
+                .experience(payload.remaining() >= 4 ? payload.getInt() : 0)
+                .build();
+        character.calculateModifiers();
+        return character;
+    }
+
+    // Make sure at least n bytes are readable, refilling from the channel; false at end of data
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < n) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.model.Character;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time copies of the character store that bound how much journal a restart has to replay.
+ * <p>
+ * {@code snapshot-N.bin} holds a header ({@code int magic, int version, long nextId, long count}) followed by
+ * {@link CharacterRecords} frames, and covers every journal segment below N. Snapshots are written to a temporary
+ * file, fsynced and renamed into place, so a crash never leaves a half-written snapshot under its final name.
+ */
+final class CharacterSnapshots {
+
+    private static final int MAGIC = 0x4D444153; // "MDAS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d{20})\\.log");
+
+    private final Path directory;
+
+    CharacterSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    static Path snapshotPath(Path directory, long segment) {
+        return directory.resolve(String.format("snapshot-%020d.bin", segment));
+    }
+
+    /**
+     * Write a snapshot covering all journal segments below {@code segment}. The characters may keep changing while
+     * they are written - any change made after the journal rotated to {@code segment} is replayed from it on restart.
+     */
+    void write(long segment, long nextId, Iterator<Character> characters) throws IOException {
+        Path target = snapshotPath(directory, segment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+            buffer.position(HEADER_BYTES);
+            long count = 0;
+
+            while (characters.hasNext()) {
+                byte[] frame = CharacterRecords.frame(characters.next());
+                if (buffer.remaining() < frame.length) {
+                    drain(channel, buffer);
+                }
+                buffer.put(frame);
+                count++;
+            }
+            drain(channel, buffer);
+
+            // Header last, once the count is known
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putLong(nextId).putLong(count)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load the newest snapshot into the sink.
+     *
+     * @return the snapshot's {@code nextId}, or empty when there is no snapshot yet
+     */
+    OptionalLong load(long segment, Consumer<Character> sink) throws IOException {
+        Path path = snapshotPath(directory, segment);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException("Not a character snapshot: " + path);
+            }
+            long nextId = header.getLong();
+            long count = header.getLong();
+
+            long read = CharacterRecords.readAll(channel, sink);
+            if (read != count) {
+                throw new IllegalStateException(
+                        "Snapshot " + path + " is damaged: expected " + count + " characters, found " + read);
+            }
+            return OptionalLong.of(nextId);
+        }
+    }
+
+    OptionalLong latestSnapshot() throws IOException {
+        return numbers(SNAPSHOT).stream().mapToLong(Long::longValue).max();
+    }
+
+    List<Long> segments() throws IOException {
+        return numbers(SEGMENT);
+    }
+
+    // Drop snapshots and journal segments that the snapshot for 'segment' makes redundant
+    void retireBefore(long segment) throws IOException {
+        for (long number : numbers(SNAPSHOT)) {
+            if (number < segment) {
+                Files.deleteIfExists(snapshotPath(directory, number));
+            }
+        }
+        for (long number : numbers(SEGMENT)) {
+            if (number < segment) {
+                Files.deleteIfExists(CharacterJournal.segmentPath(directory, number));
+            }
+        }
+    }
+
+    private List<Long> numbers(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,358 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.service.CharacterStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Character store kept off-heap in memory-mapped files, so millions of characters cost the GC nothing.
+ * <p>
+ * {@code characters.table} holds one fixed-width record per id at {@code id * RECORD_BYTES}; slot 0 is the header.
+ * Names live in the append-only {@code characters.names} area and records point into it. Reopening the directory
+ * remaps both files and every character is back. Writes reach the page cache immediately and the disk when the OS
+ * flushes or on {@link #close()}; combine with the journal for crash durability.
+ * <p>
+ * Record layout (big-endian):
+ * <pre>
+ *   0   int   state     present (bit 0) | alive (bit 1) | job ordinal (bits 8..15) | name length (bits 16..31)
+ *   4   int   healthPoints, maxHealthPoints, strength, dexterity, intelligence, level, experience
+ *   32  long  name offset in the names area
+ *   40  int   sequence  odd while the record is being written
+ * </pre>
+ * Readers take no lock; the sequence word makes each record a seqlock. A writer makes it odd, writes the fields
+ * and makes it even again with release semantics, and a reader retries until it reads the same even sequence before
+ * and after the fields - so an update rewriting a record in place is never seen half done. Writes to one id are
+ * never concurrent: {@link com.mapledeatharena.service.CharacterService} holds the character's lock around them.
+ * {@link #get} returns a new {@link Character} every time; modifiers are recomputed from the stats instead of being
+ * stored.
+ */
+public final class MappedCharacterStore implements CharacterStore {
+
+    static final int RECORD_BYTES = 48;
+    static final int TABLE_CHUNK_RECORDS = 1 << 20;
+    static final int NAME_CHUNK_BYTES = 1 << 26;
+
+    private static final int MAGIC = 0x4D444154; // "MDAT"
+    private static final int VERSION = 2;
+    private static final int HEADER_HIGHEST_ID = 8;
+    private static final int HEADER_NAME_END = 16;
+
+    private static final int STATE = 0;
+    private static final int HEALTH_POINTS = 4;
+    private static final int MAX_HEALTH_POINTS = 8;
+    private static final int STRENGTH = 12;
+    private static final int DEXTERITY = 16;
+    private static final int INTELLIGENCE = 20;
+    private static final int LEVEL = 24;
+    private static final int EXPERIENCE = 28;
+    private static final int NAME_OFFSET = 32;
+    private static final int SEQUENCE = 40;
+
+    private static final int PRESENT = 1;
+    private static final int ALIVE = 2;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final Job[] JOBS = Job.values();
+
+    private final FileChannel table;
+    private final FileChannel names;
+    private volatile MappedByteBuffer[] tableChunks = new MappedByteBuffer[0];
+    private volatile MappedByteBuffer[] nameChunks = new MappedByteBuffer[0];
+
+    // Guards appends, header updates and remapping. Not a monitor: mapping a chunk can block on I/O, and a virtual
+    // thread holding a monitor across that would pin its carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile long highestId;
+    private long nameEnd;
+
+    public MappedCharacterStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.table = FileChannel.open(directory.resolve("characters.table"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.names = FileChannel.open(directory.resolve("characters.names"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        boolean fresh = table.size() == 0;
+        MappedByteBuffer header = tableChunk(0);
+        if (fresh) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a character table: " + directory.resolve("characters.table"));
+        }
+        this.highestId = header.getLong(HEADER_HIGHEST_ID);
+        this.nameEnd = header.getLong(HEADER_NAME_END);
+    }
+
+    @Override
+    public Character get(long id) {
+        if (id <= 0 || id > highestId) {
+            return null;
+        }
+        MappedByteBuffer chunk = tableChunk(chunkOf(id));
+        int offset = offsetOf(id);
+
+        int state;
+        int healthPoints;
+        int maxHealthPoints;
+        int strength;
+        int dexterity;
+        int intelligence;
+        int level;
+        int experience;
+        long nameOffset;
+        while (true) {
+            int sequence = (int) INT.getAcquire(chunk, offset + SEQUENCE);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            state = chunk.getInt(offset + STATE);
+            healthPoints = chunk.getInt(offset + HEALTH_POINTS);
+            maxHealthPoints = chunk.getInt(offset + MAX_HEALTH_POINTS);
+            strength = chunk.getInt(offset + STRENGTH);
+            dexterity = chunk.getInt(offset + DEXTERITY);
+            intelligence = chunk.getInt(offset + INTELLIGENCE);
+            level = chunk.getInt(offset + LEVEL);
+            experience = chunk.getInt(offset + EXPERIENCE);
+            nameOffset = chunk.getLong(offset + NAME_OFFSET);
+            // Field reads may not drift past the second sequence read
+            VarHandle.loadLoadFence();
+            if ((int) INT.get(chunk, offset + SEQUENCE) == sequence) {
+                break;
+            }
+        }
+        if ((state & PRESENT) == 0) {
+            return null;
+        }
+
+        // Names are append-only, so the bytes behind a consistent offset never change
+        Character character = Character.builder()
+                .id(id)
+                .name(readName(nameOffset, state >>> 16))
+                .job(JOBS[(state >>> 8) & 0xFF])
+                .alive((state & ALIVE) != 0)
+                .healthPoints(healthPoints)
+                .maxHealthPoints(maxHealthPoints)
+                .strength(strength)
+                .dexterity(dexterity)
+                .intelligence(intelligence)
+                .level(level)
+                .experience(experience)
+                .build();
+        character.calculateModifiers();
+        return character;
+    }
+
+    @Override
+    public void put(Character character) {
+        long id = character.getId();
+        if (id <= 0) {
+            throw new IllegalArgumentException("Character id must be positive: " + id);
+        }
+        byte[] name = character.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Character name too long");
+        }
+
+        MappedByteBuffer chunk = tableChunk(chunkOf(id));
+        int offset = offsetOf(id);
+        // Only this thread writes the record, so its own reads need no seqlock
+        int previous = chunk.getInt(offset + STATE);
+
+        // Names never change in practice, so the stored copy is almost always reused
+        long nameOffset = chunk.getLong(offset + NAME_OFFSET);
+        if ((previous & PRESENT) == 0 || !sameName(nameOffset, previous >>> 16, name)) {
+            nameOffset = appendName(name);
+        }
+
+        int sequence = chunk.getInt(offset + SEQUENCE);
+        INT.setOpaque(chunk, offset + SEQUENCE, sequence + 1);
+        // The odd sequence must be visible before any field changes
+        VarHandle.storeStoreFence();
+
+        chunk.putInt(offset + HEALTH_POINTS, character.getHealthPoints());
+        chunk.putInt(offset + MAX_HEALTH_POINTS, character.getMaxHealthPoints());
+        chunk.putInt(offset + STRENGTH, character.getStrength());
+        chunk.putInt(offset + DEXTERITY, character.getDexterity());
+        chunk.putInt(offset + INTELLIGENCE, character.getIntelligence());
+        chunk.putInt(offset + LEVEL, character.getLevel());
+        chunk.putInt(offset + EXPERIENCE, character.getExperience());
+        chunk.putLong(offset + NAME_OFFSET, nameOffset);
+
+        int state = PRESENT
+                | (character.isAlive() ? ALIVE : 0)
+                | character.getJob().ordinal() << 8
+                | name.length << 16;
+        chunk.putInt(offset + STATE, state);
+        INT.setRelease(chunk, offset + SEQUENCE, sequence + 2);
+
+        if (id > highestId) {
+            raiseHighestId(id);
+        }
+    }
+
+    @Override
+    public Stream<Character> stream() {
+        return LongStream.rangeClosed(1, highestId).mapToObj(this::get).filter(Objects::nonNull);
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            // A single-word write: readers see the record whole or gone, so the sequence can stay as it is
+            for (long id = 1; id <= highestId; id++) {
+                INT.setRelease(tableChunk(chunkOf(id)), offsetOf(id) + STATE, 0);
+            }
+            highestId = 0;
+            nameEnd = 0;
+            MappedByteBuffer header = tableChunk(0);
+            header.putLong(HEADER_HIGHEST_ID, 0);
+            header.putLong(HEADER_NAME_END, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Flush dirty pages to disk and release the files
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            for (MappedByteBuffer chunk : tableChunks) {
+                chunk.force();
+            }
+            for (MappedByteBuffer chunk : nameChunks) {
+                chunk.force();
+            }
+            table.close();
+            names.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void raiseHighestId(long id) {
+        lock.lock();
+        try {
+            if (id > highestId) {
+                tableChunk(0).putLong(HEADER_HIGHEST_ID, id);
+                highestId = id;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Names never straddle a chunk: one that does not fit starts the next chunk
+    private long appendName(byte[] name) {
+        lock.lock();
+        try {
+            long start = nameEnd;
+            if (start % NAME_CHUNK_BYTES + name.length > NAME_CHUNK_BYTES) {
+                start = (start / NAME_CHUNK_BYTES + 1) * NAME_CHUNK_BYTES;
+            }
+            nameChunk((int) (start / NAME_CHUNK_BYTES)).put((int) (start % NAME_CHUNK_BYTES), name);
+            nameEnd = start + name.length;
+            tableChunk(0).putLong(HEADER_NAME_END, nameEnd);
+            return start;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String readName(long offset, int length) {
+        return new String(readNameBytes(offset, length), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readNameBytes(long offset, int length) {
+        byte[] name = new byte[length];
+        nameChunk((int) (offset / NAME_CHUNK_BYTES)).get((int) (offset % NAME_CHUNK_BYTES), name);
+        return name;
+    }
+
+    private boolean sameName(long offset, int length, byte[] name) {
+        return length == name.length && Arrays.equals(readNameBytes(offset, length), name);
+    }
+
+    private static int chunkOf(long id) {
+        return (int) (id / TABLE_CHUNK_RECORDS);
+    }
+
+    private static int offsetOf(long id) {
+        return (int) (id % TABLE_CHUNK_RECORDS) * RECORD_BYTES;
+    }
+
+    private MappedByteBuffer tableChunk(int index) {
+        MappedByteBuffer[] chunks = tableChunks;
+        if (index < chunks.length) {
+            return chunks[index];
+        }
+        return mapTableChunks(index);
+    }
+
+    private MappedByteBuffer nameChunk(int index) {
+        MappedByteBuffer[] chunks = nameChunks;
+        if (index < chunks.length) {
+            return chunks[index];
+        }
+        return mapNameChunks(index);
+    }
+
+    private MappedByteBuffer mapTableChunks(int index) {
+        lock.lock();
+        try {
+            tableChunks = map(table, tableChunks, index, (long) TABLE_CHUNK_RECORDS * RECORD_BYTES);
+            return tableChunks[index];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MappedByteBuffer mapNameChunks(int index) {
+        lock.lock();
+        try {
+            nameChunks = map(names, nameChunks, index, NAME_CHUNK_BYTES);
+            return nameChunks[index];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Map every chunk up to index; mapping past the end grows the (sparse) file
+    private static MappedByteBuffer[] map(FileChannel channel, MappedByteBuffer[] chunks, int index, long chunkBytes) {
+        if (index < chunks.length) {
+            return chunks;
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(chunks, index + 1);
+        try {
+            for (int i = chunks.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * chunkBytes, chunkBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return grown;
+    }
+}
@@ -0,0 +1,163 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.service.RatingLadder;
+import com.mapledeatharena.service.RatingLadder.Rating;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Saves the rating ladder next to the character snapshots, enabled with {@code arena.persistence.enabled=true}.
+ * <p>
+ * {@code ratings.bin} holds a header ({@code int magic, int version, long battles, long count}) followed by one
+ * {@code long characterId, int rating, int battles} entry per rated character. It is rewritten with every
+ * {@link CharacterPersistence} snapshot - on its interval and on shutdown - through a temporary file that is fsynced
+ * and renamed into place, and loaded on startup. Ratings are not journaled: after a crash they lag the characters
+ * by up to one interval, and {@code POST /api/ratings/rebuild} recovers what the battle history still holds.
+ */
+@Component
+@ConditionalOnProperty(name = "arena.persistence.enabled", havingValue = "true")
+public class RatingPersistence implements SnapshotListener {
+
+    private static final int MAGIC = 0x4D444152; // "MDAR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8;
+    private static final int ENTRY_BYTES = 8 + 4 + 4;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private final RatingLadder ratingLadder;
+    private final CharacterPersistence characterPersistence;
+    private final Path directory;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    public RatingPersistence(RatingLadder ratingLadder, CharacterPersistence characterPersistence,
+                             @Value("${arena.persistence.directory:data}") String directory) {
+        this.ratingLadder = ratingLadder;
+        this.characterPersistence = characterPersistence;
+        this.directory = Path.of(directory);
+    }
+
+    static Path ratingsPath(Path directory) {
+        return directory.resolve("ratings.bin");
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        recover();
+        characterPersistence.addSnapshotListener(this);
+    }
+
+    // Load the saved ladder, if there is one; returns whether there was
+    boolean recover() throws IOException {
+        Path path = ratingsPath(directory);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, HEADER_BYTES);
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException("Not a rating snapshot: " + path);
+            }
+            long battles = header.getLong();
+            long count = header.getLong();
+
+            List<Rating> ratings = new ArrayList<>((int) Math.min(count, Integer.MAX_VALUE - 8));
+            int batch = WRITE_BUFFER / ENTRY_BYTES;
+            while (ratings.size() < count) {
+                int entries = (int) Math.min(batch, count - ratings.size());
+                ByteBuffer buffer = read(channel, entries * ENTRY_BYTES);
+                while (buffer.remaining() >= ENTRY_BYTES) {
+                    ratings.add(new Rating(buffer.getLong(), buffer.getInt(), buffer.getInt()));
+                }
+                if (buffer.limit() < entries * ENTRY_BYTES) {
+                    break;
+                }
+            }
+            if (ratings.size() != count) {
+                throw new IllegalStateException(
+                        "Rating snapshot " + path + " is damaged: expected " + count + " ratings, found " + ratings.size());
+            }
+            ratingLadder.restore(ratings, battles);
+            return true;
+        }
+    }
+
+    /**
+     * Save the ladder now. Battles that finish while it is written may or may not be in it.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            Path target = ratingsPath(directory);
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            long battles = ratingLadder.battles();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Stream<Rating> ratings = ratingLadder.ratings()) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER);
+                buffer.position(HEADER_BYTES);
+                long count = 0;
+
+                Iterator<Rating> iterator = ratings.iterator();
+                while (iterator.hasNext()) {
+                    Rating rating = iterator.next();
+                    if (buffer.remaining() < ENTRY_BYTES) {
+                        drain(channel, buffer);
+                    }
+                    buffer.putLong(rating.characterId()).putInt(rating.rating()).putInt(rating.battles());
+                    count++;
+                }
+                drain(channel, buffer);
+
+                // Header last, once the count is known
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(VERSION).putLong(battles).putLong(count)
+                        .flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // A failure reaches CharacterPersistence.getLastSnapshotFailure; the previous file stays in place
+    @Override
+    public void onSnapshot() throws IOException {
+        snapshot();
+    }
+
+    private static ByteBuffer read(FileChannel channel, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading
+        }
+        return buffer.flip();
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
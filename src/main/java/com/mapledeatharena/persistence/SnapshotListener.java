@@ -0,0 +1,14 @@
+package com.mapledeatharena.persistence;
+
+import java.io.IOException;
+
+/**
+ * Saves more state alongside every {@link CharacterPersistence} snapshot, so it shares the character snapshot
+ * schedule and the final snapshot on shutdown. Called while the snapshot lock is held, after the characters are
+ * written.
+ */
+@FunctionalInterface
+public interface SnapshotListener {
+
+    void onSnapshot() throws IOException;
+}
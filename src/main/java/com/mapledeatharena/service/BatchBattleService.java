@@ -0,0 +1,100 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleRequest;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.dto.BatchBattleResult;
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.model.BattleResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class BatchBattleService {
+
+    private final BattleService battleService;
+    private final ExecutorService battleExecutor;
+
+    public BatchBattleService(BattleService battleService,
+                              @Qualifier("battleExecutor") ExecutorService battleExecutor) {
+        this.battleService = battleService;
+        this.battleExecutor = battleExecutor;
+    }
+
+    /**
+     * Start every battle of a batch. Pairs that reuse a character from an earlier pair are rejected as conflicts,
+     * so the battles that do run are character-disjoint and never wait on each other's locks.
+     *
+     * @return one future per submitted pair, in submission order
+     */
+    public List<CompletableFuture<BatchBattleResult>> submit(List<BattleRequest> battles, BattleLogDetail logDetail) {
+        Map<Long, Integer> claimedBy = new HashMap<>();
+        List<CompletableFuture<BatchBattleResult>> results = new ArrayList<>(battles.size());
+
+        for (int i = 0; i < battles.size(); i++) {
+            int index = i;
+            BattleRequest request = battles.get(i);
+
+            long attackerId;
+            long defenderId;
+            try {
+                attackerId = CharacterIds.parse(request.attackerId());
+                defenderId = CharacterIds.parse(request.defenderId());
+            } catch (IllegalArgumentException e) {
+                results.add(CompletableFuture.completedFuture(BatchBattleResult.error(
+                        index, request, BatchBattleResult.Status.NOT_FOUND, e.getMessage()
+                )));
+                continue;
+            }
+
+            Integer conflict = claim(claimedBy, attackerId, defenderId, index);
+            if (conflict != null) {
+                results.add(CompletableFuture.completedFuture(BatchBattleResult.error(
+                        index, request, BatchBattleResult.Status.CONFLICT,
+                        "A participant already fights in battle " + conflict + " of this batch"
+                )));
+                continue;
+            }
+
+            results.add(CompletableFuture.supplyAsync(() -> run(index, request, attackerId, defenderId, logDetail), battleExecutor));
+        }
+
+        return results;
+    }
+
+    // Claim both characters for this pair; returns the index of an earlier pair holding either one, if any
+    private Integer claim(Map<Long, Integer> claimedBy, long attackerId, long defenderId, int index) {
+        Integer attackerClaim = claimedBy.get(attackerId);
+        if (attackerClaim != null) {
+            return attackerClaim;
+        }
+        Integer defenderClaim = claimedBy.get(defenderId);
+        if (defenderClaim != null) {
+            return defenderClaim;
+        }
+        claimedBy.put(attackerId, index);
+        claimedBy.put(defenderId, index);
+        return null;
+    }
+
+    private BatchBattleResult run(int index, BattleRequest request, long attackerId, long defenderId,
+                                  BattleLogDetail logDetail) {
+        try {
+            BattleResult result = battleService.executeBattle(attackerId, defenderId);
+            return BatchBattleResult.ok(index, request, BattleResponse.from(result, logDetail));
+        } catch (IllegalArgumentException e) {
+            return BatchBattleResult.error(index, request, BatchBattleResult.Status.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return BatchBattleResult.error(index, request, BatchBattleResult.Status.REJECTED, e.getMessage());
+        } catch (RuntimeException e) {
+            return BatchBattleResult.error(index, request, BatchBattleResult.Status.FAILED, e.getMessage());
+        }
+    }
+}
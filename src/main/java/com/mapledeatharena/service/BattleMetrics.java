@@ -0,0 +1,105 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for {@link BattleService#executeBattle}.
+ * <p>
+ * Win and loss counters per job are exact. Latency, rounds and log size go into histograms for one battle in
+ * {@code arena.metrics.sample-interval} - a battle takes a couple of microseconds, and timing plus three histogram
+ * updates on every one of them would cost several percent. Sampling keeps the shape of the distributions; their
+ * {@code _count} is the number of sampled battles, the outcome counters give the real total.
+ */
+@Component
+public class BattleMetrics {
+
+    // Start time for battles that are not sampled
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    static final BattleMetrics NONE = new BattleMetrics();
+
+    private final int sampleInterval;
+    private final Timer duration;
+    private final DistributionSummary rounds;
+    private final DistributionSummary logEvents;
+    // Indexed by job ordinal
+    private final Counter[] wins;
+    private final Counter[] losses;
+
+    private BattleMetrics() {
+        this.sampleInterval = 0;
+        this.duration = null;
+        this.rounds = null;
+        this.logEvents = null;
+        this.wins = null;
+        this.losses = null;
+    }
+
+    @Autowired
+    public BattleMetrics(MeterRegistry meterRegistry,
+                         @Value("${arena.metrics.sample-interval:16}") int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("arena.metrics.sample-interval must be at least 1");
+        }
+        this.sampleInterval = sampleInterval;
+        this.duration = Timer.builder("arena.battle.duration")
+                .description("executeBattle latency, including waiting for the characters' locks (sampled)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rounds = DistributionSummary.builder("arena.battle.rounds")
+                .description("Rounds per battle (sampled)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.logEvents = DistributionSummary.builder("arena.battle.log.events")
+                .description("Entries in the battle log: speed rolls and attacks (sampled)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        Job[] jobs = Job.values();
+        this.wins = new Counter[jobs.length];
+        this.losses = new Counter[jobs.length];
+        for (Job job : jobs) {
+            wins[job.ordinal()] = Counter.builder("arena.battle.outcomes")
+                    .tag("job", job.name())
+                    .tag("outcome", "win")
+                    .register(meterRegistry);
+            losses[job.ordinal()] = Counter.builder("arena.battle.outcomes")
+                    .tag("job", job.name())
+                    .tag("outcome", "loss")
+                    .register(meterRegistry);
+        }
+    }
+
+    // Start time of a sampled battle, or NOT_SAMPLED
+    long start() {
+        if (sampleInterval == 0 || (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0)) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    void record(BattleResult result, long start) {
+        if (wins == null) {
+            return;
+        }
+        wins[result.winner().getJob().ordinal()].increment();
+        losses[result.loser().getJob().ordinal()].increment();
+
+        if (start != NOT_SAMPLED) {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rounds.record(result.log().rounds());
+            logEvents.record(result.log().eventCount());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.model.BattleResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Battles submitted without waiting for the result.
+ * <p>
+ * {@link #submit} puts a {@link BattleTicket} on a bounded queue and returns at once; a fixed set of virtual-thread
+ * workers takes tickets off the queue, runs the battle and renders its response. When the queue is full the
+ * submission is rejected rather than queued - callers get backpressure instead of unbounded latency. Finished
+ * tickets stay available for {@code arena.battle-queue.result-ttl-seconds}.
+ */
+@Service
+public class BattleQueue {
+
+    private final BattleService battleService;
+    private final BlockingQueue<BattleTicket> queue;
+    private final int capacity;
+    private final int workerCount;
+    private final long resultTtlMillis;
+
+    private final Map<Long, BattleTicket> tickets = new ConcurrentHashMap<>();
+    // Finished tickets in completion order, so expiry only ever looks at the head
+    private final Queue<BattleTicket> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextTicketId = new AtomicLong();
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public BattleQueue(BattleService battleService,
+                       MeterRegistry meterRegistry,
+                       @Value("${arena.battle-queue.capacity:1024}") int capacity,
+                       @Value("${arena.battle-queue.workers:64}") int workers,
+                       @Value("${arena.battle-queue.result-ttl-seconds:300}") long resultTtlSeconds) {
+        if (capacity < 1 || workers < 1) {
+            throw new IllegalArgumentException("arena.battle-queue.capacity and workers must be at least 1");
+        }
+        this.battleService = battleService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.workerCount = workers;
+        this.resultTtlMillis = TimeUnit.SECONDS.toMillis(resultTtlSeconds);
+
+        Gauge.builder("arena.battle.queue.depth", queue, BlockingQueue::size)
+                .description("Battles waiting for a worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("arena.battle.queue.wait")
+                .description("Time from submission until a worker starts the battle")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("arena.battle.queue.rejected")
+                .description("Submissions turned away because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(Thread.ofVirtual().name("battle-queue-", i).start(this::work));
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            running = false;
+            workers.forEach(Thread::interrupt);
+            for (Thread worker : workers) {
+                try {
+                    worker.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            workers.clear();
+        } finally {
+            lifecycleLock.unlock();
+        }
+
+        // Nobody will run what is still queued
+        BattleTicket ticket;
+        while ((ticket = queue.poll()) != null) {
+            ticket.complete(BattleTicket.Status.FAILED, null, "Server is shutting down");
+        }
+    }
+
+    /**
+     * Queue a battle.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public BattleTicket submit(long attackerId, long defenderId, BattleLogDetail logDetail) {
+        expireFinished(System.currentTimeMillis());
+
+        BattleTicket ticket = new BattleTicket(nextTicketId.incrementAndGet(), attackerId, defenderId, logDetail);
+        // Registered first, so the ticket can be looked up however quickly a worker finishes it
+        tickets.put(ticket.id(), ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.id());
+            rejected.increment();
+            throw new RejectedExecutionException("Battle queue is full (" + capacity + " battles waiting)");
+        }
+        return ticket;
+    }
+
+    public Optional<BattleTicket> find(long ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    private void work() {
+        while (running) {
+            BattleTicket ticket;
+            try {
+                ticket = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            run(ticket);
+            finished.add(ticket);
+            expireFinished(System.currentTimeMillis());
+        }
+    }
+
+    private void run(BattleTicket ticket) {
+        waitTimer.record(System.nanoTime() - ticket.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        ticket.start();
+        try {
+            BattleResult result = battleService.executeBattle(ticket.attackerId(), ticket.defenderId());
+            ticket.complete(BattleTicket.Status.OK, BattleResponse.from(result, ticket.logDetail()), null);
+        } catch (IllegalArgumentException e) {
+            ticket.complete(BattleTicket.Status.NOT_FOUND, null, e.getMessage());
+        } catch (IllegalStateException e) {
+            ticket.complete(BattleTicket.Status.REJECTED, null, e.getMessage());
+        } catch (RuntimeException e) {
+            ticket.complete(BattleTicket.Status.FAILED, null, e.getMessage());
+        }
+    }
+
+    private void expireFinished(long now) {
+        BattleTicket oldest;
+        while ((oldest = finished.peek()) != null && oldest.completedAtMillis() + resultTtlMillis <= now) {
+            if (finished.remove(oldest)) {
+                tickets.remove(oldest.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleRoyaleRequest;
+import com.mapledeatharena.dto.BattleRoyaleResponse;
+import com.mapledeatharena.dto.BattleRoyaleStanding;
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.engine.RoyaleEngine;
+import com.mapledeatharena.engine.SplitMix64;
+import com.mapledeatharena.engine.TargetPolicy;
+import com.mapledeatharena.model.Character;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only battle royale between stored characters. Combatants enter with their current HP and fight on a
+ * snapshot in a {@link RoyaleEngine}; like tournaments, nothing is written back to the characters, the ratings or
+ * the battle history.
+ */
+@Service
+public class BattleRoyaleService {
+
+    // Standings returned, best placed first
+    static final int STANDINGS = 16;
+
+    private static final CharacterFilter ALIVE = new CharacterFilter(null, true, null, null);
+
+    private final CharacterService characterService;
+    private final int maxCombatants;
+
+    public BattleRoyaleService(CharacterService characterService,
+                               @Value("${arena.royale.max-combatants:100000}") int maxCombatants) {
+        this.characterService = characterService;
+        this.maxCombatants = maxCombatants;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a combatant is missing or listed twice, there are too many, or the
+     *                                  policy is unknown
+     * @throws IllegalStateException    if a combatant is dead or fewer than two are left to fight
+     */
+    public BattleRoyaleResponse run(BattleRoyaleRequest request) {
+        TargetPolicy policy = TargetPolicy.parse(request.targetPolicy());
+        String policyName = request.targetPolicy() == null || request.targetPolicy().isBlank()
+                ? "random" : request.targetPolicy().trim().toLowerCase(Locale.ROOT);
+
+        List<Character> combatants = snapshot(request.characterIds());
+        if (combatants.size() < 2) {
+            throw new IllegalStateException("A battle royale needs at least 2 alive characters");
+        }
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        long started = System.nanoTime();
+
+        RoyaleEngine arena = new RoyaleEngine(combatants.size());
+        for (int slot = 0; slot < combatants.size(); slot++) {
+            Character character = combatants.get(slot);
+            arena.load(slot, character.getHealthPoints(), character.getCombatProfile());
+        }
+        int winner = arena.fight(policy, new SplitMix64(seed));
+
+        int count = Math.min(STANDINGS, combatants.size());
+        List<BattleRoyaleStanding> standings = new ArrayList<>(count);
+        for (int place = 1; place <= count; place++) {
+            standings.add(standing(arena, combatants, arena.slotAtPlace(place)));
+        }
+
+        return new BattleRoyaleResponse(
+                combatants.size(),
+                policyName,
+                arena.rounds(),
+                arena.turns(),
+                standing(arena, combatants, winner),
+                standings,
+                seed,
+                (System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    // Listed combatants in the order given, or every alive character in id order
+    private List<Character> snapshot(List<String> characterIds) {
+        if (characterIds == null || characterIds.isEmpty()) {
+            List<Character> combatants = characterService.stream(ALIVE)
+                    .limit(maxCombatants + 1L)
+                    .sorted(Comparator.comparingLong(Character::getId))
+                    .toList();
+            checkSize(combatants.size());
+            return combatants;
+        }
+
+        checkSize(characterIds.size());
+        List<Character> combatants = new ArrayList<>(characterIds.size());
+        Set<Long> seen = new HashSet<>(characterIds.size() * 2);
+        for (String characterId : characterIds) {
+            long id = CharacterIds.parse(characterId);
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Character with ID " + id + " is entered twice");
+            }
+            Character character = characterService.getById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Character with ID " + id + " not found"));
+            if (character.isDead()) {
+                throw new IllegalStateException("Character " + character.getName() + " is already dead");
+            }
+            combatants.add(character);
+        }
+        return combatants;
+    }
+
+    private void checkSize(int combatants) {
+        if (combatants > maxCombatants) {
+            throw new IllegalArgumentException("A battle royale takes at most " + maxCombatants + " combatants");
+        }
+    }
+
+    private static BattleRoyaleStanding standing(RoyaleEngine arena, List<Character> combatants, int slot) {
+        Character character = combatants.get(slot);
+        int eliminatedBy = arena.eliminatedBy(slot);
+        return new BattleRoyaleStanding(
+                arena.placement(slot),
+                String.valueOf(character.getId()),
+                character.getName(),
+                character.getJob().name(),
+                arena.healthPoints(slot),
+                arena.kills(slot),
+                arena.damageDealt(slot),
+                eliminatedBy == RoyaleEngine.NONE ? null : arena.eliminatedRound(slot),
+                eliminatedBy == RoyaleEngine.NONE ? null : String.valueOf(combatants.get(eliminatedBy).getId())
+        );
+    }
+}
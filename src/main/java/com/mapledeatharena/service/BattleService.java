@@ -1,124 +1,158 @@
 package com.mapledeatharena.service;
 
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.engine.BattleRandomProvider;
+import com.mapledeatharena.engine.ReplayableRandomProvider;
+import com.mapledeatharena.history.BattleRecord;
+import com.mapledeatharena.history.BattleRecorder;
 import com.mapledeatharena.model.BattleResult;
 import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 @Service
 public class BattleService {
 
-    private final Random random = new Random();
+    private final BattleRandomProvider randomProvider;
     private final CharacterService characterService;
+    private final BattleRecorder battleRecorder;
+    private final BattleMetrics battleMetrics;
+    private final RatingLadder ratingLadder;
 
-    public BattleService(CharacterService characterService, Random random) {
+    @Autowired
+    public BattleService(CharacterService characterService, BattleRandomProvider randomProvider,
+                         BattleRecorder battleRecorder, BattleMetrics battleMetrics, RatingLadder ratingLadder) {
         this.characterService = characterService;
-
+        this.randomProvider = randomProvider;
+        this.battleRecorder = battleRecorder;
+        this.battleMetrics = battleMetrics;
+        this.ratingLadder = ratingLadder;
     }
 
-    //Execute a battle between two characters. Fight!
-    public BattleResult executeBattle(Character attacker, Character defender) {
-        List<String> battleLog = new ArrayList<>();
-
-        // Initial battle message
-        battleLog.add(String.format(
-                "Battle between %s (%s) - %d HP and %s (%s) - %d HP begins!",
-                attacker.getName(), attacker.getJob(), attacker.getHealthPoints(),
-                defender.getName(), defender.getJob(), defender.getHealthPoints()
-        ));
-
-        Character currentAttacker = attacker;
-        Character currentDefender = defender;
+    public BattleService(CharacterService characterService, BattleRandomProvider randomProvider,
+                         BattleRecorder battleRecorder, BattleMetrics battleMetrics) {
+        this(characterService, randomProvider, battleRecorder, battleMetrics, RatingLadder.NONE);
+    }
 
-        // Battle rounds continue until one character dies
-        while (attacker.isAlive() && defender.isAlive()) {
+    public BattleService(CharacterService characterService, BattleRandomProvider randomProvider,
+                         BattleRecorder battleRecorder) {
+        this(characterService, randomProvider, battleRecorder, BattleMetrics.NONE);
+    }
 
-            // Determine who goes first this round - with invisible rerolls on draws
-            SpeedRoll speedRoll = determineFirstAttacker(attacker, defender);
+    public BattleService(CharacterService characterService, BattleRandomProvider randomProvider) {
+        this(characterService, randomProvider, BattleRecorder.NONE);
+    }
 
-            battleLog.add(String.format(
-                    "%s %d speed was faster than %s %d speed and will begin this round.",
-                    speedRoll.faster.getName(), speedRoll.fasterSpeed,
-                    speedRoll.slower.getName(), speedRoll.slowerSpeed
-            ));
+    // Every battle draws from the given Random - handy for deterministic tests
+    public BattleService(CharacterService characterService, Random random) {
+        this(characterService, () -> random);
+    }
 
-            currentAttacker = speedRoll.faster;
-            currentDefender = speedRoll.slower;
+    // Look up, validate and fight two stored characters while holding both of their locks
+    public BattleResult executeBattle(long attackerId, long defenderId) {
+        if (attackerId == defenderId) {
+            throw new IllegalStateException("A character cannot battle itself");
+        }
 
-            // First attack
-            int damage = calculateDamage(currentAttacker);
-            currentDefender.takeDamage(damage);
+        long start = battleMetrics.start();
+        BattleResult result = characterService.withCharacters(attackerId, defenderId, () -> {
+            Character attacker = characterService.getById(attackerId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Attacker with ID " + attackerId + " not found"
+                    ));
+            Character defender = characterService.getById(defenderId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Defender with ID " + defenderId + " not found"
+                    ));
+
+            // Checked under the locks, so a concurrent battle cannot kill either one in between
+            if (!attacker.isAlive()) {
+                throw new IllegalStateException("Attacker " + attacker.getName() + " is already dead");
+            }
+            if (!defender.isAlive()) {
+                throw new IllegalStateException("Defender " + defender.getName() + " is already dead");
+            }
 
-            battleLog.add(String.format(
-                    "%s attacks %s for %d, %s has %d HP remaining.",
-                    currentAttacker.getName(), currentDefender.getName(), damage,
-                    currentDefender.getName(), currentDefender.getHealthPoints()
-            ));
+            return fight(attacker, defender);
+        });
+        battleMetrics.record(result, start);
+        return result;
+    }
 
-            if (currentDefender.isDead()) {
-                break;
-            }
+    //Execute a battle between two characters. Fight!
+    public BattleResult executeBattle(Character attacker, Character defender) {
+        long start = battleMetrics.start();
+        BattleResult result = characterService.withCharacters(attacker.getId(), defender.getId(),
+                () -> fight(attacker, defender));
+        battleMetrics.record(result, start);
+        return result;
+    }
 
-            // Counter-attack and swap roles
-            damage = calculateDamage(currentDefender);
-            currentAttacker.takeDamage(damage);
+    // Callers must hold the locks of both characters
+    private BattleResult fight(Character attacker, Character defender) {
+        int attackerStartHp = attacker.getHealthPoints();
+        int defenderStartHp = defender.getHealthPoints();
+
+        // Replayable providers give every battle its own seed, which goes into the history
+        String algorithm = null;
+        long seed = 0;
+        RandomGenerator random;
+        if (randomProvider instanceof ReplayableRandomProvider replayable) {
+            algorithm = replayable.algorithm();
+            seed = replayable.nextSeed();
+            random = replayable.forSeed(seed);
+        } else {
+            random = randomProvider.forBattle();
+        }
 
-            battleLog.add(String.format(
-                    "%s attacks %s for %d, %s has %d HP remaining.",
-                    currentDefender.getName(), currentAttacker.getName(), damage,
-                    currentAttacker.getName(), currentAttacker.getHealthPoints()
-            ));
+        // Rounds are resolved on primitives - no per-round objects or strings
+        BattleEngine engine = BattleEngine.acquire();
+        int winnerSlot;
+        int rounds;
+        long[] events;
+        try {
+            engine.load(BattleEngine.FIRST, attackerStartHp, attacker.getCombatProfile());
+            engine.load(BattleEngine.SECOND, defenderStartHp, defender.getCombatProfile());
+            winnerSlot = engine.fight(random);
+
+            // Apply the outcome to the characters
+            attacker.takeDamage(attackerStartHp - engine.healthPoints(BattleEngine.FIRST));
+            defender.takeDamage(defenderStartHp - engine.healthPoints(BattleEngine.SECOND));
+            rounds = engine.rounds();
+            events = engine.events().toArray();
+        } finally {
+            engine.release();
         }
 
         // Determine winner and loser
-        Character winner = attacker.isAlive() ? attacker : defender;
-        Character loser = attacker.isAlive() ? defender : attacker;
-
-        battleLog.add(String.format(
-                "%s wins the battle! %s still has %d HP remaining!",
-                winner.getName(), winner.getName(), winner.getHealthPoints()
-        ));
+        Character winner = winnerSlot == BattleEngine.FIRST ? attacker : defender;
+        Character loser = winnerSlot == BattleEngine.FIRST ? defender : attacker;
+
+        // Keep the structured record only - text is rendered if and when a client asks for it
+        BattleRecord record = BattleRecord.completed(algorithm, seed,
+                BattleRecord.Combatant.of(attacker, attackerStartHp),
+                BattleRecord.Combatant.of(defender, defenderStartHp),
+                winnerSlot, winner.getHealthPoints(), rounds, events);
+
+        // Experience, level-ups and ratings land under the same locks as the damage
+        int experienceGained = Progression.victoryExperience(winner.getLevel(), loser.getLevel());
+        int endHealthPoints = winner.getHealthPoints();
+        winner.gainExperience(experienceGained);
+        int healthPointsGained = winner.getHealthPoints() - endHealthPoints;
+        ratingLadder.recordOutcome(winner.getId(), loser.getId());
 
         // Update character states in storage
         characterService.update(attacker);
         characterService.update(defender);
 
-        return new BattleResult(winner, loser, battleLog);
-    }
-
-    // Determine which character attacks first based on speed rolls
-    // Re-rolls invisibly on draws - only shows final non-draw result
-    private SpeedRoll determineFirstAttacker(Character char1, Character char2) {
-        int speed1, speed2;
-
-        do {
-            speed1 = random.nextInt((int) char1.getSpeedModifier() + 1);
-            speed2 = random.nextInt((int) char2.getSpeedModifier() + 1);
-        } while (speed1 == speed2); // Invisible reroll on draw
+        // Queued for the history writer; nothing is written on this thread
+        long battleId = battleRecorder.record(record);
 
-        if (speed1 > speed2) {
-            return new SpeedRoll(char1, speed1, char2, speed2);
-        } else {
-            return new SpeedRoll(char2, speed2, char1, speed1);
-        }
-    }
-
-
-    // Calculate damage based on attack modifier
-    private int calculateDamage(Character attacker) {
-        return random.nextInt((int) attacker.getAttackModifier() + 1);
+        return new BattleResult(battleId, winner, loser, record.toLog(), experienceGained,
+                healthPointsGained);
     }
-
-
-
-    // Internal record to store speed roll results
-    private record SpeedRoll(
-            Character faster,
-            int fasterSpeed,
-            Character slower,
-            int slowerSpeed
-    ) {}
-}
\ No newline at end of file
+}
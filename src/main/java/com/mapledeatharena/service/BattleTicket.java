@@ -0,0 +1,100 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One battle submitted to the {@link BattleQueue}: where it is in its life and, once it has run, its result.
+ */
+public final class BattleTicket {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        OK,
+        NOT_FOUND,
+        // A participant is dead, or the pair is a character against itself
+        REJECTED,
+        FAILED
+    }
+
+    private final long id;
+    private final long attackerId;
+    private final long defenderId;
+    private final BattleLogDetail logDetail;
+    private final long enqueuedNanos;
+    private final CompletableFuture<BattleTicket> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile BattleResponse result;
+    private volatile String error;
+    private volatile long completedAtMillis;
+
+    BattleTicket(long id, long attackerId, long defenderId, BattleLogDetail logDetail) {
+        this.id = id;
+        this.attackerId = attackerId;
+        this.defenderId = defenderId;
+        this.logDetail = logDetail;
+        this.enqueuedNanos = System.nanoTime();
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    // Null until the battle ran successfully
+    public BattleResponse result() {
+        return result;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public boolean done() {
+        return completion.isDone();
+    }
+
+    // Completes with this ticket once the battle has run (or failed)
+    public CompletableFuture<BattleTicket> completion() {
+        return completion;
+    }
+
+    long attackerId() {
+        return attackerId;
+    }
+
+    long defenderId() {
+        return defenderId;
+    }
+
+    BattleLogDetail logDetail() {
+        return logDetail;
+    }
+
+    long enqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    long completedAtMillis() {
+        return completedAtMillis;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void complete(Status status, BattleResponse result, String error) {
+        this.result = result;
+        this.error = error;
+        this.completedAtMillis = System.currentTimeMillis();
+        this.status = status;
+        completion.complete(this);
+    }
+}
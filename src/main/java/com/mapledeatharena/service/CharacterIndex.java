@@ -0,0 +1,165 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over the character store: job, alive status, name (exact and prefix) and sorted HP / level.
+ * <p>
+ * Writers call {@link #index} while holding the character's lock, so updates to one character are serialized. The
+ * indexed state of each character is remembered so the old entries can be removed; new entries are added before old
+ * ones are removed, so a concurrent reader may briefly see a character twice but never miss it.
+ */
+final class CharacterIndex {
+
+    // Sorted keys pack (value, numeric id) into one non-negative long: value in the high 23 bits, id in the low 40
+    private static final int ID_BITS = 40;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+    private static final long MAX_SORT_VALUE = (1L << (63 - ID_BITS)) - 1;
+    private static final char NAME_SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = '\uffff';
+
+    private record Indexed(String name, Job job, int healthPoints, int level, boolean alive) {}
+
+    private final ConcurrentLongMap<Indexed> indexed = new ConcurrentLongMap<>();
+    private final Map<Job, Set<Long>> byJob = new EnumMap<>(Job.class);
+    private final Set<Long> alive = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dead = ConcurrentHashMap.newKeySet();
+    private final ConcurrentSkipListSet<String> byName = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Long> byHealthPoints = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<Long> byLevel = new ConcurrentSkipListSet<>();
+
+    CharacterIndex() {
+        for (Job job : Job.values()) {
+            byJob.put(job, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // Add or refresh a character's entries - caller holds the character's lock
+    void index(Character character) {
+        long id = character.getId();
+        Indexed now = new Indexed(character.getName(), character.getJob(),
+                character.getHealthPoints(), character.getLevel(), character.isAlive());
+        Indexed before = indexed.get(id);
+        indexed.put(id, now);
+
+        if (before == null || before.job() != now.job()) {
+            byJob.get(now.job()).add(id);
+            if (before != null) {
+                byJob.get(before.job()).remove(id);
+            }
+        }
+        if (before == null || !before.name().equals(now.name())) {
+            byName.add(nameKey(now.name(), id));
+            if (before != null) {
+                byName.remove(nameKey(before.name(), id));
+            }
+        }
+        if (before == null || before.alive() != now.alive()) {
+            (now.alive() ? alive : dead).add(id);
+            if (before != null) {
+                (before.alive() ? alive : dead).remove(id);
+            }
+        }
+        if (before == null || before.healthPoints() != now.healthPoints()) {
+            byHealthPoints.add(sortKey(now.healthPoints(), id));
+            if (before != null) {
+                byHealthPoints.remove(sortKey(before.healthPoints(), id));
+            }
+        }
+        if (before == null || before.level() != now.level()) {
+            byLevel.add(sortKey(now.level(), id));
+            if (before != null) {
+                byLevel.remove(sortKey(before.level(), id));
+            }
+        }
+    }
+
+    Set<Long> idsByJob(Job job) {
+        return byJob.get(job);
+    }
+
+    Set<Long> idsByAlive(boolean isAlive) {
+        return isAlive ? alive : dead;
+    }
+
+    Iterator<Long> idsByName(String name) {
+        return names(byName.subSet(name + NAME_SEPARATOR, true, name + NAME_SEPARATOR + MAX_CHAR, true));
+    }
+
+    Iterator<Long> idsByNamePrefix(String prefix) {
+        return names(byName.subSet(prefix, true, prefix + MAX_CHAR, true));
+    }
+
+    // Ids with HP in [min, max], highest HP first
+    Iterator<Long> idsByHealthPoints(int min, int max) {
+        return ids(byHealthPoints.subSet(sortKey(min, 0), true, sortKey(max, ID_MASK), true).descendingSet());
+    }
+
+    Iterator<Long> idsByLevelDescending() {
+        return ids(byLevel.descendingSet());
+    }
+
+    int size() {
+        return indexed.size();
+    }
+
+    void clear() {
+        indexed.clear();
+        byJob.values().forEach(Set::clear);
+        alive.clear();
+        dead.clear();
+        byName.clear();
+        byHealthPoints.clear();
+        byLevel.clear();
+    }
+
+    private static String nameKey(String name, long id) {
+        return name + NAME_SEPARATOR + id;
+    }
+
+    // Also used by RatingLadder for its (rating, id) keys
+    static long sortKey(int value, long id) {
+        long clamped = Math.min(Math.max(0, value), MAX_SORT_VALUE);
+        return (clamped << ID_BITS) | (id & ID_MASK);
+    }
+
+    private static Iterator<Long> names(NavigableSet<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            public Long next() {
+                String key = iterator.next();
+                return Long.parseLong(key, key.lastIndexOf(NAME_SEPARATOR) + 1, key.length(), 10);
+            }
+        };
+    }
+
+    static long idOf(long sortKey) {
+        return sortKey & ID_MASK;
+    }
+
+    static Iterator<Long> ids(NavigableSet<Long> keys) {
+        Iterator<Long> iterator = keys.iterator();
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            public Long next() {
+                return idOf(iterator.next());
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.mapledeatharena.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks guarding mutable character state.
+ * <p>
+ * Each character id hashes to one stripe. A battle takes the stripes of both participants in ascending stripe
+ * order, so two battles can never wait on each other in a cycle, and battles whose characters land on different
+ * stripes run fully in parallel. {@link ReentrantLock} rather than {@code synchronized} keeps virtual threads from
+ * pinning their carrier while they wait.
+ */
+final class CharacterLocks {
+
+    static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    CharacterLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    CharacterLocks(int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    <T> T withLock(long id, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripe(id)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Lock both ids in stripe order - deadlock-free, and a shared stripe is only taken once
+    <T> T withLocks(long firstId, long secondId, Supplier<T> action) {
+        int first = stripe(firstId);
+        int second = stripe(secondId);
+        ReentrantLock lower = stripes[Math.min(first, second)];
+        ReentrantLock upper = stripes[Math.max(first, second)];
+
+        lower.lock();
+        try {
+            if (upper == lower) {
+                return action.get();
+            }
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    private int stripe(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -1,24 +1,86 @@
 package com.mapledeatharena.service;
 
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.dto.CharacterPage;
 import com.mapledeatharena.model.Character;
 import com.mapledeatharena.model.Job;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class CharacterService {
-    private final ConcurrentHashMap<String, Character> characters = new ConcurrentHashMap<>();
+    private final CharacterStore store;
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final CharacterLocks locks = new CharacterLocks();
+    private final CharacterIndex index = new CharacterIndex();
+    private final List<CharacterStoreListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Times one lookup in lookupSampleInterval; null when not instrumented
+    private final Timer lookupTimer;
+    private final int lookupSampleInterval;
+
+    static final int MAX_PAGE_SIZE = 1_000;
+
+    // Upper bound on ids examined per page, so a very selective filter cannot turn one request into a full scan
+    static final int MAX_SCAN_PER_PAGE = 100_000;
 
     // Pattern for name validation: 4-15 characters, only letters and underscores
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z_]{4,15}$");
 
 
+    public CharacterService() {
+        this(new HeapCharacterStore());
+    }
+
+
+    public CharacterService(CharacterStore store) {
+        this(store, null, 1);
+    }
+
+
+    // Characters already in the store (e.g. a remapped file) are indexed and their ids are never handed out again
+    @Autowired
+    public CharacterService(CharacterStore store, MeterRegistry meterRegistry,
+                            @Value("${arena.metrics.sample-interval:16}") int sampleInterval) {
+        this.store = store;
+        store.stream().forEach(character -> {
+            index.index(character);
+            advanceNextId(character.getId() + 1);
+        });
+
+        if (meterRegistry != null) {
+            Gauge.builder("arena.characters.stored", this, CharacterService::count)
+                    .description("Characters in the store")
+                    .register(meterRegistry);
+            this.lookupTimer = Timer.builder("arena.characters.lookup")
+                    .description("getById latency (sampled)")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        } else {
+            this.lookupTimer = null;
+        }
+        this.lookupSampleInterval = Math.max(1, sampleInterval);
+    }
+
+
     // Create a new character with validation
     public Character create(String name, String jobName) {
 
@@ -29,13 +91,13 @@ public class CharacterService {
         Job job = validateJob(jobName);
 
         // Generate unique ID
-        String id = String.valueOf(idGenerator.getAndIncrement());
+        long id = idGenerator.getAndIncrement();
 
         // Create character with job-based stats
         Character character = Character.createNewCharacter(id, name, job);
 
-        // Store in concurrent map
-        characters.put(id, character);
+        // Store in concurrent map, index it and notify listeners
+        locks.withLock(id, () -> save(character));
 
         return character;
     }
@@ -44,13 +106,153 @@ public class CharacterService {
 
     // Get all characters
     public List<Character> getAll() {
-        return characters.values().stream().toList();
+        return store.stream().toList();
+    }
+
+
+    /**
+     * Get one page of characters in id order, starting after the cursor.
+     * IDs are handed out sequentially, so the id itself is the cursor and a page costs O(ids examined).
+     */
+    public CharacterPage getPage(String cursor, int limit, CharacterFilter filter) {
+        validateLimit(limit);
+
+        long start = parseCursor(cursor) + 1;
+        long end = idGenerator.get();
+        long scanEnd = Math.min(end, start + MAX_SCAN_PER_PAGE);
+        List<Character> items = new ArrayList<>(Math.min(limit, 64));
+
+        long id = start;
+        for (; id < scanEnd && items.size() < limit; id++) {
+            Character character = store.get(id);
+            if (character != null && filter.matches(character)) {
+                items.add(character);
+            }
+        }
+
+        // id is the next unexamined id; anything left means another page
+        String nextCursor = id < end ? String.valueOf(id - 1) : null;
+        return new CharacterPage(items, nextCursor);
+    }
+
+
+
+    // Lazily filtered view over the store - nothing is copied, callers should consume it once
+    public Stream<Character> stream(CharacterFilter filter) {
+        return store.stream().filter(filter::matches);
+    }
+
+
+
+    /**
+     * Indexed search. The most selective criterion given (exact name, name prefix, job, alive status, then HP range)
+     * picks the index to walk; every other criterion is applied as a filter on the candidates.
+     */
+    public List<Character> search(String name, String namePrefix, CharacterFilter filter, int limit) {
+        validateLimit(limit);
+
+        Iterator<Long> candidates;
+        if (name != null && !name.isBlank()) {
+            candidates = index.idsByName(name);
+        } else if (namePrefix != null && !namePrefix.isBlank()) {
+            candidates = index.idsByNamePrefix(namePrefix);
+        } else if (filter.job() != null) {
+            candidates = index.idsByJob(filter.job()).iterator();
+        } else if (filter.alive() != null) {
+            candidates = index.idsByAlive(filter.alive()).iterator();
+        } else {
+            int min = filter.minHealthPoints() != null ? filter.minHealthPoints() : 0;
+            int max = filter.maxHealthPoints() != null ? filter.maxHealthPoints() : Integer.MAX_VALUE;
+            candidates = index.idsByHealthPoints(min, max);
+        }
+
+        return resolve(candidates, filter, limit);
+    }
+
+
+
+    // Characters with the most HP first
+    public List<Character> leaderboardByHealthPoints(int limit) {
+        validateLimit(limit);
+        return resolve(index.idsByHealthPoints(0, Integer.MAX_VALUE), CharacterFilter.NONE, limit);
     }
 
 
+
+    // Characters with the highest level first
+    public List<Character> leaderboardByLevel(int limit) {
+        validateLimit(limit);
+        return resolve(index.idsByLevelDescending(), CharacterFilter.NONE, limit);
+    }
+
+
+
     // Get character by ID
-    public Optional<Character> getById(String id) {
-        return Optional.ofNullable(characters.get(id));
+    public Optional<Character> getById(long id) {
+        if (lookupTimer == null
+                || (lookupSampleInterval > 1 && ThreadLocalRandom.current().nextInt(lookupSampleInterval) != 0)) {
+            return Optional.ofNullable(store.get(id));
+        }
+        long start = System.nanoTime();
+        Character character = store.get(id);
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.ofNullable(character);
+    }
+
+
+
+    // Number of stored characters
+    public int count() {
+        return index.size();
+    }
+
+
+
+    // Callers hold the character's lock
+    private Character save(Character character) {
+        store.put(character);
+        index.index(character);
+        for (CharacterStoreListener listener : listeners) {
+            listener.onSaved(character);
+        }
+        return character;
+    }
+
+
+
+    // Look up candidate ids, skipping the brief duplicates a concurrent re-index can expose
+    private List<Character> resolve(Iterator<Long> ids, CharacterFilter filter, int limit) {
+        Set<Long> seen = new HashSet<>();
+        List<Character> result = new ArrayList<>(Math.min(limit, 64));
+        while (ids.hasNext() && result.size() < limit) {
+            long id = ids.next();
+            Character character = store.get(id);
+            if (character != null && filter.matches(character) && seen.add(id)) {
+                result.add(character);
+            }
+        }
+        return result;
+    }
+
+
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+
+
+    private long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
 
@@ -86,13 +288,55 @@ public class CharacterService {
 
     // Update character state - used after battles
     public void update(Character character) {
-        characters.put(character.getId(), character);
+        locks.withLock(character.getId(), () -> save(character));
+    }
+
+
+    // Register a listener for every create/update, e.g. a persistence journal
+    public void addListener(CharacterStoreListener listener) {
+        listeners.add(listener);
+    }
+
+
+    // Put a recovered character back into the store without notifying listeners
+    public void restore(Character character) {
+        locks.withLock(character.getId(), () -> {
+            store.put(character);
+            index.index(character);
+            return character;
+        });
+        advanceNextId(character.getId() + 1);
+    }
+
+
+    // The id the next created character will get
+    public long getNextId() {
+        return idGenerator.get();
+    }
+
+
+    // Never hand out ids below nextId again, e.g. after recovering persisted characters
+    public void advanceNextId(long nextId) {
+        idGenerator.accumulateAndGet(nextId, Math::max);
+    }
+
+
+    // Run an action while holding the lock of one character
+    public <T> T withCharacter(long id, Supplier<T> action) {
+        return locks.withLock(id, action);
+    }
+
+
+    // Run an action while holding the locks of two characters, acquired in a deadlock-free order
+    public <T> T withCharacters(long firstId, long secondId, Supplier<T> action) {
+        return locks.withLocks(firstId, secondId, action);
     }
 
 
     // Clear all characters - useful for testing
     public void clear() {
-        characters.clear();
+        store.clear();
+        index.clear();
         idGenerator.set(1);
     }
 }
\ No newline at end of file
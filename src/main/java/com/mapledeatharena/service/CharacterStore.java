@@ -0,0 +1,29 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.model.Character;
+
+import java.util.stream.Stream;
+
+/**
+ * Primary storage behind {@link CharacterService}, keyed by numeric character id.
+ * <p>
+ * Writes arrive under the character's lock. A store may hand out copies rather than the stored instance, so callers
+ * must {@link CharacterService#update} a character after mutating it.
+ */
+public interface CharacterStore extends AutoCloseable {
+
+    // The character with this id, or null
+    Character get(long id);
+
+    // Insert or replace the character with the same id
+    void put(Character character);
+
+    // Every stored character, in no particular order
+    Stream<Character> stream();
+
+    void clear();
+
+    @Override
+    default void close() {
+    }
+}
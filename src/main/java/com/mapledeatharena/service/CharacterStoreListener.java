@@ -0,0 +1,13 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.model.Character;
+
+/**
+ * Notified after a character is created or updated in {@link CharacterService}.
+ * Called while the character's lock is held, so calls for one character arrive in mutation order.
+ */
+@FunctionalInterface
+public interface CharacterStoreListener {
+
+    void onSaved(Character character);
+}
@@ -0,0 +1,173 @@
+package com.mapledeatharena.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Open-addressing hash map from non-zero {@code long} keys to values, with no per-entry objects.
+ * <p>
+ * Keys and values sit in two parallel arrays probed linearly. Reads take no lock. Writes share a read lock and
+ * claim empty slots with a CAS; only growing the table takes the write lock. A slot's value is published with
+ * release semantics, so a reader that finds the key sees a fully written value - or null while an insert is still
+ * in flight, which reads as absent. Two writers must never insert the same key concurrently; callers guarantee that
+ * through the character locks. There is no removal, only {@link #clear()}.
+ */
+final class ConcurrentLongMap<V> {
+
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    // Outcomes of one locked put attempt
+    private static final int INSERTED = 0;
+    private static final int REPLACED = 1;
+    private static final int FULL = 2;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private record Table(long[] keys, Object[] values) {
+        Table(int capacity) {
+            this(new long[capacity], new Object[capacity]);
+        }
+
+        int mask() {
+            return keys.length - 1;
+        }
+
+        // Grow at half full: linear probing stays short and a lookup rarely leaves its cache line
+        int threshold() {
+            return keys.length >> 1;
+        }
+    }
+
+    private final ReentrantReadWriteLock resizeLock = new ReentrantReadWriteLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Table table = new Table(MIN_CAPACITY);
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table current = table;
+        int mask = current.mask();
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            long found = (long) KEYS.getAcquire(current.keys(), i);
+            if (found == key) {
+                return (V) VALUES.getAcquire(current.values(), i);
+            }
+            if (found == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    void put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        Objects.requireNonNull(value);
+
+        while (true) {
+            int result = tryPut(key, value);
+            if (result == REPLACED) {
+                return;
+            }
+            if (result == INSERTED) {
+                if (size.incrementAndGet() > table.threshold()) {
+                    grow();
+                }
+                return;
+            }
+            // Concurrent inserts filled the table before it could grow
+            grow();
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    Stream<V> values() {
+        return Arrays.stream(table.values()).filter(Objects::nonNull).map(value -> (V) value);
+    }
+
+    void clear() {
+        resizeLock.writeLock().lock();
+        try {
+            table = new Table(MIN_CAPACITY);
+            size.set(0);
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    private int tryPut(long key, V value) {
+        resizeLock.readLock().lock();
+        try {
+            Table current = table;
+            int mask = current.mask();
+            int i = slot(key, mask);
+            for (int probes = 0; probes <= mask; probes++, i = (i + 1) & mask) {
+                long found = (long) KEYS.getAcquire(current.keys(), i);
+                if (found == key) {
+                    VALUES.setRelease(current.values(), i, value);
+                    return REPLACED;
+                }
+                // A failed CAS means another key took the slot: keep probing
+                if (found == EMPTY && KEYS.compareAndSet(current.keys(), i, EMPTY, key)) {
+                    VALUES.setRelease(current.values(), i, value);
+                    return INSERTED;
+                }
+            }
+            return FULL;
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    private void grow() {
+        resizeLock.writeLock().lock();
+        try {
+            Table current = table;
+            if (size.get() <= current.threshold() && !isFull(current)) {
+                return;
+            }
+            Table grown = new Table(current.keys().length << 1);
+            int mask = grown.mask();
+            for (int i = 0; i < current.keys().length; i++) {
+                long key = current.keys()[i];
+                if (key == EMPTY) {
+                    continue;
+                }
+                int j = slot(key, mask);
+                while (grown.keys()[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                grown.keys()[j] = key;
+                grown.values()[j] = current.values()[i];
+            }
+            table = grown;
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isFull(Table table) {
+        for (long key : table.keys()) {
+            if (key == EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Ids are sequential, so mix them before masking to spread neighbours across the table
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
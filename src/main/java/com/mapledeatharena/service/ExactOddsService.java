@@ -0,0 +1,138 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.ExactOddsResponse;
+import com.mapledeatharena.model.CombatProfile;
+import com.mapledeatharena.model.StatBlock;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact win probabilities and expected round counts, no sampling.
+ * <p>
+ * A round starting at HP {@code (a, b)} only depends on the speed-roll winner and two uniform damage rolls, so
+ * {@code W(a, b)} - the chance the first combatant wins from there - satisfies
+ * <pre>
+ *   W(a,b) = p*kA + (1-p)*(1-kB)*kA + 1/(A*B) * sum W(a-d', b-d)   for d &lt; min(b, A), d' &lt; min(a, B)
+ * </pre>
+ * where {@code A}/{@code B} are the damage bounds, {@code p} the chance the first combatant wins the (re-rolled)
+ * speed roll, {@code kA = P(first's hit kills)} and {@code kB = P(second's hit kills)}. The sum includes the
+ * zero-damage self-loop, which is solved algebraically. Filling the table in ascending HP order with 2D prefix
+ * sums makes every state O(1). Results are cached per stat-block pair, so repeat queries are a map lookup.
+ */
+@Service
+public class ExactOddsService {
+
+    // (hpA + 1) * (hpB + 1) cells per table; two tables of doubles
+    static final int MAX_STATES = 1_000_000;
+    static final int MAX_CACHED = 10_000;
+
+    private final ConcurrentHashMap<Matchup, ExactOddsResponse> cache = new ConcurrentHashMap<>();
+
+    private record Matchup(StatBlock first, StatBlock second) {}
+
+    public ExactOddsResponse calculate(StatBlock first, StatBlock second) {
+        Matchup matchup = new Matchup(first, second);
+        ExactOddsResponse cached = cache.get(matchup);
+        if (cached != null) {
+            return cached;
+        }
+
+        ExactOddsResponse odds = solve(first, second);
+        if (cache.size() >= MAX_CACHED) {
+            cache.clear();
+        }
+        cache.putIfAbsent(matchup, odds);
+        return odds;
+    }
+
+    private ExactOddsResponse solve(StatBlock first, StatBlock second) {
+        int hpA = first.healthPoints();
+        int hpB = second.healthPoints();
+        CombatProfile profileA = first.combatProfile();
+        CombatProfile profileB = second.combatProfile();
+        int attackA = profileA.attackBound();
+        int attackB = profileB.attackBound();
+        int speedA = profileA.speedBound();
+        int speedB = profileB.speedBound();
+
+        if (hpA < 1 || hpB < 1) {
+            throw new IllegalArgumentException("Both combatants need at least 1 HP");
+        }
+        if ((long) (hpA + 1) * (hpB + 1) > MAX_STATES) {
+            throw new IllegalArgumentException("Health points too large for an exact calculation");
+        }
+        if (speedA == 1 && speedB == 1) {
+            throw new IllegalArgumentException("Both speed modifiers are below 1 - a speed roll can never be won");
+        }
+        if (attackA == 1 && attackB == 1) {
+            throw new IllegalArgumentException("Both attack modifiers are below 1 - the battle can never end");
+        }
+
+        double firstStarts = firstWinsSpeedRoll(speedA, speedB);
+        double selfLoop = 1.0 / ((double) attackA * attackB);
+        double stay = 1.0 - selfLoop;
+
+        // Prefix sums over W and R with a zero row/column; row a is completed cell by cell
+        double[][] winPrefix = new double[hpA + 1][hpB + 1];
+        double[][] roundsPrefix = new double[hpA + 1][hpB + 1];
+        double win = 0;
+        double rounds = 0;
+
+        for (int a = 1; a <= hpA; a++) {
+            double winRow = 0;
+            double roundsRow = 0;
+            double killByB = (double) Math.max(0, attackB - a) / attackB;
+            int x0 = a - Math.min(a, attackB) + 1;
+
+            for (int b = 1; b <= hpB; b++) {
+                double killByA = (double) Math.max(0, attackA - b) / attackA;
+                int y0 = b - Math.min(b, attackA) + 1;
+
+                // Continuation sums over the reachable rectangle, excluding the (a, b) self-loop
+                double winSum = rectangle(winPrefix, x0, a - 1, y0, b)
+                        + winRow - rowPrefix(winPrefix, a, y0 - 1);
+                double roundsSum = rectangle(roundsPrefix, x0, a - 1, y0, b)
+                        + roundsRow - rowPrefix(roundsPrefix, a, y0 - 1);
+
+                double immediate = firstStarts * killByA + (1 - firstStarts) * (1 - killByB) * killByA;
+                win = (immediate + selfLoop * winSum) / stay;
+                rounds = (1 + selfLoop * roundsSum) / stay;
+
+                winRow += win;
+                roundsRow += rounds;
+                winPrefix[a][b] = winPrefix[a - 1][b] + winRow;
+                roundsPrefix[a][b] = roundsPrefix[a - 1][b] + roundsRow;
+            }
+        }
+
+        return new ExactOddsResponse(win, 1 - win, rounds);
+    }
+
+    // P(first roll > second roll | rolls differ) with rolls uniform on [0, speedA) and [0, speedB)
+    private static double firstWinsSpeedRoll(int speedA, int speedB) {
+        long faster = 0;
+        long slower = 0;
+        for (int s = 0; s < speedA; s++) {
+            faster += Math.min(s, speedB);
+            slower += Math.max(0, speedB - s - 1);
+        }
+        return (double) faster / (faster + slower);
+    }
+
+    // Sum of cells x in [x0, x1], y in [y0, y1] from completed rows of a prefix table
+    private static double rectangle(double[][] prefix, int x0, int x1, int y0, int y1) {
+        if (x1 < x0) {
+            return 0;
+        }
+        return prefix[x1][y1] - prefix[x0 - 1][y1] - prefix[x1][y0 - 1] + prefix[x0 - 1][y0 - 1];
+    }
+
+    // Sum of row a over columns [1, y], recovered from the prefix table; only called for already-filled columns
+    private static double rowPrefix(double[][] prefix, int a, int y) {
+        if (y < 1) {
+            return 0;
+        }
+        return prefix[a][y] - prefix[a - 1][y];
+    }
+}
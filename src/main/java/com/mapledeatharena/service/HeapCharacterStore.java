@@ -0,0 +1,33 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.model.Character;
+
+import java.util.stream.Stream;
+
+/**
+ * Default store: live {@link Character} objects in a primitive-keyed {@link ConcurrentLongMap}.
+ */
+public final class HeapCharacterStore implements CharacterStore {
+
+    private final ConcurrentLongMap<Character> characters = new ConcurrentLongMap<>();
+
+    @Override
+    public Character get(long id) {
+        return characters.get(id);
+    }
+
+    @Override
+    public void put(Character character) {
+        characters.put(character.getId(), character);
+    }
+
+    @Override
+    public Stream<Character> stream() {
+        return characters.values();
+    }
+
+    @Override
+    public void clear() {
+        characters.clear();
+    }
+}
@@ -0,0 +1,172 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Responses of recent battles by client-chosen idempotency key, so a retried request gets the first answer back
+ * instead of fighting again.
+ * <p>
+ * The first request with a key claims it with an unfinished future; a retry arriving while that battle is still
+ * running waits on the same future rather than starting a second one. Only successful battles are kept - a refused
+ * one changed nothing, so its key is released and may be retried for real. Keys are dropped after the TTL and,
+ * oldest first, whenever there are more than {@code max-entries}; entries sit in a queue in creation order, so
+ * eviction only ever looks at its head. Released entries stay queued and count against {@code max-entries} until
+ * they reach the head, so a flood of refused requests cannot grow the queue past the cap either.
+ */
+@Service
+public class IdempotencyCache {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    public record Lookup(BattleResponse response, boolean replayed) {
+    }
+
+    private static final class Entry {
+        final String key;
+        final String fingerprint;
+        final long createdMillis;
+        final CompletableFuture<BattleResponse> response = new CompletableFuture<>();
+
+        Entry(String key, String fingerprint, long createdMillis) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdMillis = createdMillis;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    // Entries in order, released ones included - the bound eviction enforces
+    private final AtomicInteger queued = new AtomicInteger();
+    // One evicting thread at a time, so the head it checks is the head it takes
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public IdempotencyCache(MeterRegistry meterRegistry,
+                            @Value("${arena.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${arena.idempotency.ttl-seconds:600}") long ttlSeconds) {
+        if (maxEntries < 1 || ttlSeconds < 0) {
+            throw new IllegalArgumentException("arena.idempotency.max-entries must be at least 1, ttl-seconds not negative");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+
+        Gauge.builder("arena.battle.idempotency.size", entries, Map::size)
+                .description("Idempotency keys currently remembered")
+                .register(meterRegistry);
+        this.hits = Counter.builder("arena.battle.idempotency.lookups")
+                .tag("result", "hit")
+                .description("Battle requests answered from the idempotency cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("arena.battle.idempotency.lookups")
+                .tag("result", "miss")
+                .description("Battle requests with a new idempotency key")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("arena.battle.idempotency.evictions")
+                .description("Keys dropped for age or to stay within max-entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the battle once per key. {@code fingerprint} identifies the request; reusing a key for a different one
+     * is refused.
+     *
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IllegalStateException    if the key was used for a different request, or the battle was refused
+     */
+    public Lookup execute(String key, String fingerprint, Supplier<BattleResponse> battle) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        long now = System.currentTimeMillis();
+        evict(now);
+
+        Entry entry = new Entry(key, fingerprint, now);
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalStateException("Idempotency key " + key + " was already used for a different battle");
+            }
+            hits.increment();
+            return new Lookup(join(existing.response), true);
+        }
+
+        misses.increment();
+        order.add(entry);
+        queued.incrementAndGet();
+        evict(now);
+        BattleResponse response;
+        try {
+            response = battle.get();
+        } catch (RuntimeException e) {
+            // Waiting retries see the same failure; later ones may try again
+            entries.remove(key, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        entry.response.complete(response);
+        return new Lookup(response, false);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    // Drop expired keys, then the oldest while over capacity. A thread that finds eviction already running
+    // leaves it to that one, which keeps going until both limits hold.
+    void evict(long nowMillis) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry head;
+            while ((head = order.peek()) != null
+                    && (nowMillis - head.createdMillis >= ttlMillis || queued.get() > maxEntries)) {
+                order.poll();
+                queued.decrementAndGet();
+                if (entries.remove(head.key, head)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static BattleResponse join(CompletableFuture<BattleResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
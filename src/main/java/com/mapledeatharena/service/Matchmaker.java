@@ -0,0 +1,358 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.dto.MatchmakingStatus;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.CombatProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-side matchmaking: alive characters enqueue and are paired with one of similar combat power, and every pair
+ * goes straight into {@link BattleService} on a virtual thread.
+ * <p>
+ * Power is bucketed on a log scale, four buckets per doubling, so neighbouring buckets differ by at most ~19%.
+ * A character arriving in a bucket that already has a waiter is paired with it on the spot. Each bucket therefore
+ * holds at most one waiter, and however many characters enqueue, the state is a fixed array and pairing is O(1).
+ * A waiter with no equal gets a wider band over time: a sweeper pairs it with a waiter up to one bucket further away
+ * per {@code widen-after-millis} waited, capped at {@code max-band} buckets.
+ * <p>
+ * A finished match stays visible for {@code result-ttl-seconds}; the sweeper drops it after that, oldest first.
+ */
+@Service
+public class Matchmaker {
+
+    static final int SUB_BUCKET_BITS = 2;
+    static final int BUCKETS = Long.SIZE << SUB_BUCKET_BITS;
+
+    private record Entry(long characterId, int bucket, long enqueuedNanos) {
+    }
+
+    // A final status in publishing order, for expiry
+    private record Finished(long characterId, MatchmakingStatus status, long finishedNanos) {
+    }
+
+    private final CharacterService characterService;
+    private final BattleService battleService;
+    private final long widenAfterNanos;
+    private final int maxBand;
+    private final long tickMillis;
+    private final long resultTtlNanos;
+
+    // Guarded by lock: the waiter of each bucket and every waiter by character id
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Entry[] waiting = new Entry[BUCKETS];
+    private final Map<Long, Entry> queued = new HashMap<>();
+    private volatile int queuedCount;
+
+    // Latest match of every character that has been paired, replaced when it enqueues again or dropped once the
+    // result is older than the TTL
+    private final Map<Long, MatchmakingStatus> matches = new ConcurrentHashMap<>();
+    private final Queue<Finished> finished = new ConcurrentLinkedQueue<>();
+    private final ExecutorService battles = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer queueTime;
+    private final Counter matched;
+    private final Counter failed;
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private Thread sweeper;
+    private volatile boolean running;
+
+    @Autowired
+    public Matchmaker(CharacterService characterService,
+                      BattleService battleService,
+                      MeterRegistry meterRegistry,
+                      @Value("${arena.matchmaking.widen-after-millis:250}") long widenAfterMillis,
+                      @Value("${arena.matchmaking.max-band:8}") int maxBand,
+                      @Value("${arena.matchmaking.tick-millis:50}") long tickMillis,
+                      @Value("${arena.matchmaking.result-ttl-seconds:300}") long resultTtlSeconds) {
+        if (widenAfterMillis < 1 || maxBand < 0 || tickMillis < 1 || resultTtlSeconds < 0) {
+            throw new IllegalArgumentException("arena.matchmaking.widen-after-millis and tick-millis must be positive, "
+                    + "max-band and result-ttl-seconds not negative");
+        }
+        this.characterService = characterService;
+        this.battleService = battleService;
+        this.widenAfterNanos = TimeUnit.MILLISECONDS.toNanos(widenAfterMillis);
+        this.maxBand = maxBand;
+        this.tickMillis = tickMillis;
+        this.resultTtlNanos = TimeUnit.SECONDS.toNanos(resultTtlSeconds);
+
+        Gauge.builder("arena.matchmaking.queued", this, Matchmaker::queued)
+                .description("Characters waiting for an opponent")
+                .register(meterRegistry);
+        this.queueTime = Timer.builder("arena.matchmaking.queue.time")
+                .description("Time from enqueueing until paired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matched = Counter.builder("arena.matchmaking.matches")
+                .description("Pairs dispatched into a battle")
+                .register(meterRegistry);
+        this.failed = Counter.builder("arena.matchmaking.failed")
+                .description("Pairs whose battle was refused, e.g. because one side died in the meantime")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            sweeper = Thread.ofVirtual().name("matchmaker").start(this::sweepLoop);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            running = false;
+            if (sweeper != null) {
+                sweeper.interrupt();
+                try {
+                    sweeper.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sweeper = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+        battles.shutdown();
+    }
+
+    /**
+     * Queue a character for a battle against one of similar power, or pair it right away.
+     *
+     * @throws IllegalArgumentException if the character does not exist
+     * @throws IllegalStateException    if it is dead or already queued
+     */
+    public MatchmakingStatus enqueue(long characterId) {
+        Character character = characterService.getById(characterId)
+                .orElseThrow(() -> new IllegalArgumentException("Character with ID " + characterId + " not found"));
+        if (!character.isAlive()) {
+            throw new IllegalStateException("Character " + character.getName() + " is already dead");
+        }
+
+        matches.remove(characterId);
+        Entry entry = new Entry(characterId, bucketOf(power(character)), System.nanoTime());
+        Entry partner;
+        lock.lock();
+        try {
+            if (queued.containsKey(characterId)) {
+                throw new IllegalStateException("Character " + character.getName() + " is already queued");
+            }
+            partner = waiting[entry.bucket()];
+            if (partner != null) {
+                remove(partner);
+            } else {
+                waiting[entry.bucket()] = entry;
+                queued.put(characterId, entry);
+                queuedCount = queued.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (partner == null) {
+            return new MatchmakingStatus(String.valueOf(characterId), MatchmakingStatus.State.QUEUED, null, 0,
+                    null, null);
+        }
+        dispatch(partner, entry);
+        return matches.get(characterId);
+    }
+
+    // Leave the queue; false if the character was not waiting
+    public boolean cancel(long characterId) {
+        lock.lock();
+        try {
+            Entry entry = queued.get(characterId);
+            if (entry == null) {
+                return false;
+            }
+            remove(entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<MatchmakingStatus> status(long characterId) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = queued.get(characterId);
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null) {
+            return Optional.of(new MatchmakingStatus(String.valueOf(characterId), MatchmakingStatus.State.QUEUED,
+                    null, waitedMillis(entry, System.nanoTime()), null, null));
+        }
+        return Optional.ofNullable(matches.get(characterId));
+    }
+
+    public int queued() {
+        return queuedCount;
+    }
+
+    /**
+     * Durability times output: HP times the sum of both roll bounds. The attack bound is the damage range, the speed
+     * bound the chance of striking first, which also counts as output.
+     */
+    static long power(Character character) {
+        CombatProfile profile = character.getCombatProfile();
+        return (long) character.getHealthPoints() * (profile.attackBound() + profile.speedBound());
+    }
+
+    // Four buckets per power of two: the exponent, then the two bits below the leading one
+    static int bucketOf(long power) {
+        if (power < 1 << SUB_BUCKET_BITS) {
+            return (int) Math.max(0, power);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(power);
+        int fraction = (int) (power >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS | fraction;
+    }
+
+    // Pair every waiter with the nearest other waiter its band reaches by now, then drop expired results
+    void sweep(long now) {
+        List<Entry[]> pairs = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                Entry entry = waiting[bucket];
+                if (entry == null) {
+                    continue;
+                }
+                long band = Math.min(maxBand, (now - entry.enqueuedNanos()) / widenAfterNanos);
+                for (int distance = 1; distance <= band; distance++) {
+                    Entry partner = nearest(bucket, distance);
+                    if (partner != null) {
+                        remove(entry);
+                        remove(partner);
+                        pairs.add(new Entry[]{partner, entry});
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Entry[] pair : pairs) {
+            dispatch(pair[0], pair[1]);
+        }
+        expireFinished(now);
+    }
+
+    // Only removes the status it queued, so a newer match of the same character survives
+    private void expireFinished(long now) {
+        Finished oldest;
+        while ((oldest = finished.peek()) != null && now - oldest.finishedNanos() >= resultTtlNanos) {
+            if (finished.remove(oldest)) {
+                matches.remove(oldest.characterId(), oldest.status());
+            }
+        }
+    }
+
+    private void sweepLoop() {
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            sweep(System.nanoTime());
+        }
+    }
+
+    // Caller holds the lock; the lower neighbour wins ties, it is the one likelier to be outmatched later
+    private Entry nearest(int bucket, int distance) {
+        if (bucket - distance >= 0 && waiting[bucket - distance] != null) {
+            return waiting[bucket - distance];
+        }
+        if (bucket + distance < BUCKETS && waiting[bucket + distance] != null) {
+            return waiting[bucket + distance];
+        }
+        return null;
+    }
+
+    // Caller holds the lock
+    private void remove(Entry entry) {
+        if (waiting[entry.bucket()] == entry) {
+            waiting[entry.bucket()] = null;
+        }
+        queued.remove(entry.characterId());
+        queuedCount = queued.size();
+    }
+
+    // The earlier waiter attacks; both see the opponent at once and the result when the battle has run
+    private void dispatch(Entry first, Entry second) {
+        long now = System.nanoTime();
+        queueTime.record(now - first.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        queueTime.record(now - second.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        matched.increment();
+        publish(first, second, now, null, null);
+        publish(second, first, now, null, null);
+
+        battles.execute(() -> {
+            try {
+                BattleResult result = battleService.executeBattle(first.characterId(), second.characterId());
+                BattleResponse response = BattleResponse.from(result, BattleLogDetail.SUMMARY);
+                publish(first, second, now, response, null);
+                publish(second, first, now, response, null);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                failed.increment();
+                publish(first, second, now, null, e.getMessage());
+                publish(second, first, now, null, e.getMessage());
+            }
+        });
+    }
+
+    private void publish(Entry entry, Entry opponent, long matchedNanos, BattleResponse result, String error) {
+        MatchmakingStatus status = new MatchmakingStatus(
+                String.valueOf(entry.characterId()),
+                error == null ? MatchmakingStatus.State.MATCHED : MatchmakingStatus.State.FAILED,
+                String.valueOf(opponent.characterId()),
+                waitedMillis(entry, matchedNanos),
+                result,
+                error);
+        matches.put(entry.characterId(), status);
+        if (result != null || error != null) {
+            finished.add(new Finished(entry.characterId(), status, System.nanoTime()));
+        }
+    }
+
+    private static long waitedMillis(Entry entry, long now) {
+        return TimeUnit.NANOSECONDS.toMillis(now - entry.enqueuedNanos());
+    }
+}
@@ -0,0 +1,278 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.RatingStanding;
+import com.mapledeatharena.history.BattleHistory;
+import com.mapledeatharena.history.BattleRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Elo ladder over every character that has fought at least once.
+ * <p>
+ * Ratings are integers in {@code [0, MAX_RATING]}, so each one is kept three ways: per character in a primitive map,
+ * as a packed (rating, id) key in a skip list for top-N in O(log n + N), and as a count per rating value in a Fenwick
+ * tree for rank and percentile in O(log MAX_RATING) - no walk over the list, however many characters are rated.
+ * <p>
+ * {@link BattleService} applies every outcome while it holds both characters' locks, so updates to one character
+ * never race and there is no ladder-wide lock. The counts are atomics rather than a snapshot, so a query racing an
+ * update may be off by the battle in flight.
+ * <p>
+ * Ratings live in memory; with {@code arena.persistence.enabled} they are saved next to the character snapshots
+ * and restored on startup by {@code RatingPersistence}, so they may lag a crash by up to one snapshot interval.
+ * {@link #rebuild()} is the recovery path: it decompresses the retained history in parallel, replays the outcomes
+ * in battle order and swaps the result in. The history is lossy by design - records are dropped when its writer
+ * falls behind and segments age out after the retention period - so a rebuild reports how many of the ladder's
+ * battles it could not find rather than being run routinely.
+ */
+@Service
+public class RatingLadder {
+
+    public static final int INITIAL_RATING = 1500;
+    public static final int MAX_RATING = 4095;
+
+    static final RatingLadder NONE = new RatingLadder(null, 0);
+
+    public record Rating(long characterId, int rating, int battles) {
+    }
+
+    /**
+     * Outcome of a rebuild. {@code missing} counts battles the replaced ladder had seen but the history no longer
+     * holds; their rating changes are gone.
+     */
+    public record Rebuild(long battles, long missing) {
+    }
+
+    // One complete ladder; rebuild() builds a new one and swaps it in
+    private static final class Ladder {
+        final ConcurrentLongMap<Rating> ratings = new ConcurrentLongMap<>();
+        final ConcurrentSkipListSet<Long> byRating = new ConcurrentSkipListSet<>();
+        // Fenwick tree over rating + 1, counting rated characters per rating value
+        final AtomicLongArray counts = new AtomicLongArray(MAX_RATING + 2);
+        // Outcomes this ladder has seen, however it got them
+        final AtomicLong battles = new AtomicLong();
+
+        void count(int rating, long delta) {
+            for (int i = rating + 1; i < counts.length(); i += i & -i) {
+                counts.addAndGet(i, delta);
+            }
+        }
+
+        // Rated characters with a rating of at most the given one
+        long countAtMost(int rating) {
+            long sum = 0;
+            for (int i = rating + 1; i > 0; i -= i & -i) {
+                sum += counts.get(i);
+            }
+            return sum;
+        }
+
+        long total() {
+            return countAtMost(MAX_RATING);
+        }
+    }
+
+    private final BattleHistory history;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Winner's gain by (loser rating - winner rating + MAX_RATING), so no battle computes a power of ten
+    private final int[] gain;
+    private volatile Ladder ladder = new Ladder();
+
+    @Autowired
+    public RatingLadder(BattleHistory history, @Value("${arena.rating.k-factor:32}") int kFactor) {
+        if (kFactor < 0) {
+            throw new IllegalArgumentException("arena.rating.k-factor must not be negative");
+        }
+        this.history = history;
+        this.gain = new int[2 * MAX_RATING + 1];
+        for (int difference = -MAX_RATING; difference <= MAX_RATING; difference++) {
+            double expected = 1.0 / (1.0 + Math.pow(10, difference / 400.0));
+            gain[difference + MAX_RATING] = (int) Math.round(kFactor * (1.0 - expected));
+        }
+    }
+
+    // Callers hold the locks of both characters
+    public void recordOutcome(long winnerId, long loserId) {
+        if (this == NONE) {
+            return;
+        }
+        Ladder current = ladder;
+        Rating winner = ratingOf(current, winnerId);
+        Rating loser = ratingOf(current, loserId);
+        int change = gain[loser.rating() - winner.rating() + MAX_RATING];
+        move(current, winner, clamp(winner.rating() + change));
+        move(current, loser, clamp(loser.rating() - change));
+        current.battles.incrementAndGet();
+    }
+
+    public Optional<RatingStanding> standing(long characterId) {
+        Ladder current = ladder;
+        Rating rating = current.ratings.get(characterId);
+        return rating == null ? Optional.empty() : Optional.of(standing(current, rating));
+    }
+
+    // Highest ratings first
+    public List<RatingStanding> top(int limit) {
+        if (limit < 1 || limit > CharacterService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + CharacterService.MAX_PAGE_SIZE);
+        }
+        Ladder current = ladder;
+        List<RatingStanding> top = new ArrayList<>(Math.min(limit, 64));
+        Set<Long> seen = new HashSet<>();
+        Iterator<Long> ids = CharacterIndex.ids(current.byRating.descendingSet());
+        while (ids.hasNext() && top.size() < limit) {
+            long id = ids.next();
+            Rating rating = current.ratings.get(id);
+            // A character moving between two keys can show up twice; keep its first entry
+            if (rating != null && seen.add(id)) {
+                top.add(standing(current, rating));
+            }
+        }
+        return top;
+    }
+
+    public long ratedCount() {
+        return ladder.total();
+    }
+
+    public long battles() {
+        return ladder.battles.get();
+    }
+
+    // Every rating, in no particular order - what a snapshot saves
+    public Stream<Rating> ratings() {
+        return ladder.ratings.values();
+    }
+
+    /**
+     * Replace the live ladder with saved ratings, e.g. from a snapshot on startup
+     */
+    public void restore(Collection<Rating> ratings, long battles) {
+        rebuildLock.lock();
+        try {
+            Ladder restored = new Ladder();
+            for (Rating rating : ratings) {
+                if (rating.rating() < 0 || rating.rating() > MAX_RATING) {
+                    throw new IllegalArgumentException("Rating out of range: " + rating);
+                }
+                restored.ratings.put(rating.characterId(), rating);
+            }
+            index(restored);
+            restored.battles.set(battles);
+            ladder = restored;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Recompute every rating from the retained battle history and replace the live ladder with the result.
+     * Battles that finish while the rebuild runs are applied to the old ladder and lost with it; run it again to
+     * pick them up.
+     *
+     * @return the battles replayed, and how many of the old ladder's battles the history did not hold
+     */
+    public Rebuild rebuild() {
+        if (history == null) {
+            return new Rebuild(0, 0);
+        }
+        rebuildLock.lock();
+        try {
+            // Decompressing is the expensive part and runs in parallel; the replay itself is sequential because
+            // every Elo update depends on the ones before it
+            List<long[]> outcomes = history.mapBlocks(RatingLadder::outcomes);
+
+            Ladder fresh = new Ladder();
+            long battles = 0;
+            for (long[] block : outcomes) {
+                for (int i = 0; i < block.length; i += 2) {
+                    Rating winner = fresh.ratings.get(block[i]);
+                    Rating loser = fresh.ratings.get(block[i + 1]);
+                    int winnerRating = winner == null ? INITIAL_RATING : winner.rating();
+                    int loserRating = loser == null ? INITIAL_RATING : loser.rating();
+                    int change = gain[loserRating - winnerRating + MAX_RATING];
+                    fresh.ratings.put(block[i], new Rating(block[i], clamp(winnerRating + change),
+                            winner == null ? 1 : winner.battles() + 1));
+                    fresh.ratings.put(block[i + 1], new Rating(block[i + 1], clamp(loserRating - change),
+                            loser == null ? 1 : loser.battles() + 1));
+                    battles++;
+                }
+            }
+
+            index(fresh);
+            fresh.battles.set(battles);
+            long missing = Math.max(0, ladder.battles.get() - battles);
+            ladder = fresh;
+            return new Rebuild(battles, missing);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Fill the skip list and counts from the ratings map
+    private static void index(Ladder ladder) {
+        ladder.ratings.values().parallel().forEach(rating -> {
+            ladder.byRating.add(CharacterIndex.sortKey(rating.rating(), rating.characterId()));
+            ladder.count(rating.rating(), 1);
+        });
+    }
+
+    // (winner id, loser id) pairs of one history block
+    private static long[] outcomes(List<BattleRecord> records) {
+        long[] pairs = new long[records.size() * 2];
+        int i = 0;
+        for (BattleRecord record : records) {
+            boolean firstWon = record.winnerSlot() == 0;
+            pairs[i++] = firstWon ? record.first().id() : record.second().id();
+            pairs[i++] = firstWon ? record.second().id() : record.first().id();
+        }
+        return pairs;
+    }
+
+    private static Rating ratingOf(Ladder ladder, long characterId) {
+        Rating rating = ladder.ratings.get(characterId);
+        return rating != null ? rating : new Rating(characterId, INITIAL_RATING, 0);
+    }
+
+    // New key first, old one second, like the character index: a reader may see both but never neither
+    private static void move(Ladder ladder, Rating before, int rating) {
+        long id = before.characterId();
+        boolean rated = ladder.ratings.get(id) != null;
+        ladder.ratings.put(id, new Rating(id, rating, before.battles() + 1));
+        if (!rated) {
+            ladder.byRating.add(CharacterIndex.sortKey(rating, id));
+            ladder.count(rating, 1);
+        } else if (rating != before.rating()) {
+            ladder.byRating.add(CharacterIndex.sortKey(rating, id));
+            ladder.byRating.remove(CharacterIndex.sortKey(before.rating(), id));
+            ladder.count(rating, 1);
+            ladder.count(before.rating(), -1);
+        }
+    }
+
+    private static RatingStanding standing(Ladder ladder, Rating rating) {
+        long total = ladder.total();
+        long atMost = ladder.countAtMost(rating.rating());
+        long below = rating.rating() == 0 ? 0 : ladder.countAtMost(rating.rating() - 1);
+        return new RatingStanding(String.valueOf(rating.characterId()), rating.rating(), rating.battles(),
+                total - atMost + 1, total == 0 ? 0 : 100.0 * below / total);
+    }
+
+    private static int clamp(int rating) {
+        return Math.max(0, Math.min(MAX_RATING, rating));
+    }
+}
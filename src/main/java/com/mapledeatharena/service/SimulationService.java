@@ -0,0 +1,204 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.SimulationResponse;
+import com.mapledeatharena.dto.SimulationResponse.RoundPercentiles;
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.engine.SplitMix64;
+import com.mapledeatharena.model.CombatProfile;
+import com.mapledeatharena.model.StatBlock;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only Monte Carlo matchups between two stat blocks. Battles never touch {@link CharacterService}: every
+ * chunk runs on its own engine with event recording off, so the inner loop is primitive-only. Every battle
+ * re-seeds a {@link SplitMix64} from the root seed and its own index, so how the battles are chunked - and so the
+ * number of cores - never changes the answer for a seed.
+ * <p>
+ * Chunks run on a pool of their own ({@code arena.simulation.threads}), so a large simulation cannot starve
+ * tournaments or anything else on the common pool. A request is refused up front when its estimated rounds -
+ * battles times the rounds a battle takes on average damage - exceed {@code arena.simulation.max-rounds}.
+ */
+@Service
+public class SimulationService {
+
+    // Rounds beyond this are folded into the last histogram bucket
+    static final int MAX_TRACKED_ROUNDS = 4_096;
+
+    private static final long MIN_CHUNK = 10_000;
+
+    private final int threads;
+    private final long maxRounds;
+    private final ExecutorService executor;
+
+    public SimulationService(@Value("${arena.simulation.threads:0}") int threads,
+                             @Value("${arena.simulation.max-rounds:2000000000}") long maxRounds) {
+        if (threads < 0 || maxRounds < 1) {
+            throw new IllegalArgumentException("arena.simulation.threads must not be negative, max-rounds positive");
+        }
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxRounds = maxRounds;
+        this.executor = Executors.newFixedThreadPool(this.threads,
+                Thread.ofPlatform().name("simulation-", 0).daemon().factory());
+    }
+
+    /**
+     * @throws IllegalArgumentException if battles is below 1
+     * @throws IllegalStateException    if neither side can deal damage or the run is over the rounds budget
+     */
+    public SimulationResponse simulate(StatBlock first, StatBlock second, long battles, Long seed) {
+        if (battles < 1) {
+            throw new IllegalArgumentException("Battles must be at least 1");
+        }
+        int chunks = (int) Math.min(threads * 8L, Math.max(1, battles / MIN_CHUNK));
+        return simulate(first, second, battles, seed, chunks);
+    }
+
+    // Any chunk count gives the same result for a seed; tests pin it to check exactly that
+    SimulationResponse simulate(StatBlock first, StatBlock second, long battles, Long seed, int chunks) {
+        long estimate = estimateRounds(first, second, battles);
+        if (estimate > maxRounds) {
+            throw new IllegalStateException("About " + estimate + " rounds is over the simulation budget of "
+                    + maxRounds + " - ask for fewer battles");
+        }
+        long rootSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        long started = System.nanoTime();
+
+        List<Future<Tally>> parts = new ArrayList<>(chunks);
+        try {
+            for (int i = 0; i < chunks; i++) {
+                long from = battles * i / chunks;
+                long to = battles * (i + 1) / chunks;
+                parts.add(executor.submit(() -> runChunk(first, second, from, to, rootSeed)));
+            }
+            Tally total = parts.get(0).get();
+            for (int i = 1; i < chunks; i++) {
+                total.merge(parts.get(i).get());
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            return total.toResponse(battles, rootSeed, elapsedMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            parts.forEach(part -> part.cancel(true));
+        }
+    }
+
+    // Battles times the rounds the quicker side needs to deal the other's HP at its mean damage, (bound - 1) / 2
+    static long estimateRounds(StatBlock first, StatBlock second, long battles) {
+        int firstBound = first.combatProfile().attackBound();
+        int secondBound = second.combatProfile().attackBound();
+        if (firstBound < 2 && secondBound < 2) {
+            throw new IllegalStateException("Neither side can deal damage - the battles would never end");
+        }
+        long firstNeeds = firstBound < 2 ? Long.MAX_VALUE : 2L * second.healthPoints() / (firstBound - 1) + 1;
+        long secondNeeds = secondBound < 2 ? Long.MAX_VALUE : 2L * first.healthPoints() / (secondBound - 1) + 1;
+        long perBattle = Math.min(firstNeeds, secondNeeds);
+        return perBattle > Long.MAX_VALUE / battles ? Long.MAX_VALUE : perBattle * battles;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Battles [from, to) of the run
+    private static Tally runChunk(StatBlock first, StatBlock second, long from, long to, long rootSeed) {
+        CombatProfile firstProfile = first.combatProfile();
+        CombatProfile secondProfile = second.combatProfile();
+
+        Tally tally = new Tally(firstProfile.attackBound(), secondProfile.attackBound());
+        BattleEngine engine = new BattleEngine();
+        engine.recordEvents(false);
+        engine.recordDamage(tally.damage);
+        SplitMix64 random = new SplitMix64(0);
+
+        for (long i = from; i < to; i++) {
+            engine.load(BattleEngine.FIRST, first.healthPoints(), firstProfile);
+            engine.load(BattleEngine.SECOND, second.healthPoints(), secondProfile);
+
+            tally.wins[engine.fight(random.reseed(SplitMix64.mix(rootSeed + i * 0x9E3779B97F4A7C15L)))]++;
+            int rounds = engine.rounds();
+            tally.roundsSum += rounds;
+            tally.rounds[Math.min(rounds, MAX_TRACKED_ROUNDS)]++;
+        }
+        return tally;
+    }
+
+    // Per-chunk counters, merged pairwise once all chunks are done
+    private static final class Tally {
+        final long[] wins = new long[2];
+        final long[] rounds = new long[MAX_TRACKED_ROUNDS + 1];
+        final long[][] damage;
+        long roundsSum;
+
+        Tally(int firstDamageValues, int secondDamageValues) {
+            this.damage = new long[][]{new long[firstDamageValues], new long[secondDamageValues]};
+        }
+
+        Tally merge(Tally other) {
+            wins[0] += other.wins[0];
+            wins[1] += other.wins[1];
+            roundsSum += other.roundsSum;
+            add(rounds, other.rounds);
+            add(damage[0], other.damage[0]);
+            add(damage[1], other.damage[1]);
+            return this;
+        }
+
+        SimulationResponse toResponse(long battles, long seed, long elapsedMillis) {
+            return new SimulationResponse(
+                    battles,
+                    wins[0],
+                    wins[1],
+                    (double) wins[0] / battles,
+                    (double) wins[1] / battles,
+                    (double) roundsSum / battles,
+                    new RoundPercentiles(
+                            percentile(battles, 0.50),
+                            percentile(battles, 0.90),
+                            percentile(battles, 0.99),
+                            percentile(battles, 1.0)
+                    ),
+                    damage[0],
+                    damage[1],
+                    seed,
+                    elapsedMillis
+            );
+        }
+
+        // Smallest round count covering the given fraction of battles
+        private int percentile(long battles, double fraction) {
+            long target = (long) Math.ceil(fraction * battles);
+            long seen = 0;
+            for (int r = 0; r < rounds.length; r++) {
+                seen += rounds[r];
+                if (seen >= target) {
+                    return r;
+                }
+            }
+            return MAX_TRACKED_ROUNDS;
+        }
+
+        private static void add(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+    }
+}
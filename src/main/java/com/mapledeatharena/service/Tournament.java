@@ -0,0 +1,296 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.TournamentMatch;
+import com.mapledeatharena.dto.TournamentResult;
+import com.mapledeatharena.dto.TournamentRound;
+import com.mapledeatharena.dto.TournamentStanding;
+import com.mapledeatharena.engine.BattleEngine;
+import com.mapledeatharena.engine.SplitMix64;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.CombatProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * A prepared tournament: its entrants snapshotted into parallel arrays (id, combat profile, max HP, HP, wins) and
+ * addressed by entry index, so a round is a pass over {@code int[]} pairings with no per-match objects.
+ * <p>
+ * Each round's matches are split into chunks that run in parallel, every chunk on its own engine with event
+ * recording off. Every match re-seeds a SplitMix64 from the tournament seed, the round and its match number, so a
+ * seed gives the same bracket on any number of cores. Only the snapshot changes; live characters are never touched.
+ * <p>
+ * Not reusable: {@link #run} may be called once.
+ */
+public final class Tournament {
+
+    public enum Format {
+        SINGLE_ELIMINATION,
+        SWISS;
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return SINGLE_ELIMINATION;
+            }
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Format must be one of: single-elimination, swiss");
+            }
+        }
+
+        public String label() {
+            return name().replace('_', '-').toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum HealthPoints {
+        RESET,
+        CARRY;
+
+        public static HealthPoints parse(String value) {
+            if (value == null || value.isBlank()) {
+                return RESET;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Health points must be one of: reset, carry");
+            }
+        }
+    }
+
+    // Rounds with more matches than this report counts only
+    static final int MAX_LISTED_MATCHES = 64;
+    static final int STANDINGS = 16;
+
+    private static final int MIN_CHUNK = 4_096;
+
+    private final CharacterService characterService;
+    private final Format format;
+    private final HealthPoints healthPoints;
+    private final int swissRounds;
+    private final long seed;
+
+    private final int size;
+    private final long[] ids;
+    private final CombatProfile[] profiles;
+    private final int[] maxHealthPoints;
+    private final int[] remaining;
+    private final int[] wins;
+
+    private boolean started;
+
+    Tournament(CharacterService characterService, Entrants entrants, Format format, HealthPoints healthPoints,
+               int swissRounds, long seed) {
+        this.characterService = characterService;
+        this.format = format;
+        this.healthPoints = healthPoints;
+        this.swissRounds = swissRounds;
+        this.seed = seed;
+        this.size = entrants.size;
+        this.ids = entrants.ids;
+        this.profiles = entrants.profiles;
+        this.maxHealthPoints = entrants.maxHealthPoints;
+        this.remaining = entrants.healthPoints;
+        this.wins = new int[size];
+    }
+
+    public int entrants() {
+        return size;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Play every round, handing each to {@code progress} as soon as it is done, and return the final standings
+     */
+    public TournamentResult run(Consumer<TournamentRound> progress) {
+        if (started) {
+            throw new IllegalStateException("A tournament can only be run once");
+        }
+        started = true;
+
+        long start = System.nanoTime();
+        long matches = 0;
+        int round = 0;
+        int champion;
+
+        if (format == Format.SWISS) {
+            int[] order = new int[size];
+            while (round < swissRounds) {
+                round++;
+                rankByWins(order, round - 1);
+                // The lowest ranked entrant sits out an odd round; the bye counts as a win and moves it up
+                int pairs = size / 2;
+                int byes = size & 1;
+                if (byes == 1) {
+                    wins[order[size - 1]]++;
+                }
+                int[] matchRounds = play(round, order, pairs, new int[pairs], 0);
+                matches += pairs;
+                progress.accept(report(round, order, pairs, byes, size, matchRounds, start));
+            }
+            rankByWins(order, swissRounds);
+            champion = order[0];
+        } else {
+            int[] field = IntStream.range(0, size).toArray();
+            while (field.length > 1) {
+                round++;
+                int pairs = field.length / 2;
+                int byes = field.length & 1;
+                int[] winners = new int[pairs + byes];
+                // The entrant left over advances at the head of the next round, so byes do not keep landing on it
+                if (byes == 1) {
+                    winners[0] = field[field.length - 1];
+                    wins[winners[0]]++;
+                }
+                int[] matchRounds = play(round, field, pairs, winners, byes);
+                matches += pairs;
+                progress.accept(report(round, field, pairs, byes, winners.length, matchRounds, start));
+                field = winners;
+            }
+            champion = field[0];
+        }
+
+        List<TournamentStanding> standings = standings(round);
+        return new TournamentResult(
+                format.label(),
+                healthPoints.name().toLowerCase(Locale.ROOT),
+                size,
+                round,
+                matches,
+                standing(1, champion),
+                standings,
+                seed,
+                (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    // Play pairs (field[2k], field[2k + 1]) and write match k's winner to winners[offset + k]
+    private int[] play(int round, int[] field, int pairs, int[] winners, int offset) {
+        int[] matchRounds = pairs <= MAX_LISTED_MATCHES ? new int[pairs] : null;
+        int chunks = (int) Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 8L, pairs / MIN_CHUNK));
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            BattleEngine engine = new BattleEngine();
+            engine.recordEvents(false);
+            SplitMix64 random = new SplitMix64(0);
+
+            int to = (int) ((long) pairs * (chunk + 1) / chunks);
+            for (int k = (int) ((long) pairs * chunk / chunks); k < to; k++) {
+                int first = field[2 * k];
+                int second = field[2 * k + 1];
+                engine.load(BattleEngine.FIRST, startingHealthPoints(first), profiles[first]);
+                engine.load(BattleEngine.SECOND, startingHealthPoints(second), profiles[second]);
+
+                int slot = engine.fight(random.reseed(matchSeed(round, k)));
+                int winner = slot == BattleEngine.FIRST ? first : second;
+                remaining[winner] = engine.healthPoints(slot);
+                remaining[winner == first ? second : first] = 0;
+                wins[winner]++;
+                winners[offset + k] = winner;
+                if (matchRounds != null) {
+                    matchRounds[k] = engine.rounds();
+                }
+            }
+        });
+        return matchRounds;
+    }
+
+    private int startingHealthPoints(int entrant) {
+        return healthPoints == HealthPoints.RESET ? maxHealthPoints[entrant] : remaining[entrant];
+    }
+
+    // Independent stream per (round, match), so neighbouring matches do not correlate
+    private long matchSeed(int round, int match) {
+        return SplitMix64.mix(seed + round * 0x9E3779B97F4A7C15L + match * 0xD1B54A32D192ED03L);
+    }
+
+    private TournamentRound report(int round, int[] field, int pairs, int byes, int left, int[] matchRounds,
+                                   long start) {
+        List<TournamentMatch> results = null;
+        if (matchRounds != null) {
+            results = new ArrayList<>(pairs);
+            for (int k = 0; k < pairs; k++) {
+                int first = field[2 * k];
+                int second = field[2 * k + 1];
+                int winner = remaining[first] > 0 ? first : second;
+                results.add(new TournamentMatch(String.valueOf(ids[first]), String.valueOf(ids[second]),
+                        String.valueOf(ids[winner]), remaining[winner], matchRounds[k]));
+            }
+        }
+        return new TournamentRound(round, pairs, byes, left, (System.nanoTime() - start) / 1_000_000, results);
+    }
+
+    // Counting sort of all entrants by wins, most first, entry order within a tie - stable, so pairings are repeatable
+    private void rankByWins(int[] order, int maxWins) {
+        int[] starts = new int[maxWins + 2];
+        for (int i = 0; i < size; i++) {
+            starts[maxWins - wins[i] + 1]++;
+        }
+        for (int w = 1; w < starts.length; w++) {
+            starts[w] += starts[w - 1];
+        }
+        for (int i = 0; i < size; i++) {
+            order[starts[maxWins - wins[i]]++] = i;
+        }
+    }
+
+    private List<TournamentStanding> standings(int rounds) {
+        int[] order = new int[size];
+        rankByWins(order, rounds);
+        int count = Math.min(STANDINGS, size);
+        List<TournamentStanding> standings = new ArrayList<>(count);
+        int place = 1;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && wins[order[i]] < wins[order[i - 1]]) {
+                place = i + 1;
+            }
+            standings.add(standing(place, order[i]));
+        }
+        return standings;
+    }
+
+    private TournamentStanding standing(int place, int entrant) {
+        String name = characterService.getById(ids[entrant]).map(Character::getName).orElse(null);
+        return new TournamentStanding(place, String.valueOf(ids[entrant]), name, wins[entrant], remaining[entrant]);
+    }
+
+    /**
+     * Growable snapshot of the entrants, filled in seeding order
+     */
+    static final class Entrants {
+        private long[] ids = new long[64];
+        private CombatProfile[] profiles = new CombatProfile[64];
+        private int[] maxHealthPoints = new int[64];
+        private int[] healthPoints = new int[64];
+        private int size;
+
+        void add(Character character) {
+            if (size == ids.length) {
+                int capacity = size << 1;
+                ids = Arrays.copyOf(ids, capacity);
+                profiles = Arrays.copyOf(profiles, capacity);
+                maxHealthPoints = Arrays.copyOf(maxHealthPoints, capacity);
+                healthPoints = Arrays.copyOf(healthPoints, capacity);
+            }
+            ids[size] = character.getId();
+            profiles[size] = character.getCombatProfile();
+            maxHealthPoints[size] = character.getMaxHealthPoints();
+            healthPoints[size] = character.getHealthPoints();
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
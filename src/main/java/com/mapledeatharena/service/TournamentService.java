@@ -0,0 +1,86 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.dto.CharacterIds;
+import com.mapledeatharena.dto.TournamentRequest;
+import com.mapledeatharena.model.Character;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only tournaments between stored characters. Entrants are snapshotted once, up front, and the bracket is
+ * played on the snapshot with the same engine as {@link BattleService}; nothing is written back, so a tournament
+ * leaves HP, experience, ratings and the battle history as they were.
+ */
+@Service
+public class TournamentService {
+
+    private static final CharacterFilter ALIVE = new CharacterFilter(null, true, null, null);
+
+    private final CharacterService characterService;
+
+    public TournamentService(CharacterService characterService) {
+        this.characterService = characterService;
+    }
+
+    /**
+     * Validate the request and snapshot its entrants. Every error surfaces here, before anything is streamed.
+     *
+     * @throws IllegalArgumentException if an entrant is missing or listed twice, or the options do not fit
+     * @throws IllegalStateException    if an entrant is dead or fewer than two are left to play
+     */
+    public Tournament prepare(TournamentRequest request) {
+        Tournament.Format format = Tournament.Format.parse(request.format());
+        Tournament.HealthPoints healthPoints = Tournament.HealthPoints.parse(request.healthPoints());
+        if (format == Tournament.Format.SWISS && healthPoints == Tournament.HealthPoints.CARRY) {
+            throw new IllegalArgumentException("Health points can only carry over in single elimination");
+        }
+        if (format == Tournament.Format.SINGLE_ELIMINATION && request.rounds() != null) {
+            throw new IllegalArgumentException("Rounds can only be set for a Swiss tournament");
+        }
+
+        Tournament.Entrants entrants = snapshot(request.characterIds());
+        if (entrants.size() < 2) {
+            throw new IllegalStateException("A tournament needs at least 2 alive characters");
+        }
+
+        int rounds = request.rounds() != null ? request.rounds() : ceilLog2(entrants.size());
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+        return new Tournament(characterService, entrants, format, healthPoints, rounds, seed);
+    }
+
+    // Listed entrants in the order given, or every alive character in id order
+    private Tournament.Entrants snapshot(List<String> characterIds) {
+        Tournament.Entrants entrants = new Tournament.Entrants();
+        if (characterIds == null || characterIds.isEmpty()) {
+            characterService.stream(ALIVE)
+                    .sorted(Comparator.comparingLong(Character::getId))
+                    .forEachOrdered(entrants::add);
+            return entrants;
+        }
+
+        Set<Long> seen = new HashSet<>(characterIds.size() * 2);
+        for (String characterId : characterIds) {
+            long id = CharacterIds.parse(characterId);
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Character with ID " + id + " is entered twice");
+            }
+            Character character = characterService.getById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Character with ID " + id + " not found"));
+            if (character.isDead()) {
+                throw new IllegalStateException("Character " + character.getName() + " is already dead");
+            }
+            entrants.add(character);
+        }
+        return entrants;
+    }
+
+    private static int ceilLog2(int value) {
+        return 32 - Integer.numberOfLeadingZeros(value - 1);
+    }
+}
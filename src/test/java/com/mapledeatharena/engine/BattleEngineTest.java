@@ -0,0 +1,115 @@
+package com.mapledeatharena.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleEngineTest {
+
+    private BattleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BattleEngine();
+    }
+
+    @Test
+    void encode_shouldRoundTripAllFields() {
+        long code = BattleEvents.encode(BattleEvents.ATTACK, 1, 123456, 14, 65535);
+
+        assertEquals(BattleEvents.ATTACK, BattleEvents.type(code));
+        assertEquals(1, BattleEvents.actor(code));
+        assertEquals(123456, BattleEvents.round(code));
+        assertEquals(14, BattleEvents.a(code));
+        assertEquals(65535, BattleEvents.b(code));
+    }
+
+    @Test
+    void fight_shouldEndWithExactlyOneSurvivor() {
+        engine.load(BattleEngine.FIRST, 20, 9.0, 4.0);
+        engine.load(BattleEngine.SECOND, 15, 12.0, 8.0);
+
+        int winner = engine.fight(new Random(42L));
+
+        assertTrue(engine.healthPoints(winner) > 0);
+        assertEquals(0, engine.healthPoints(winner ^ 1));
+        assertTrue(engine.rounds() > 0);
+    }
+
+    @Test
+    void fight_eventsShouldReplayToFinalHealthPoints() {
+        engine.load(BattleEngine.FIRST, 12, 14.2, 2.9);
+        engine.load(BattleEngine.SECOND, 20, 9.0, 4.0);
+
+        engine.fight(new Random(7L));
+
+        int[] hp = {12, 20};
+        BattleEvents events = engine.events();
+        for (int i = 0; i < events.size(); i++) {
+            long code = events.get(i);
+            if (BattleEvents.type(code) == BattleEvents.SPEED) {
+                assertTrue(BattleEvents.a(code) > BattleEvents.b(code), "Faster roll must beat slower roll");
+            } else {
+                int defender = BattleEvents.actor(code) ^ 1;
+                hp[defender] = Math.max(0, hp[defender] - BattleEvents.a(code));
+                assertEquals(hp[defender], BattleEvents.b(code));
+            }
+        }
+        assertEquals(engine.healthPoints(BattleEngine.FIRST), hp[0]);
+        assertEquals(engine.healthPoints(BattleEngine.SECOND), hp[1]);
+    }
+
+    @Test
+    void fight_whenNeitherSideCanDealDamage_shouldBeRejected() {
+        engine.load(BattleEngine.FIRST, 20, 0.5, 4.0);
+        engine.load(BattleEngine.SECOND, 20, 0.0, 8.0);
+
+        assertThrows(IllegalStateException.class, () -> engine.fight(new Random(1L)));
+    }
+
+    @Test
+    void fight_withSameSeed_shouldRecordSameEvents() {
+        engine.load(BattleEngine.FIRST, 20, 9.0, 4.0);
+        engine.load(BattleEngine.SECOND, 20, 9.0, 4.0);
+        engine.fight(new Random(99L));
+        long[] first = engine.events().toArray();
+
+        engine.load(BattleEngine.FIRST, 20, 9.0, 4.0);
+        engine.load(BattleEngine.SECOND, 20, 9.0, 4.0);
+        engine.fight(new Random(99L));
+
+        assertArrayEquals(first, engine.events().toArray());
+    }
+
+    @Test
+    void acquire_onPlatformThread_shouldReturnSameEngine() {
+        BattleEngine first = BattleEngine.acquire();
+        first.release();
+
+        assertSame(first, BattleEngine.acquire());
+    }
+
+    @Test
+    void acquire_onVirtualThread_shouldReuseReleasedEngine() throws InterruptedException {
+        BattleEngine[] engines = new BattleEngine[2];
+        Thread.ofVirtual().start(() -> {
+            engines[0] = BattleEngine.acquire();
+            engines[0].recordEvents(false);
+            engines[0].release();
+        }).join();
+        Thread.ofVirtual().start(() -> engines[1] = BattleEngine.acquire()).join();
+
+        assertSame(engines[0], engines[1]);
+        assertNotSame(BattleEngine.acquire(), engines[1]);
+
+        // Released engines come back with default hooks
+        engines[1].load(BattleEngine.FIRST, 20, 9.0, 4.0);
+        engines[1].load(BattleEngine.SECOND, 15, 12.0, 8.0);
+        engines[1].fight(new Random(42L));
+        assertTrue(engines[1].events().size() > 0);
+        engines[1].release();
+    }
+}
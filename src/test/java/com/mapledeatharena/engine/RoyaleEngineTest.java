@@ -0,0 +1,134 @@
+package com.mapledeatharena.engine;
+
+import com.mapledeatharena.model.CombatProfile;
+import com.mapledeatharena.model.CombatProfiles;
+import com.mapledeatharena.model.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoyaleEngineTest {
+
+    private static final Job[] JOBS = Job.values();
+
+    @Test
+    void turnQueue_shouldPollInDescendingOrder() {
+        TurnQueue queue = new TurnQueue(2);
+        SplittableRandom random = new SplittableRandom(5L);
+        long[] keys = random.longs(1_000, 0, Long.MAX_VALUE).toArray();
+        for (long key : keys) {
+            queue.add(key);
+        }
+        queue.heapify();
+
+        long previous = Long.MAX_VALUE;
+        while (!queue.isEmpty()) {
+            long key = queue.poll();
+            assertTrue(key <= previous);
+            previous = key;
+        }
+    }
+
+    @Test
+    void fight_shouldPlaceEveryCombatantExactlyOnce() {
+        RoyaleEngine arena = load(500);
+
+        int winner = arena.fight(TargetPolicy.RANDOM, new SplitMix64(1L));
+
+        assertEquals(1, arena.aliveCount());
+        assertTrue(arena.healthPoints(winner) > 0);
+        assertEquals(1, arena.placement(winner));
+        assertEquals(RoyaleEngine.NONE, arena.eliminatedBy(winner));
+
+        Set<Integer> places = new HashSet<>();
+        long kills = 0;
+        for (int slot = 0; slot < arena.size(); slot++) {
+            places.add(arena.placement(slot));
+            assertEquals(slot, arena.slotAtPlace(arena.placement(slot)));
+            kills += arena.kills(slot);
+            if (slot != winner) {
+                assertEquals(0, arena.healthPoints(slot));
+                assertTrue(arena.eliminatedRound(slot) >= 1 && arena.eliminatedRound(slot) <= arena.rounds());
+            }
+        }
+        assertEquals(500, places.size());
+        assertEquals(499, kills);
+    }
+
+    @Test
+    void fight_withSameSeed_shouldBeReproducible() {
+        for (TargetPolicy policy : new TargetPolicy[]{
+                TargetPolicy.RANDOM, TargetPolicy.WEAKEST, TargetPolicy.STRONGEST, TargetPolicy.RETALIATE}) {
+            RoyaleEngine first = load(200);
+            RoyaleEngine second = load(200);
+
+            assertEquals(first.fight(policy, new SplitMix64(9L)), second.fight(policy, new SplitMix64(9L)));
+            assertEquals(first.turns(), second.turns());
+            for (int place = 1; place <= 200; place++) {
+                assertEquals(first.slotAtPlace(place), second.slotAtPlace(place));
+            }
+        }
+    }
+
+    @Test
+    void weakestAndStrongest_shouldMatchALinearScan() {
+        RoyaleEngine arena = load(300);
+        SplitMix64 random = new SplitMix64(3L);
+
+        // Check every pick against a scan over the living slots, then take the turn as the policy would
+        TargetPolicy checked = (engine, attacker, rnd) -> {
+            int weakest = RoyaleEngine.NONE;
+            int strongest = RoyaleEngine.NONE;
+            for (int slot = 0; slot < engine.size(); slot++) {
+                if (slot == attacker || !engine.isAlive(slot)) {
+                    continue;
+                }
+                if (weakest == RoyaleEngine.NONE || engine.healthPoints(slot) < engine.healthPoints(weakest)) {
+                    weakest = slot;
+                }
+                if (strongest == RoyaleEngine.NONE || engine.healthPoints(slot) > engine.healthPoints(strongest)) {
+                    strongest = slot;
+                }
+            }
+            assertEquals(weakest, engine.weakestOpponent(attacker));
+            assertEquals(strongest, engine.strongestOpponent(attacker));
+            return engine.randomOpponent(attacker, rnd);
+        };
+
+        arena.fight(checked, random);
+        assertEquals(1, arena.aliveCount());
+    }
+
+    @Test
+    void fight_shouldRejectInvalidTargets() {
+        RoyaleEngine arena = load(3);
+
+        assertThrows(IllegalStateException.class, () -> arena.fight((engine, attacker, random) -> attacker,
+                new SplitMix64(1L)));
+    }
+
+    @Test
+    void load_shouldRejectDeadCombatants() {
+        RoyaleEngine arena = new RoyaleEngine(2);
+
+        assertThrows(IllegalArgumentException.class, () -> arena.load(0, 0, CombatProfiles.base(Job.MAGE)));
+        assertThrows(IllegalArgumentException.class, () -> new RoyaleEngine(1));
+    }
+
+    // Base profiles of every job in turn, with HP spread so the HP trees see many ties and changes
+    private static RoyaleEngine load(int size) {
+        RoyaleEngine arena = new RoyaleEngine(size);
+        RandomGenerator random = new SplittableRandom(size);
+        for (int slot = 0; slot < size; slot++) {
+            Job job = JOBS[slot % JOBS.length];
+            CombatProfile profile = CombatProfiles.base(job);
+            arena.load(slot, job.getBaseHealthPoints() + random.nextInt(10), profile);
+        }
+        return arena;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mapledeatharena.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededRandomProviderTest {
+
+    @Test
+    void forBattle_shouldNotShiftTheStreamOfThePreviousBattle() {
+        SeededRandomProvider provider = new SeededRandomProvider(42L);
+        RandomGenerator battle = provider.forBattle();
+        RandomGenerator next = provider.forBattle();
+
+        long[] draws = new long[9];
+        for (int i = 0; i < draws.length; i++) {
+            draws[i] = battle.nextLong();
+        }
+        long[] nextDraws = new long[8];
+        for (int i = 0; i < nextDraws.length; i++) {
+            nextDraws[i] = next.nextLong();
+        }
+
+        assertFalse(Arrays.equals(Arrays.copyOfRange(draws, 1, 9), nextDraws));
+        assertNotEquals(draws[1], nextDraws[0]);
+    }
+
+    @Test
+    void forBattle_withSameSeed_shouldReplayTheSameBattles() {
+        SeededRandomProvider first = new SeededRandomProvider(7L);
+        SeededRandomProvider second = new SeededRandomProvider(7L);
+
+        for (int battle = 0; battle < 3; battle++) {
+            long seed = first.nextSeed();
+            assertEquals(seed, second.nextSeed());
+            assertEquals(first.forSeed(seed).nextLong(), second.forSeed(seed).nextLong());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.mapledeatharena.history;
+
+import com.mapledeatharena.TearingChannel;
+import com.mapledeatharena.engine.SeededRandomProvider;
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleHistoryTest {
+
+    private Path directory;
+    private BattleHistory history;
+    private CharacterService characterService;
+    private BattleService battleService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("arena-history");
+        history = open(Long.MAX_VALUE);
+        characterService = new CharacterService();
+        battleService = new BattleService(characterService, new SeededRandomProvider(42L), history);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        history.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void find_shouldReturnRecordedBattleWithSameLog() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+
+        BattleResult result = battleService.executeBattle(warrior.getId(), thief.getId());
+        awaitStored(1);
+
+        BattleRecord record = history.find(result.battleId()).orElseThrow();
+        assertTrue(record.seeded());
+        assertFalse(record.hasEvents());
+        assertEquals(result.battleLog(), BattleReplayer.withEvents(record).toLog().render());
+        assertEquals(result.winner().getId(), record.winner().id());
+        assertTrue(history.find(result.battleId() + 1).isEmpty());
+    }
+
+    @Test
+    void replay_shouldReproduceThreadLocalBattleFromStoredSeed() {
+        battleService = new BattleService(characterService, new ThreadLocalRandomProvider(), history);
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character mage = characterService.create("Mage", "MAGE");
+
+        BattleResult result = battleService.executeBattle(warrior.getId(), mage.getId());
+        awaitStored(1);
+
+        BattleReplayer.Replay replay = BattleReplayer.replay(history.find(result.battleId()).orElseThrow());
+        assertTrue(replay.verified(), replay.mismatches().toString());
+        assertEquals(result.battleLog(), replay.record().toLog().render());
+    }
+
+    @Test
+    void replay_shouldReportOutcomeThatNoLongerMatches() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+        long battleId = battleService.executeBattle(warrior.getId(), thief.getId()).battleId();
+        awaitStored(1);
+
+        BattleRecord stored = history.find(battleId).orElseThrow();
+        BattleRecord altered = new BattleRecord(stored.battleId(), stored.timestamp(), stored.algorithm(),
+                stored.seed(), stored.first(), stored.second(), stored.winnerSlot(),
+                stored.winnerHealthPoints() + 1, stored.rounds(), stored.checksum(), null);
+
+        BattleReplayer.Replay replay = BattleReplayer.replay(altered);
+        assertFalse(replay.verified());
+        assertEquals(1, replay.mismatches().size());
+        assertThrows(IllegalStateException.class, () -> BattleReplayer.withEvents(altered));
+    }
+
+    @Test
+    void recentForCharacter_shouldReturnNewestFirstAcrossBlocks() {
+        Character hero = characterService.create("Hero", "WARRIOR");
+        List<Long> heroBattles = new ArrayList<>();
+        int battles = BattleHistory.BLOCK_RECORDS + 100;
+        for (int i = 0; i < battles; i++) {
+            Character opponent = characterService.create("Opponent", "MAGE");
+            reviveHero(hero.getId());
+            heroBattles.add(battleService.executeBattle(hero.getId(), opponent.getId()).battleId());
+        }
+        awaitStored(battles);
+
+        List<BattleRecord> recent = history.recentForCharacter(hero.getId(), 600);
+
+        assertEquals(600, recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            assertEquals((long) heroBattles.get(battles - 1 - i), recent.get(i).battleId());
+        }
+        assertEquals(1, history.recentForCharacter(recent.get(0).second().id(), 100).size());
+    }
+
+    @Test
+    void restart_shouldReloadHistoryAndContinueIds() throws IOException {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character mage = characterService.create("Mage", "MAGE");
+        long first = battleService.executeBattle(warrior.getId(), mage.getId()).battleId();
+        history.stop();
+
+        history = open(Long.MAX_VALUE);
+        battleService = new BattleService(characterService, new SeededRandomProvider(7L), history);
+        Character thief = characterService.create("Thief", "THIEF");
+        Character other = characterService.create("Other", "THIEF");
+        long second = battleService.executeBattle(thief.getId(), other.getId()).battleId();
+
+        assertTrue(history.find(first).isPresent());
+        assertTrue(second > first);
+    }
+
+    @Test
+    void applyRetention_shouldDropSegmentsPastRetention() throws IOException, InterruptedException {
+        history.stop();
+        long retention = 60_000;
+        history = open(retention);
+        battleService = new BattleService(characterService, new SeededRandomProvider(1L), history);
+
+        long old = fight();
+        awaitStored(1);
+        Thread.sleep(5);
+        long recent = fight();
+        awaitStored(2);
+
+        history.applyRetention(history.find(recent).orElseThrow().timestamp() + retention);
+
+        assertTrue(history.find(old).isEmpty());
+        assertTrue(history.find(recent).isPresent());
+    }
+
+    @Test
+    void flush_afterTornWrite_shouldKeepLaterBlocksReadableAndRecoverable() throws IOException {
+        // The first segment tears its second block halfway; the writer must cut it off before appending more
+        history.stop();
+        history = new BattleHistory(true, directory, 10_000, Long.MAX_VALUE, 1 << 20, 10, path -> {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return new TearingChannel(channel, 2);
+        });
+        history.start();
+        battleService = new BattleService(characterService, new SeededRandomProvider(42L), history);
+
+        long before = fight();
+        awaitStored(1);
+        fight();
+        await(() -> history.droppedCount() == 1);
+        long after = fight();
+        awaitStored(2);
+
+        assertTrue(history.find(before).isPresent());
+        assertTrue(history.find(after).isPresent());
+
+        history.stop();
+        history = open(Long.MAX_VALUE);
+        assertEquals(2, history.storedCount());
+        assertTrue(history.find(before).isPresent());
+        assertTrue(history.find(after).isPresent());
+    }
+
+    @Test
+    void enabled_withInMemoryCharacterStore_shouldBeRefused() {
+        String path = directory.toString();
+        assertThrows(IllegalArgumentException.class,
+                () -> new BattleHistory(true, path, 10_000, 168, 64, false, "heap"));
+        new BattleHistory(true, path, 10_000, 168, 64, false, "mapped");
+        new BattleHistory(true, path, 10_000, 168, 64, true, "heap");
+        new BattleHistory(false, path, 10_000, 168, 64, false, "heap");
+    }
+
+    private long fight() {
+        Character first = characterService.create("Fighter", "WARRIOR");
+        Character second = characterService.create("Fighter", "THIEF");
+        return battleService.executeBattle(first.getId(), second.getId()).battleId();
+    }
+
+    // One-byte segments put every block in its own segment, which makes retention observable
+    private BattleHistory open(long retentionMillis) throws IOException {
+        long segmentBytes = retentionMillis == Long.MAX_VALUE ? 1 << 20 : 1;
+        BattleHistory opened = new BattleHistory(true, directory, 10_000, retentionMillis, segmentBytes, 10);
+        opened.start();
+        return opened;
+    }
+
+    private void reviveHero(long id) {
+        Character hero = characterService.getById(id).orElseThrow();
+        hero.setHealthPoints(hero.getMaxHealthPoints());
+        hero.setAlive(true);
+        characterService.update(hero);
+    }
+
+    private void awaitStored(long count) {
+        await(() -> history.storedCount() >= count);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the history writer");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
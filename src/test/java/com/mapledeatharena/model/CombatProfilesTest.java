@@ -0,0 +1,88 @@
+package com.mapledeatharena.model;
+
+import com.mapledeatharena.engine.BattleEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombatProfilesTest {
+
+    @Test
+    void of_shouldMatchJobFormulasBitForBit() {
+        for (Job job : Job.values()) {
+            for (int strength = 0; strength <= 100; strength++) {
+                for (int dexterity = 0; dexterity <= 100; dexterity++) {
+                    for (int intelligence = 0; intelligence <= 100; intelligence++) {
+                        CombatProfile profile = CombatProfiles.of(job, strength, dexterity, intelligence);
+                        double attack = job.calculateAttackModifier(strength, dexterity, intelligence);
+                        double speed = job.calculateSpeedModifier(strength, dexterity, intelligence);
+
+                        if (Double.doubleToLongBits(attack) != Double.doubleToLongBits(profile.attackModifier())
+                                || Double.doubleToLongBits(speed) != Double.doubleToLongBits(profile.speedModifier())) {
+                            fail(job + " " + strength + "/" + dexterity + "/" + intelligence);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void of_shouldDeriveRollBoundsFromModifiers() {
+        CombatProfile mage = CombatProfiles.of(Job.MAGE, 5, 6, 10);
+
+        assertEquals(15, mage.attackBound());
+        assertEquals(3, mage.speedBound());
+        assertEquals((int) mage.attackModifier() + 1, mage.attackBound());
+    }
+
+    @Test
+    void of_shouldFallBackToFormulasOutsideTable() {
+        int stat = CombatProfiles.MAX_STAT + 7;
+        CombatProfile profile = CombatProfiles.of(Job.THIEF, stat, stat, stat);
+
+        assertEquals(Job.THIEF.calculateAttackModifier(stat, stat, stat), profile.attackModifier());
+        assertEquals(Job.THIEF.calculateSpeedModifier(stat, stat, stat), profile.speedModifier());
+    }
+
+    @Test
+    void baseStats_shouldShareOneProfilePerJob() {
+        Character first = Character.createNewCharacter(1L, "First", Job.WARRIOR);
+        Character second = Character.createNewCharacter(2L, "Second", Job.WARRIOR);
+
+        assertSame(CombatProfiles.base(Job.WARRIOR), first.getCombatProfile());
+        assertSame(first.getCombatProfile(), second.getCombatProfile());
+    }
+
+    @Test
+    void combatProfile_shouldBeCachedUntilStatsChange() {
+        Character character = Character.createNewCharacter(1L, "Hero", Job.WARRIOR);
+        CombatProfile before = character.getCombatProfile();
+        assertSame(before, character.getCombatProfile());
+
+        character.setStrength(character.getStrength() + 5);
+        CombatProfile after = character.getCombatProfile();
+
+        assertNotSame(before, after);
+        assertEquals(character.getStrength(), after.strength());
+        assertTrue(after.attackModifier() > before.attackModifier());
+    }
+
+    @Test
+    void engine_shouldFightTheSameWithProfileOrModifiers() {
+        CombatProfile warrior = CombatProfiles.base(Job.WARRIOR);
+        CombatProfile mage = CombatProfiles.base(Job.MAGE);
+
+        BattleEngine byModifiers = new BattleEngine();
+        byModifiers.load(BattleEngine.FIRST, 20, warrior.attackModifier(), warrior.speedModifier());
+        byModifiers.load(BattleEngine.SECOND, 12, mage.attackModifier(), mage.speedModifier());
+        BattleEngine byProfile = new BattleEngine();
+        byProfile.load(BattleEngine.FIRST, 20, warrior);
+        byProfile.load(BattleEngine.SECOND, 12, mage);
+
+        assertEquals(byModifiers.fight(new Random(11L)), byProfile.fight(new Random(11L)));
+        assertArrayEquals(byModifiers.events().toArray(), byProfile.events().toArray());
+    }
+}
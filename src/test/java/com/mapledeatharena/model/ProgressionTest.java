@@ -0,0 +1,75 @@
+package com.mapledeatharena.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressionTest {
+
+    @Test
+    void stats_atLevelOne_shouldBeBaseStats() {
+        for (Job job : Job.values()) {
+            assertEquals(StatBlock.base(job), Progression.stats(job, 1));
+        }
+    }
+
+    @Test
+    void levelFor_shouldInvertExperienceFor() {
+        for (int level = 1; level <= Progression.MAX_LEVEL; level++) {
+            int experience = Progression.experienceFor(level);
+            assertEquals(level, Progression.levelFor(experience));
+            if (level > 1) {
+                assertEquals(level - 1, Progression.levelFor(experience - 1));
+            }
+        }
+        assertEquals(Progression.MAX_LEVEL, Progression.levelFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void victoryExperience_shouldRewardStrongerOpponents() {
+        assertTrue(Progression.victoryExperience(1, 5) > Progression.victoryExperience(5, 5));
+        assertTrue(Progression.victoryExperience(10, 5) < Progression.victoryExperience(5, 5));
+        assertTrue(Progression.victoryExperience(Progression.MAX_LEVEL, 1) > 0);
+    }
+
+    @Test
+    void gainExperience_shouldApplyGrowthAndHealthScaling() {
+        Character mage = Character.createNewCharacter(1L, "Mage", Job.MAGE);
+        mage.takeDamage(4);
+
+        int gained = mage.gainExperience(Progression.experienceFor(11));
+
+        StatBlock expected = Progression.stats(Job.MAGE, 11);
+        assertEquals(10, gained);
+        assertEquals(11, mage.getLevel());
+        assertEquals(expected.healthPoints(), mage.getMaxHealthPoints());
+        assertEquals(expected.healthPoints() - 4, mage.getHealthPoints());
+        assertEquals(expected.intelligence(), mage.getIntelligence());
+        assertEquals(Job.MAGE.calculateAttackModifier(expected.strength(), expected.dexterity(), expected.intelligence()),
+                mage.getAttackModifier());
+        assertSame(CombatProfiles.of(Job.MAGE, 11, expected.strength(), expected.dexterity(), expected.intelligence()),
+                mage.getCombatProfile());
+    }
+
+    @Test
+    void gainExperience_withoutStatChange_shouldKeepCachedProfile() {
+        Character thief = Character.createNewCharacter(1L, "Thief", Job.THIEF);
+        CombatProfile before = thief.getCombatProfile();
+
+        int gained = thief.gainExperience(Progression.experienceFor(2) - 1);
+
+        assertEquals(0, gained);
+        assertSame(before, thief.getCombatProfile());
+    }
+
+    @Test
+    void gainExperience_shouldStopAtMaxLevel() {
+        Character warrior = Character.createNewCharacter(1L, "Warrior", Job.WARRIOR);
+
+        warrior.gainExperience(Integer.MAX_VALUE);
+        warrior.gainExperience(Integer.MAX_VALUE);
+
+        assertEquals(Progression.MAX_LEVEL, warrior.getLevel());
+        assertEquals(Progression.experienceFor(Progression.MAX_LEVEL), warrior.getExperience());
+    }
+}
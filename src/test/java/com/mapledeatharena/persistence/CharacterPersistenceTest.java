@@ -0,0 +1,174 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.TearingChannel;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CharacterPersistenceTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("arena-persistence");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void restart_shouldRecoverCharactersFromJournal() throws IOException {
+        CharacterService before = new CharacterService();
+        CharacterPersistence persistence = open(before);
+        before.create("Hero", "WARRIOR");
+        before.create("Villain", "MAGE");
+        new BattleService(before, new Random(7L)).executeBattle(1, 2);
+        // Simulate a crash: no shutdown snapshot, only the journal survives
+        persistence.closeJournal();
+
+        CharacterService after = new CharacterService();
+        open(after);
+
+        assertSameCharacters(before, after);
+        assertEquals(3, after.getNextId());
+    }
+
+    @Test
+    void restart_shouldCombineSnapshotWithLaterJournal() throws IOException {
+        CharacterService before = new CharacterService();
+        CharacterPersistence persistence = open(before);
+        for (int i = 0; i < 10; i++) {
+            before.create("Fighter", i % 2 == 0 ? "THIEF" : "MAGE");
+        }
+        persistence.snapshot();
+        new BattleService(before, new Random(3L)).executeBattle(4, 5);
+        before.create("Latecomer", "WARRIOR");
+        persistence.closeJournal();
+
+        CharacterService after = new CharacterService();
+        open(after);
+
+        assertSameCharacters(before, after);
+        assertEquals(12, after.getNextId());
+        assertEquals(12, after.create("Newcomer", "MAGE").getId());
+    }
+
+    @Test
+    void snapshot_shouldRetireCoveredJournalSegments() throws IOException {
+        CharacterService service = new CharacterService();
+        CharacterPersistence persistence = open(service);
+        service.create("Hero", "WARRIOR");
+
+        persistence.snapshot();
+        persistence.snapshot();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(
+                    List.of("journal-00000000000000000002.log", "snapshot-00000000000000000002.bin"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList()
+            );
+        }
+        persistence.stop();
+    }
+
+    @Test
+    void readAll_shouldStopAtTornTail() throws IOException {
+        Character hero = Character.createNewCharacter(1, "Hero", Job.WARRIOR);
+        Character mage = Character.createNewCharacter(2, "Mage", Job.MAGE);
+        byte[] first = CharacterRecords.frame(hero);
+        byte[] second = CharacterRecords.frame(mage);
+
+        Path file = directory.resolve("torn.log");
+        byte[] torn = new byte[first.length + second.length - 3];
+        System.arraycopy(first, 0, torn, 0, first.length);
+        System.arraycopy(second, 0, torn, first.length, second.length - 3);
+        Files.write(file, torn);
+
+        List<Character> read = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(1, CharacterRecords.readAll(channel, read::add));
+        }
+        assertSameCharacter(hero, read.get(0));
+    }
+
+    @Test
+    void journal_afterFailedWrite_shouldKeepLaterWritesRecoverable() throws IOException {
+        CharacterService before = new CharacterService();
+        Character hero = before.create("Hero", "WARRIOR");
+        Character mage = before.create("Mage", "MAGE");
+        Character thief = before.create("Thief", "THIEF");
+
+        // The first segment tears its second write halfway and fails; later segments are healthy
+        AtomicInteger opened = new AtomicInteger();
+        CharacterJournal journal = new CharacterJournal(directory, 0, 256, path -> {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return opened.getAndIncrement() == 0 ? new TearingChannel(channel, 2) : channel;
+        });
+        journal.append(hero).join();
+        assertThrows(CompletionException.class, () -> journal.append(mage).join());
+        journal.append(thief).join();
+        journal.close();
+
+        CharacterService after = new CharacterService();
+        open(after);
+
+        assertSameCharacter(hero, after.getById(hero.getId()).orElseThrow());
+        assertSameCharacter(thief, after.getById(thief.getId()).orElseThrow());
+    }
+
+    private CharacterPersistence open(CharacterService service) throws IOException {
+        CharacterPersistence persistence = new CharacterPersistence(service, directory.toString(), "group", 256, 0);
+        persistence.start();
+        return persistence;
+    }
+
+    private static void assertSameCharacters(CharacterService expected, CharacterService actual) {
+        assertEquals(expected.getAll().size(), actual.getAll().size());
+        for (Character character : expected.getAll()) {
+            assertSameCharacter(character, actual.getById(character.getId()).orElseThrow());
+        }
+    }
+
+    private static void assertSameCharacter(Character expected, Character actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getJob(), actual.getJob());
+        assertEquals(expected.isAlive(), actual.isAlive());
+        assertEquals(expected.getHealthPoints(), actual.getHealthPoints());
+        assertEquals(expected.getMaxHealthPoints(), actual.getMaxHealthPoints());
+        assertEquals(expected.getStrength(), actual.getStrength());
+        assertEquals(expected.getDexterity(), actual.getDexterity());
+        assertEquals(expected.getIntelligence(), actual.getIntelligence());
+        assertEquals(expected.getLevel(), actual.getLevel());
+        assertEquals(expected.getExperience(), actual.getExperience());
+        assertEquals(expected.getAttackModifier(), actual.getAttackModifier());
+        assertEquals(expected.getSpeedModifier(), actual.getSpeedModifier());
+    }
+}
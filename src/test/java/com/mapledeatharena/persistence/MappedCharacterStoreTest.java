@@ -0,0 +1,150 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.service.BattleService;
+import com.mapledeatharena.service.CharacterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCharacterStoreTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("arena-mapped");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void get_shouldReturnStoredStateAsNewCopy() throws IOException {
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            CharacterService characterService = new CharacterService(store);
+            Character created = characterService.create("Hero", "THIEF");
+
+            Character first = characterService.getById(created.getId()).orElseThrow();
+            Character second = characterService.getById(created.getId()).orElseThrow();
+
+            assertNotSame(first, second);
+            assertEquals("Hero", first.getName());
+            assertEquals(created.getJob(), first.getJob());
+            assertEquals(created.getHealthPoints(), first.getHealthPoints());
+            assertEquals(created.getAttackModifier(), first.getAttackModifier());
+            assertEquals(created.getSpeedModifier(), first.getSpeedModifier());
+            assertTrue(first.isAlive());
+        }
+    }
+
+    @Test
+    void battle_shouldPersistDamageThroughUpdate() throws IOException {
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            CharacterService characterService = new CharacterService(store);
+            characterService.create("Hero", "WARRIOR");
+            characterService.create("Villain", "MAGE");
+
+            new BattleService(characterService, new Random(11L)).executeBattle(1, 2);
+
+            long dead = characterService.getAll().stream().filter(Character::isDead).count();
+            assertEquals(1, dead);
+            assertEquals(1, characterService.leaderboardByHealthPoints(10).stream()
+                    .filter(character -> character.getHealthPoints() > 0).count());
+            assertEquals(1, characterService.getAll().stream()
+                    .filter(character -> character.getExperience() > 0).count());
+        }
+    }
+
+    @Test
+    void reopen_shouldRemapCharactersAndContinueIds() throws IOException {
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            CharacterService characterService = new CharacterService(store);
+            characterService.create("Hero", "WARRIOR");
+            characterService.create("Villain", "MAGE");
+            Character damaged = characterService.getById(2).orElseThrow();
+            damaged.takeDamage(5);
+            characterService.update(damaged);
+        }
+
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            CharacterService characterService = new CharacterService(store);
+
+            assertEquals(2, characterService.getAll().size());
+            assertEquals("Villain", characterService.getById(2).orElseThrow().getName());
+            assertEquals(7, characterService.getById(2).orElseThrow().getHealthPoints());
+            assertEquals(1, characterService.search("Hero", null,
+                    CharacterFilter.NONE, 10).size());
+            assertEquals(3, characterService.create("Newcomer", "THIEF").getId());
+        }
+    }
+
+    @Test
+    void get_duringInPlaceUpdates_shouldNeverSeeAHalfWrittenRecord() throws Exception {
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            // Every field of one version differs from the other, so any mix of the two is detectable
+            Character healthy = Character.builder().id(1).name("Hero").job(Job.WARRIOR).alive(true)
+                    .healthPoints(30).maxHealthPoints(30).strength(30).dexterity(30).intelligence(30)
+                    .level(30).experience(30).build();
+            Character fallen = Character.builder().id(1).name("Hero").job(Job.WARRIOR).alive(false)
+                    .healthPoints(0).maxHealthPoints(60).strength(60).dexterity(60).intelligence(60)
+                    .level(60).experience(60).build();
+            store.put(healthy);
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread writer = Thread.ofPlatform().start(() -> {
+                for (int i = 0; running.get(); i++) {
+                    store.put(i % 2 == 0 ? fallen : healthy);
+                }
+            });
+            try {
+                for (int i = 0; i < 200_000; i++) {
+                    Character read = store.get(1);
+                    int expected = read.isAlive() ? 30 : 60;
+                    assertEquals(read.isAlive() ? expected : 0, read.getHealthPoints());
+                    assertEquals(expected, read.getMaxHealthPoints());
+                    assertEquals(expected, read.getStrength());
+                    assertEquals(expected, read.getDexterity());
+                    assertEquals(expected, read.getIntelligence());
+                    assertEquals(expected, read.getLevel());
+                    assertEquals(expected, read.getExperience());
+                }
+            } finally {
+                running.set(false);
+                writer.join();
+            }
+        }
+    }
+
+    @Test
+    void clear_shouldForgetEverything() throws IOException {
+        try (MappedCharacterStore store = new MappedCharacterStore(directory)) {
+            CharacterService characterService = new CharacterService(store);
+            characterService.create("Hero", "WARRIOR");
+
+            characterService.clear();
+
+            assertTrue(characterService.getAll().isEmpty());
+            assertTrue(characterService.getById(1).isEmpty());
+            assertEquals(1, characterService.create("Again", "MAGE").getId());
+        }
+    }
+}
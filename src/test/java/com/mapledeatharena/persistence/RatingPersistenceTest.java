@@ -0,0 +1,93 @@
+package com.mapledeatharena.persistence;
+
+import com.mapledeatharena.service.CharacterService;
+import com.mapledeatharena.service.RatingLadder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingPersistenceTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("arena-ratings");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void restart_shouldRestoreTheSavedLadder() throws IOException {
+        RatingLadder before = new RatingLadder(null, 32);
+        CharacterPersistence characters = openCharacters();
+        new RatingPersistence(before, characters, directory.toString()).start();
+        Random random = new Random(11L);
+        for (int i = 0; i < 2_000; i++) {
+            long winner = random.nextInt(100) + 1;
+            long loser = random.nextInt(100) + 1;
+            if (winner != loser) {
+                before.recordOutcome(winner, loser);
+            }
+        }
+        // The character snapshot on shutdown saves the ladder with it
+        characters.stop();
+
+        RatingLadder after = new RatingLadder(null, 32);
+        new RatingPersistence(after, openCharacters(), directory.toString()).start();
+
+        assertEquals(before.battles(), after.battles());
+        assertEquals(before.ratedCount(), after.ratedCount());
+        assertEquals(before.top(100), after.top(100));
+    }
+
+    @Test
+    void start_withoutSavedLadder_shouldLeaveItEmpty() throws IOException {
+        RatingLadder ladder = new RatingLadder(null, 32);
+        RatingPersistence persistence = new RatingPersistence(ladder, openCharacters(), directory.toString());
+
+        assertFalse(persistence.recover());
+        assertEquals(0, ladder.ratedCount());
+    }
+
+    @Test
+    void recover_truncatedFile_shouldBeRejected() throws IOException {
+        RatingLadder ladder = new RatingLadder(null, 32);
+        ladder.recordOutcome(1, 2);
+        ladder.recordOutcome(3, 4);
+        RatingPersistence persistence = new RatingPersistence(ladder, openCharacters(), directory.toString());
+        persistence.snapshot();
+
+        Path path = RatingPersistence.ratingsPath(directory);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertThrows(IllegalStateException.class, persistence::recover);
+    }
+
+    private CharacterPersistence openCharacters() throws IOException {
+        CharacterPersistence persistence = new CharacterPersistence(new CharacterService(), directory.toString(),
+                "group", 256, 0);
+        persistence.start();
+        return persistence;
+    }
+}
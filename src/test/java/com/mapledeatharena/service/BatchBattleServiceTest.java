@@ -0,0 +1,98 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleRequest;
+import com.mapledeatharena.dto.BatchBattleResult;
+import com.mapledeatharena.dto.BatchBattleResult.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchBattleServiceTest {
+
+    private CharacterService characterService;
+    private BatchBattleService batchBattleService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        BattleService battleService = new BattleService(characterService, new Random(42L));
+        batchBattleService = new BatchBattleService(battleService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void submit_shouldReturnResultsInSubmissionOrder() {
+        for (int i = 0; i < 20; i++) {
+            characterService.create("Fighter", i % 2 == 0 ? "WARRIOR" : "MAGE");
+        }
+        List<BattleRequest> battles = List.of(
+                new BattleRequest("1", "2"), new BattleRequest("3", "4"), new BattleRequest("5", "6"),
+                new BattleRequest("7", "8"), new BattleRequest("9", "10")
+        );
+
+        List<BatchBattleResult> results = join(batchBattleService.submit(battles, BattleLogDetail.NONE));
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+            assertEquals(Status.OK, results.get(i).status());
+            assertEquals(battles.get(i).attackerId(), results.get(i).attackerId());
+            assertTrue(results.get(i).result().battleLog().isEmpty());
+        }
+    }
+
+    @Test
+    void submit_shouldFlagConflictingMissingAndDeadPairs() {
+        characterService.create("Warrior", "WARRIOR");
+        characterService.create("Thief", "THIEF");
+        characterService.create("Mage", "MAGE");
+        characterService.getById(3).orElseThrow().takeDamage(100);
+
+        List<BatchBattleResult> results = join(batchBattleService.submit(List.of(
+                new BattleRequest("1", "2"),
+                new BattleRequest("2", "1"),
+                new BattleRequest("3", "99"),
+                new BattleRequest("3", "4")
+        ), BattleLogDetail.FULL));
+
+        assertEquals(Status.OK, results.get(0).status());
+        assertFalse(results.get(0).result().battleLog().isEmpty());
+        assertEquals(Status.CONFLICT, results.get(1).status());
+        assertTrue(results.get(1).error().contains("battle 0"));
+        assertEquals(Status.NOT_FOUND, results.get(2).status());
+        assertEquals(Status.CONFLICT, results.get(3).status());
+    }
+
+    @Test
+    void submit_withDeadParticipant_shouldBeRejected() {
+        characterService.create("Warrior", "WARRIOR");
+        characterService.create("Thief", "THIEF");
+        characterService.getById(2).orElseThrow().takeDamage(100);
+
+        List<BatchBattleResult> results = join(batchBattleService.submit(
+                List.of(new BattleRequest("1", "2")), BattleLogDetail.NONE));
+
+        assertEquals(Status.REJECTED, results.get(0).status());
+        assertNull(results.get(0).result());
+        assertEquals("Defender Thief is already dead", results.get(0).error());
+    }
+
+    private static List<BatchBattleResult> join(List<CompletableFuture<BatchBattleResult>> futures) {
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
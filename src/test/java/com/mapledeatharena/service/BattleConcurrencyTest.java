@@ -0,0 +1,117 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.engine.ThreadLocalRandomProvider;
+import com.mapledeatharena.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int BATTLES_PER_THREAD = 500;
+
+    private CharacterService characterService;
+    private BattleService battleService;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        battleService = new BattleService(characterService, new ThreadLocalRandomProvider());
+    }
+
+    @Test
+    void concurrentBattles_onHotCharacter_shouldKillExactlyOnePerSuccessfulBattle() throws Exception {
+        int characterCount = 2_000;
+        for (int i = 0; i < characterCount; i++) {
+            characterService.create(i % 2 == 0 ? "Hot_Warrior" : "Cold_Thief", i % 2 == 0 ? "WARRIOR" : "THIEF");
+        }
+
+        AtomicInteger successfulBattles = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < BATTLES_PER_THREAD; i++) {
+                    // Half of all battles involve one of the first five characters
+                    long first = random.nextInt(4) < 2 ? 1 + random.nextInt(5) : 1 + random.nextInt(characterCount);
+                    long second = 1 + random.nextInt(characterCount);
+                    if (first == second) {
+                        continue;
+                    }
+                    boolean flip = random.nextBoolean();
+                    long attackerId = flip ? first : second;
+                    long defenderId = flip ? second : first;
+                    try {
+                        battleService.executeBattle(attackerId, defenderId);
+                        successfulBattles.incrementAndGet();
+                    } catch (IllegalStateException alreadyDead) {
+                        // Expected once a participant has lost an earlier battle
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Battles deadlocked or stalled");
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long dead = characterService.getAll().stream().filter(Character::isDead).count();
+        assertEquals(successfulBattles.get(), dead, "Every successful battle must kill exactly one character");
+
+        for (Character character : characterService.getAll()) {
+            assertTrue(character.getHealthPoints() >= 0);
+            assertEquals(character.getHealthPoints() > 0, character.isAlive());
+        }
+    }
+
+    @Test
+    void executeBattle_withDeadParticipant_shouldBeRejected() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+        Character mage = characterService.create("Mage", "MAGE");
+
+        battleService.executeBattle(warrior.getId(), thief.getId());
+        Character loser = warrior.isAlive() ? thief : warrior;
+
+        Exception exception = assertThrows(IllegalStateException.class,
+                () -> battleService.executeBattle(loser.getId(), mage.getId()));
+        assertTrue(exception.getMessage().contains("is already dead"));
+    }
+
+    @Test
+    void executeBattle_againstItself_shouldBeRejected() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+
+        assertThrows(IllegalStateException.class,
+                () -> battleService.executeBattle(warrior.getId(), warrior.getId()));
+    }
+
+    @Test
+    void executeBattle_withUnknownId_shouldThrowNotFound() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> battleService.executeBattle(warrior.getId(), 999));
+        assertEquals("Defender with ID 999 not found", exception.getMessage());
+    }
+}
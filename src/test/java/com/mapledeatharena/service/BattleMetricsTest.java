@@ -0,0 +1,81 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.history.BattleRecorder;
+import com.mapledeatharena.model.BattleResult;
+import com.mapledeatharena.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CharacterService characterService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        characterService = new CharacterService(new HeapCharacterStore(), meterRegistry, 1);
+    }
+
+    @Test
+    void executeBattle_shouldCountOutcomesPerJobAndRecordHistograms() {
+        BattleService battleService = battleService(1);
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character mage = characterService.create("Mage", "MAGE");
+
+        BattleResult result = battleService.executeBattle(warrior.getId(), mage.getId());
+
+        String winnerJob = result.winner().getJob().name();
+        String loserJob = result.loser().getJob().name();
+        assertEquals(1.0, meterRegistry.get("arena.battle.outcomes").tag("job", winnerJob).tag("outcome", "win")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get("arena.battle.outcomes").tag("job", loserJob).tag("outcome", "loss")
+                .counter().count());
+        assertEquals(0.0, meterRegistry.get("arena.battle.outcomes").tag("job", "THIEF").tag("outcome", "win")
+                .counter().count());
+        assertEquals(1, meterRegistry.get("arena.battle.duration").timer().count());
+        assertEquals((double) result.log().rounds(),
+                meterRegistry.get("arena.battle.rounds").summary().totalAmount());
+        assertEquals((double) result.log().eventCount(),
+                meterRegistry.get("arena.battle.log.events").summary().totalAmount());
+    }
+
+    @Test
+    void executeBattle_shouldSampleHistogramsButCountEveryOutcome() {
+        BattleService battleService = battleService(1_000_000);
+        int battles = 50;
+        for (int i = 0; i < battles; i++) {
+            Character warrior = characterService.create("Warrior", "WARRIOR");
+            Character thief = characterService.create("Thief", "THIEF");
+            battleService.executeBattle(warrior.getId(), thief.getId());
+        }
+
+        double wins = meterRegistry.get("arena.battle.outcomes").tag("job", "WARRIOR").tag("outcome", "win")
+                .counter().count()
+                + meterRegistry.get("arena.battle.outcomes").tag("job", "THIEF").tag("outcome", "win")
+                .counter().count();
+        assertEquals((double) battles, wins);
+        assertTrue(meterRegistry.get("arena.battle.duration").timer().count() < battles);
+    }
+
+    @Test
+    void characterService_shouldReportStoreSizeAndLookups() {
+        characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+
+        characterService.getById(thief.getId());
+
+        assertEquals(2.0, meterRegistry.get("arena.characters.stored").gauge().value());
+        assertEquals(1, meterRegistry.get("arena.characters.lookup").timer().count());
+    }
+
+    private BattleService battleService(int sampleInterval) {
+        return new BattleService(characterService, () -> new Random(42L), BattleRecorder.NONE,
+                new BattleMetrics(meterRegistry, sampleInterval));
+    }
+}
@@ -0,0 +1,109 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleQueueTest {
+
+    private CharacterService characterService;
+    private BattleService battleService;
+    private SimpleMeterRegistry meterRegistry;
+    private BattleQueue battleQueue;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        battleService = new BattleService(characterService, new Random(42L));
+        meterRegistry = new SimpleMeterRegistry();
+        battleQueue = new BattleQueue(battleService, meterRegistry, 4, 2, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        battleQueue.stop();
+    }
+
+    @Test
+    void submit_shouldRunBattleAndCompleteTicket() throws Exception {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+        battleQueue.start();
+
+        BattleTicket ticket = battleQueue.submit(warrior.getId(), thief.getId(), BattleLogDetail.SUMMARY);
+        ticket.completion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(BattleTicket.Status.OK, ticket.status());
+        assertNotNull(ticket.result());
+        assertSame(ticket, battleQueue.find(ticket.id()).orElseThrow());
+        assertEquals(1, meterRegistry.get("arena.battle.queue.wait").timer().count());
+    }
+
+    @Test
+    void submit_shouldReportRejectedBattleOnTicket() throws Exception {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        battleQueue.start();
+
+        BattleTicket self = battleQueue.submit(warrior.getId(), warrior.getId(), BattleLogDetail.NONE);
+        BattleTicket missing = battleQueue.submit(warrior.getId(), 999L, BattleLogDetail.NONE);
+        self.completion().get(5, TimeUnit.SECONDS);
+        missing.completion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(BattleTicket.Status.REJECTED, self.status());
+        assertEquals(BattleTicket.Status.NOT_FOUND, missing.status());
+        assertNull(missing.result());
+        assertNotNull(missing.error());
+    }
+
+    @Test
+    void submit_shouldRejectWhenQueueIsFull() {
+        // Workers not started, so nothing drains the queue
+        for (int i = 0; i < 4; i++) {
+            battleQueue.submit(1L, 2L, BattleLogDetail.NONE);
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> battleQueue.submit(1L, 2L, BattleLogDetail.NONE));
+        assertEquals(4, battleQueue.depth());
+        assertEquals(4.0, meterRegistry.get("arena.battle.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("arena.battle.queue.rejected").counter().count());
+    }
+
+    @Test
+    void stop_shouldFailTicketsStillQueued() {
+        BattleTicket ticket = battleQueue.submit(1L, 2L, BattleLogDetail.NONE);
+
+        battleQueue.stop();
+
+        assertTrue(ticket.done());
+        assertEquals(BattleTicket.Status.FAILED, ticket.status());
+    }
+
+    @Test
+    void find_shouldForgetTicketsPastTheirTtl() throws Exception {
+        battleQueue = new BattleQueue(battleService, meterRegistry, 4, 1, 0);
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character mage = characterService.create("Mage", "MAGE");
+        battleQueue.start();
+
+        BattleTicket first = battleQueue.submit(warrior.getId(), mage.getId(), BattleLogDetail.NONE);
+        first.completion().get(5, TimeUnit.SECONDS);
+        BattleTicket second = battleQueue.submit(warrior.getId(), mage.getId(), BattleLogDetail.NONE);
+        second.completion().get(5, TimeUnit.SECONDS);
+
+        // The worker expires old tickets only after completing the next one, so its completion can arrive first
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (battleQueue.find(first.id()).isPresent()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the ticket to expire");
+            Thread.onSpinWait();
+        }
+    }
+}
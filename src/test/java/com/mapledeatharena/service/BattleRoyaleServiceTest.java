@@ -0,0 +1,87 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleRoyaleRequest;
+import com.mapledeatharena.dto.BattleRoyaleResponse;
+import com.mapledeatharena.dto.BattleRoyaleStanding;
+import com.mapledeatharena.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleRoyaleServiceTest {
+
+    private static final String[] JOBS = {"WARRIOR", "THIEF", "MAGE"};
+
+    private CharacterService characterService;
+    private BattleRoyaleService battleRoyaleService;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        battleRoyaleService = new BattleRoyaleService(characterService, 50);
+    }
+
+    @Test
+    void run_shouldRankEveryoneAndLeaveCharactersUntouched() {
+        createCharacters(30);
+
+        BattleRoyaleResponse response = battleRoyaleService.run(new BattleRoyaleRequest(null, "weakest", 4L));
+
+        assertEquals(30, response.combatants());
+        assertEquals("weakest", response.targetPolicy());
+        assertEquals(BattleRoyaleService.STANDINGS, response.standings().size());
+        assertEquals(response.winner(), response.standings().get(0));
+        assertNull(response.winner().eliminatedById());
+        assertTrue(response.winner().healthPoints() > 0);
+        for (int i = 1; i < response.standings().size(); i++) {
+            BattleRoyaleStanding standing = response.standings().get(i);
+            assertEquals(i + 1, standing.place());
+            assertEquals(0, standing.healthPoints());
+            assertNotNull(standing.eliminatedById());
+        }
+
+        for (Character character : characterService.getAll()) {
+            assertEquals(character.getMaxHealthPoints(), character.getHealthPoints());
+        }
+    }
+
+    @Test
+    void run_withSameSeed_shouldBeReproducible() {
+        List<String> ids = createCharacters(20);
+
+        BattleRoyaleResponse first = battleRoyaleService.run(new BattleRoyaleRequest(ids, "retaliate", 11L));
+        BattleRoyaleResponse second = battleRoyaleService.run(new BattleRoyaleRequest(ids, "retaliate", 11L));
+
+        assertEquals(first.standings(), second.standings());
+        assertEquals(first.turns(), second.turns());
+    }
+
+    @Test
+    void run_shouldRejectInvalidRequests() {
+        List<String> ids = createCharacters(3);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> battleRoyaleService.run(new BattleRoyaleRequest(ids, "closest", null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> battleRoyaleService.run(new BattleRoyaleRequest(List.of(ids.get(0), ids.get(0)), null, null)));
+        assertThrows(IllegalStateException.class,
+                () -> battleRoyaleService.run(new BattleRoyaleRequest(List.of(ids.get(0)), null, null)));
+
+        createCharacters(60);
+        assertThrows(IllegalArgumentException.class,
+                () -> battleRoyaleService.run(new BattleRoyaleRequest(null, null, null)));
+    }
+
+    private List<String> createCharacters(int count) {
+        int existing = characterService.getAll().size();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = existing; i < existing + count; i++) {
+            ids.add(String.valueOf(characterService.create("Fighter", JOBS[i % JOBS.length]).getId()));
+        }
+        return ids;
+    }
+}
@@ -1,7 +1,11 @@
 package com.mapledeatharena.service;
 
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.engine.SeededRandomProvider;
 import com.mapledeatharena.model.BattleResult;
 import com.mapledeatharena.model.Character;
+import com.mapledeatharena.model.Progression;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -167,8 +171,8 @@ class BattleServiceTest {
         Character warrior = characterService.create("Warrior", "WARRIOR");
         Character thief = characterService.create("Thief", "THIEF");
 
-        String warriorId = warrior.getId();
-        String thiefId = thief.getId();
+        long warriorId = warrior.getId();
+        long thiefId = thief.getId();
 
         battleService.executeBattle(warrior, thief);
 
@@ -213,4 +217,98 @@ class BattleServiceTest {
 
         assertNotEquals(result.winner().isAlive(), result.loser().isAlive());
     }
-}
\ No newline at end of file
+
+
+
+    @Test
+    void battleLog_summary_shouldMatchFirstAndLastLinesOfFullLog() {
+        Character warrior = characterService.create("WarriorOne", "WARRIOR");
+        Character mage = characterService.create("MageOne", "MAGE");
+
+        BattleResult result = battleService.executeBattle(warrior, mage);
+        List<String> full = result.battleLog();
+        List<String> summary = result.log().summary();
+
+        assertEquals(2, summary.size());
+        assertEquals(full.get(0), summary.get(0));
+        assertEquals(full.get(full.size() - 1), summary.get(1));
+    }
+
+    @Test
+    void battleLog_structuredEvents_shouldMatchRenderedLines() {
+        Character warrior = characterService.create("WarriorOne", "WARRIOR");
+        Character thief = characterService.create("ThiefOne", "THIEF");
+
+        BattleResult result = battleService.executeBattle(warrior, thief);
+
+        // Opening line + one line per event + closing line
+        assertEquals(result.log().eventCount() + 2, result.battleLog().size());
+        assertTrue(result.log().rounds() > 0);
+    }
+
+    @Test
+    void battleResponse_withNoLog_shouldNotRenderLines() {
+        Character warrior = characterService.create("WarriorOne", "WARRIOR");
+        Character thief = characterService.create("ThiefOne", "THIEF");
+
+        BattleResult result = battleService.executeBattle(warrior, thief);
+        BattleResponse response = BattleResponse.from(result, BattleLogDetail.NONE);
+
+        assertTrue(response.battleLog().isEmpty());
+        assertEquals(String.valueOf(result.winner().getId()), response.winner().id());
+    }
+
+    @Test
+    void executeBattle_shouldAwardExperienceToWinnerOnly() {
+        Character warrior = characterService.create("WarriorXp", "WARRIOR");
+        Character thief = characterService.create("ThiefXp", "THIEF");
+
+        BattleResult result = battleService.executeBattle(warrior, thief);
+
+        assertEquals(Progression.victoryExperience(1, 1), result.experienceGained());
+        assertEquals(result.experienceGained(), result.winner().getExperience());
+        assertEquals(0, result.loser().getExperience());
+        assertEquals(result.experienceGained(),
+                characterService.getById(result.winner().getId()).orElseThrow().getExperience());
+    }
+
+    @Test
+    void executeBattle_withLevelUp_shouldReportTheHealthPointsGainedAfterTheLog() {
+        Character warrior = characterService.create("WarriorLvl", "WARRIOR");
+        Character thief = characterService.create("ThiefLvl", "THIEF");
+        // One win away from level 2, whoever takes it
+        warrior.gainExperience(Progression.experienceFor(2) - 1);
+        thief.gainExperience(Progression.experienceFor(2) - 1);
+
+        BattleResult result = battleService.executeBattle(warrior, thief);
+
+        Character winner = result.winner();
+        int expected = Progression.stats(winner.getJob(), 2).healthPoints()
+                - Progression.stats(winner.getJob(), 1).healthPoints();
+        assertEquals(2, winner.getLevel());
+        assertTrue(expected > 0);
+        assertEquals(expected, result.healthPointsGained());
+
+        List<String> log = result.battleLog();
+        assertTrue(log.get(log.size() - 1).endsWith(
+                "still has " + (winner.getHealthPoints() - result.healthPointsGained()) + " HP remaining!"));
+        assertEquals(expected, BattleResponse.from(result).healthPointsGained());
+    }
+
+    @Test
+    void executeBattle_withSeededProvider_shouldBeReproducible() {
+        CharacterService firstStore = new CharacterService();
+        CharacterService secondStore = new CharacterService();
+        BattleService first = new BattleService(firstStore, new SeededRandomProvider(2024L));
+        BattleService second = new BattleService(secondStore, new SeededRandomProvider(2024L));
+
+        for (int i = 0; i < 5; i++) {
+            BattleResult a = first.executeBattle(
+                    firstStore.create("WarriorSeed", "WARRIOR"), firstStore.create("ThiefSeed", "THIEF"));
+            BattleResult b = second.executeBattle(
+                    secondStore.create("WarriorSeed", "WARRIOR"), secondStore.create("ThiefSeed", "THIEF"));
+
+            assertEquals(a.battleLog(), b.battleLog());
+        }
+    }
+}
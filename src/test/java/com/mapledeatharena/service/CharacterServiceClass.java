@@ -1,5 +1,7 @@
 package com.mapledeatharena.service;
 
+import com.mapledeatharena.dto.CharacterFilter;
+import com.mapledeatharena.dto.CharacterPage;
 import com.mapledeatharena.model.Character;
 import com.mapledeatharena.model.Job;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,7 +31,7 @@ class CharacterServiceTest {
         assertNotNull(character);
         assertEquals("TestWarrior", character.getName());
         assertEquals(Job.WARRIOR, character.getJob());
-        assertEquals("1", character.getId());
+        assertEquals(1, character.getId());
         assertEquals(20, character.getHealthPoints());
         assertEquals(20, character.getMaxHealthPoints());
         assertEquals(10, character.getStrength());
@@ -97,9 +100,9 @@ class CharacterServiceTest {
         Character char2 = characterService.create("SecondChar", "THIEF");
         Character char3 = characterService.create("ThirdChar", "MAGE");
 
-        assertEquals("1", char1.getId());
-        assertEquals("2", char2.getId());
-        assertEquals("3", char3.getId());
+        assertEquals(1, char1.getId());
+        assertEquals(2, char2.getId());
+        assertEquals(3, char3.getId());
     }
 
     @Test
@@ -201,7 +204,7 @@ class CharacterServiceTest {
 
     @Test
     void getById_withNonExistingId_shouldReturnEmpty() {
-        Optional<Character> found = characterService.getById("999");
+        Optional<Character> found = characterService.getById(999);
         assertTrue(found.isEmpty());
     }
 
@@ -227,6 +230,108 @@ class CharacterServiceTest {
         assertTrue(characterService.getAll().isEmpty());
 
         Character newChar = characterService.create("NewChar", "MAGE");
-        assertEquals("1", newChar.getId());
+        assertEquals(1, newChar.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPage_shouldWalkAllCharactersInIdOrder() {
+        for (int i = 0; i < 25; i++) {
+            characterService.create("PagedChar", "WARRIOR");
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CharacterPage page = characterService.getPage(cursor, 10, CharacterFilter.NONE);
+            page.items().forEach(character -> seen.add(character.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(1L, (long) seen.get(0));
+        assertEquals(25L, (long) seen.get(24));
+    }
+
+    @Test
+    void getPage_withFilter_shouldOnlyReturnMatches() {
+        characterService.create("WarriorOne", "WARRIOR");
+        characterService.create("ThiefOne", "THIEF");
+        characterService.create("WarriorTwo", "WARRIOR");
+        characterService.getById(3).orElseThrow().takeDamage(100);
+
+        CharacterPage alive = characterService.getPage(null, 10,
+                CharacterFilter.of("warrior", true, null, null));
+        CharacterPage lowHp = characterService.getPage(null, 10,
+                CharacterFilter.of(null, null, null, 15));
+
+        assertEquals(1, alive.items().size());
+        assertEquals("WarriorOne", alive.items().get(0).getName());
+        assertNull(alive.nextCursor());
+        assertEquals(2, lowHp.items().size());
+    }
+
+    @Test
+    void getPage_withInvalidArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> characterService.getPage(null, 0, CharacterFilter.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> characterService.getPage("abc", 10, CharacterFilter.NONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> CharacterFilter.of("KNIGHT", null, null, null));
+    }
+
+    @Test
+    void stream_shouldApplyFilterLazily() {
+        characterService.create("WarriorOne", "WARRIOR");
+        characterService.create("MageOne", "MAGE");
+
+        List<Character> mages = characterService.stream(CharacterFilter.of("MAGE", null, null, null)).toList();
+
+        assertEquals(1, mages.size());
+        assertEquals(Job.MAGE, mages.get(0).getJob());
+    }
+
+    @Test
+    void search_byNameAndPrefix_shouldUseNameIndex() {
+        characterService.create("Warlock", "MAGE");
+        characterService.create("Warrior", "WARRIOR");
+        characterService.create("Wizard", "MAGE");
+        characterService.create("Warrior", "THIEF");
+
+        assertEquals(2, characterService.search("Warrior", null, CharacterFilter.NONE, 10).size());
+        assertEquals(3, characterService.search(null, "War", CharacterFilter.NONE, 10).size());
+        assertEquals(1, characterService.search(null, "War", CharacterFilter.of("MAGE", null, null, null), 10).size());
+        assertTrue(characterService.search("Warr", null, CharacterFilter.NONE, 10).isEmpty());
+    }
+
+    @Test
+    void search_byJobAndAlive_shouldReflectUpdates() {
+        Character warrior = characterService.create("WarriorOne", "WARRIOR");
+        characterService.create("ThiefOne", "THIEF");
+
+        warrior.takeDamage(100);
+        characterService.update(warrior);
+
+        assertEquals(1, characterService.search(null, null, CharacterFilter.of("WARRIOR", null, null, null), 10).size());
+        List<Character> dead = characterService.search(null, null, CharacterFilter.of(null, false, null, null), 10);
+        assertEquals(1, dead.size());
+        assertEquals("WarriorOne", dead.get(0).getName());
+    }
+
+    @Test
+    void leaderboardByHealthPoints_shouldFollowHpChanges() {
+        Character warrior = characterService.create("WarriorOne", "WARRIOR");
+        characterService.create("ThiefOne", "THIEF");
+        characterService.create("MageOne", "MAGE");
+
+        assertEquals("WarriorOne", characterService.leaderboardByHealthPoints(1).get(0).getName());
+
+        warrior.takeDamage(10);
+        characterService.update(warrior);
+
+        List<Character> top = characterService.leaderboardByHealthPoints(3);
+        assertEquals(List.of("ThiefOne", "MageOne", "WarriorOne"),
+                top.stream().map(Character::getName).toList());
+        assertEquals(2, characterService.search(null, null, CharacterFilter.of(null, null, 11, 15), 10).size());
+    }
+}
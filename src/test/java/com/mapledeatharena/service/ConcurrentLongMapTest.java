@@ -0,0 +1,76 @@
+package com.mapledeatharena.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongMapTest {
+
+    @Test
+    void put_shouldInsertReplaceAndGrow() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, "v" + key);
+        }
+        map.put(500, "replaced");
+
+        assertEquals(1_000, map.size());
+        assertEquals("v1", map.get(1));
+        assertEquals("replaced", map.get(500));
+        assertEquals("v1000", map.get(1_000));
+        assertNull(map.get(1_001));
+        assertEquals(1_000, map.values().count());
+    }
+
+    @Test
+    void put_shouldRejectReservedKey() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, "zero"));
+    }
+
+    @Test
+    void put_shouldKeepEveryKeyUnderConcurrentInsertsAndResizes() throws Exception {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>();
+        int threads = 8;
+        int perThread = 20_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (long key = base + 1; key <= base + perThread; key++) {
+                        map.put(key, key);
+                        assertEquals(key, (long) map.get(key));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(threads * perThread, map.size());
+        for (long key = 1; key <= (long) threads * perThread; key++) {
+            assertEquals(key, (long) map.get(key));
+        }
+    }
+
+    @Test
+    void clear_shouldRemoveEverything() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>();
+        map.put(7, "seven");
+
+        map.clear();
+
+        assertNull(map.get(7));
+        assertEquals(0, map.size());
+    }
+}
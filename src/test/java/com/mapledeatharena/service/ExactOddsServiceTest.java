@@ -0,0 +1,88 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.ExactOddsResponse;
+import com.mapledeatharena.dto.SimulationResponse;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.model.StatBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExactOddsServiceTest {
+
+    private ExactOddsService exactOddsService;
+
+    @BeforeEach
+    void setUp() {
+        exactOddsService = new ExactOddsService();
+    }
+
+    @Test
+    void calculate_mirrorMatch_shouldBeExactlyEven() {
+        StatBlock mage = StatBlock.base(Job.MAGE);
+
+        ExactOddsResponse odds = exactOddsService.calculate(mage, mage);
+
+        assertEquals(0.5, odds.firstWinProbability(), 1e-9);
+    }
+
+    @Test
+    void calculate_shouldAgreeWithMonteCarlo() {
+        SimulationService simulationService = new SimulationService(4, Long.MAX_VALUE);
+        Job[] jobs = Job.values();
+
+        for (Job first : jobs) {
+            for (Job second : jobs) {
+                StatBlock a = StatBlock.base(first);
+                StatBlock b = StatBlock.base(second);
+
+                ExactOddsResponse exact = exactOddsService.calculate(a, b);
+                SimulationResponse sampled = simulationService.simulate(a, b, 400_000, 5L);
+
+                assertEquals(sampled.firstWinProbability(), exact.firstWinProbability(), 0.005,
+                        first + " vs " + second);
+                assertEquals(sampled.meanRounds(), exact.expectedRounds(), 0.02, first + " vs " + second);
+            }
+        }
+    }
+
+    @Test
+    void calculate_shouldBeSymmetric() {
+        StatBlock warrior = StatBlock.base(Job.WARRIOR);
+        StatBlock thief = StatBlock.base(Job.THIEF);
+
+        ExactOddsResponse forward = exactOddsService.calculate(warrior, thief);
+        ExactOddsResponse reverse = exactOddsService.calculate(thief, warrior);
+
+        assertEquals(forward.firstWinProbability(), reverse.secondWinProbability(), 1e-9);
+        assertEquals(forward.expectedRounds(), reverse.expectedRounds(), 1e-9);
+    }
+
+    @Test
+    void calculate_repeatQuery_shouldReturnCachedResult() {
+        StatBlock warrior = StatBlock.base(Job.WARRIOR);
+        StatBlock mage = StatBlock.base(Job.MAGE);
+
+        assertSame(exactOddsService.calculate(warrior, mage), exactOddsService.calculate(warrior, mage));
+    }
+
+    @Test
+    void calculate_withOneHitKills_shouldFollowSpeedRoll() {
+        // Attack ~1000 kills a 1 HP opponent on all but the zero-damage roll
+        StatBlock first = new StatBlock(Job.WARRIOR, 1, 1250, 5, 5);
+        StatBlock second = new StatBlock(Job.WARRIOR, 1, 1250, 5, 5);
+
+        ExactOddsResponse odds = exactOddsService.calculate(first, second);
+
+        assertEquals(0.5, odds.firstWinProbability(), 1e-9);
+        assertTrue(odds.expectedRounds() < 1.01);
+    }
+
+    @Test
+    void calculate_withoutAnyDamage_shouldBeRejected() {
+        StatBlock harmless = new StatBlock(Job.WARRIOR, 10, 0, 4, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> exactOddsService.calculate(harmless, harmless));
+    }
+}
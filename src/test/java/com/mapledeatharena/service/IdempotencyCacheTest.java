@@ -0,0 +1,153 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.BattleLogDetail;
+import com.mapledeatharena.dto.BattleResponse;
+import com.mapledeatharena.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private CharacterService characterService;
+    private BattleService battleService;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        battleService = new BattleService(characterService, new Random(42L));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new IdempotencyCache(meterRegistry, 3, 60);
+    }
+
+    @Test
+    void execute_retry_shouldReplayWithoutFightingAgain() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+        AtomicInteger battles = new AtomicInteger();
+
+        IdempotencyCache.Lookup first = cache.execute("key-1", "1:2:NONE", () -> {
+            battles.incrementAndGet();
+            return BattleResponse.from(battleService.executeBattle(warrior.getId(), thief.getId()), BattleLogDetail.NONE);
+        });
+        IdempotencyCache.Lookup retry = cache.execute("key-1", "1:2:NONE", () -> {
+            battles.incrementAndGet();
+            throw new AssertionError("A retry must not fight again");
+        });
+
+        assertEquals(1, battles.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertSame(first.response(), retry.response());
+        assertEquals(1, characterService.getAll().stream().filter(Character::isDead).count());
+        assertEquals(1.0, counter("hit"));
+        assertEquals(1.0, counter("miss"));
+    }
+
+    @Test
+    void execute_sameKeyForDifferentRequest_shouldBeRefused() {
+        cache.execute("key-1", "1:2:NONE", IdempotencyCacheTest::response);
+
+        assertThrows(IllegalStateException.class, () -> cache.execute("key-1", "1:3:NONE", IdempotencyCacheTest::response));
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(" ", "1:2:NONE", IdempotencyCacheTest::response));
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.execute("k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1), "1:2:NONE", IdempotencyCacheTest::response));
+    }
+
+    @Test
+    void execute_refusedBattle_shouldReleaseTheKey() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("key-1", "1:2:NONE", () -> {
+            throw new IllegalStateException("Attacker is already dead");
+        }));
+
+        IdempotencyCache.Lookup lookup = cache.execute("key-1", "1:2:NONE", IdempotencyCacheTest::response);
+        assertFalse(lookup.replayed());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void execute_floodOfRefusedBattles_shouldStayWithinTheCap() {
+        for (int i = 0; i < 1_000; i++) {
+            String key = "refused-" + i;
+            assertThrows(IllegalStateException.class, () -> cache.execute(key, "1:2:NONE", () -> {
+                throw new IllegalStateException("Attacker is already dead");
+            }));
+            assertTrue(cache.queued() <= 3);
+        }
+        assertEquals(0, cache.size());
+
+        // Refused keys do not crowd out a real one
+        cache.execute("key-1", "1:2:NONE", IdempotencyCacheTest::response);
+        assertTrue(cache.execute("key-1", "1:2:NONE", IdempotencyCacheTest::response).replayed());
+    }
+
+    @Test
+    void execute_concurrentRetries_shouldShareOneBattle() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger battles = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotencyCache.Lookup> first = executor.submit(() -> cache.execute("key-1", "1:2:NONE", () -> {
+                battles.incrementAndGet();
+                running.countDown();
+                awaitQuietly(release);
+                return response();
+            }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<IdempotencyCache.Lookup> retry = executor.submit(() -> cache.execute("key-1", "1:2:NONE", () -> {
+                battles.incrementAndGet();
+                return response();
+            }));
+
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS).response(), retry.get(5, TimeUnit.SECONDS).response());
+        }
+        assertEquals(1, battles.get());
+    }
+
+    @Test
+    void evict_shouldDropExpiredThenOldestKeys() {
+        for (int i = 1; i <= 5; i++) {
+            cache.execute("key-" + i, "fingerprint", IdempotencyCacheTest::response);
+        }
+
+        // Capacity 3: the two oldest are gone
+        assertEquals(3, cache.size());
+        assertTrue(cache.execute("key-5", "fingerprint", IdempotencyCacheTest::response).replayed());
+        assertFalse(cache.execute("key-1", "fingerprint", IdempotencyCacheTest::response).replayed());
+
+        cache.evict(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60));
+        assertEquals(0, cache.size());
+        assertEquals(6.0, meterRegistry.get("arena.battle.idempotency.evictions").counter().count());
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("arena.battle.idempotency.lookups").tag("result", result).counter().count();
+    }
+
+    private static BattleResponse response() {
+        return new BattleResponse(null, null, null, 0, 0, List.of());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.MatchmakingStatus;
+import com.mapledeatharena.model.Character;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+
+    private CharacterService characterService;
+    private SimpleMeterRegistry meterRegistry;
+    private Matchmaker matchmaker;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        meterRegistry = new SimpleMeterRegistry();
+        // The sweeper is not started; tests call sweep() with the time they need
+        matchmaker = new Matchmaker(characterService, new BattleService(characterService, new Random(42L)),
+                meterRegistry, 100, 8, 50, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchmaker.stop();
+    }
+
+    @Test
+    void bucketOf_shouldBeMonotonicWithoutGaps() {
+        for (long power = 0; power < 1_000_000; power++) {
+            int step = Matchmaker.bucketOf(power + 1) - Matchmaker.bucketOf(power);
+            assertTrue(step == 0 || step == 1, "power " + power);
+        }
+        assertTrue(Matchmaker.bucketOf(Long.MAX_VALUE) < Matchmaker.BUCKETS);
+    }
+
+    @Test
+    void enqueue_equalCharacters_shouldPairAtOnceAndFight() {
+        Character first = characterService.create("WarriorOne", "WARRIOR");
+        Character second = characterService.create("WarriorTwo", "WARRIOR");
+
+        assertEquals(MatchmakingStatus.State.QUEUED, matchmaker.enqueue(first.getId()).state());
+        assertEquals(1, matchmaker.queued());
+        MatchmakingStatus status = matchmaker.enqueue(second.getId());
+
+        assertEquals(MatchmakingStatus.State.MATCHED, status.state());
+        assertEquals(String.valueOf(first.getId()), status.opponentId());
+        assertEquals(0, matchmaker.queued());
+
+        MatchmakingStatus done = awaitResult(first.getId());
+        assertEquals(1, characterService.getAll().stream().filter(Character::isDead).count());
+        assertEquals(done.result(), awaitResult(second.getId()).result());
+        assertEquals(2, meterRegistry.get("arena.matchmaking.queue.time").timer().count());
+    }
+
+    @Test
+    void sweep_shouldWidenBandWithWaitingTime() {
+        Character strong = characterService.create("Strong", "WARRIOR");
+        Character weak = weakened(characterService.create("Weak", "WARRIOR"), 8);
+        Character weakest = weakened(characterService.create("Weakest", "WARRIOR"), 9);
+
+        long start = System.nanoTime();
+        matchmaker.enqueue(strong.getId());
+        matchmaker.enqueue(weakest.getId());
+        matchmaker.sweep(start + TimeUnit.HOURS.toNanos(1));
+        // Nine buckets apart is beyond the band, however long they wait
+        assertEquals(2, matchmaker.queued());
+
+        matchmaker.cancel(weakest.getId());
+        matchmaker.enqueue(weak.getId());
+        matchmaker.sweep(System.nanoTime());
+        assertEquals(2, matchmaker.queued());
+
+        matchmaker.sweep(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(800));
+        assertEquals(0, matchmaker.queued());
+        assertEquals(String.valueOf(strong.getId()), matchmaker.status(weak.getId()).orElseThrow().opponentId());
+        awaitResult(weak.getId());
+    }
+
+    @Test
+    void sweep_shouldForgetMatchesPastTheirTtl() {
+        Character first = characterService.create("WarriorOne", "WARRIOR");
+        Character second = characterService.create("WarriorTwo", "WARRIOR");
+        matchmaker.enqueue(first.getId());
+        matchmaker.enqueue(second.getId());
+        awaitResult(first.getId());
+        awaitResult(second.getId());
+
+        matchmaker.sweep(System.nanoTime());
+        assertTrue(matchmaker.status(first.getId()).isPresent());
+
+        // The battle thread queues a result for expiry just after publishing it, so give it a moment
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (matchmaker.status(first.getId()).isPresent() || matchmaker.status(second.getId()).isPresent()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the results to expire");
+            matchmaker.sweep(System.nanoTime() + TimeUnit.SECONDS.toNanos(301));
+        }
+    }
+
+    @Test
+    void enqueue_shouldRefuseDeadAndDuplicateCharacters() {
+        Character warrior = characterService.create("Warrior", "WARRIOR");
+        Character thief = characterService.create("Thief", "THIEF");
+        thief.takeDamage(thief.getHealthPoints());
+        characterService.update(thief);
+
+        matchmaker.enqueue(warrior.getId());
+
+        assertThrows(IllegalStateException.class, () -> matchmaker.enqueue(warrior.getId()));
+        assertThrows(IllegalStateException.class, () -> matchmaker.enqueue(thief.getId()));
+        assertThrows(IllegalArgumentException.class, () -> matchmaker.enqueue(999L));
+        assertTrue(matchmaker.cancel(warrior.getId()));
+        assertFalse(matchmaker.cancel(warrior.getId()));
+        assertTrue(matchmaker.status(warrior.getId()).isEmpty());
+    }
+
+    // Lower HP until the character's power bucket is the given distance below a fresh one of its job
+    private Character weakened(Character character, int buckets) {
+        int target = Matchmaker.bucketOf(Matchmaker.power(character)) - buckets;
+        while (Matchmaker.bucketOf(Matchmaker.power(character)) > target) {
+            character.setHealthPoints(character.getHealthPoints() - 1);
+        }
+        assertEquals(target, Matchmaker.bucketOf(Matchmaker.power(character)));
+        characterService.update(character);
+        return character;
+    }
+
+    private MatchmakingStatus awaitResult(long characterId) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            MatchmakingStatus status = matchmaker.status(characterId).orElseThrow();
+            if (status.result() != null) {
+                return status;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the battle");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.RatingStanding;
+import com.mapledeatharena.engine.SeededRandomProvider;
+import com.mapledeatharena.history.BattleHistory;
+import com.mapledeatharena.model.Character;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingLadderTest {
+
+    @Test
+    void recordOutcome_shouldMoveRatingsSymmetrically() {
+        RatingLadder ladder = new RatingLadder(null, 32);
+
+        ladder.recordOutcome(1, 2);
+
+        RatingStanding winner = ladder.standing(1).orElseThrow();
+        RatingStanding loser = ladder.standing(2).orElseThrow();
+        assertEquals(RatingLadder.INITIAL_RATING + 16, winner.rating());
+        assertEquals(RatingLadder.INITIAL_RATING - 16, loser.rating());
+        assertEquals(1, winner.rank());
+        assertEquals(2, loser.rank());
+        assertEquals((double) 50, winner.percentile());
+        assertEquals((double) 0, loser.percentile());
+        assertTrue(ladder.standing(3).isEmpty());
+    }
+
+    @Test
+    void standing_shouldMatchBruteForceRanks() {
+        RatingLadder ladder = new RatingLadder(null, 32);
+        Random random = new Random(5L);
+        for (int i = 0; i < 5_000; i++) {
+            long winner = random.nextInt(300) + 1;
+            long loser = random.nextInt(300) + 1;
+            if (winner != loser) {
+                ladder.recordOutcome(winner, loser);
+            }
+        }
+
+        List<RatingStanding> all = ladder.top(1_000);
+        assertEquals(ladder.ratedCount(), all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).rating() >= all.get(i).rating());
+        }
+        for (RatingStanding standing : all) {
+            long higher = all.stream().filter(other -> other.rating() > standing.rating()).count();
+            long lower = all.stream().filter(other -> other.rating() < standing.rating()).count();
+            assertEquals(higher + 1, standing.rank());
+            assertEquals(100.0 * lower / all.size(), standing.percentile(), 1e-9);
+        }
+    }
+
+    @Test
+    void rebuild_shouldReproduceLiveRatingsFromHistory() throws IOException {
+        Path directory = Files.createTempDirectory("arena-ratings");
+        BattleHistory history = new BattleHistory(true, directory.toString(), 10_000, 168, 64, true, "heap");
+        history.start();
+        try {
+            CharacterService characterService = new CharacterService();
+            RatingLadder live = new RatingLadder(history, 32);
+            BattleService battleService = new BattleService(characterService, new SeededRandomProvider(9L),
+                    history, BattleMetrics.NONE, live);
+            String[] jobs = {"WARRIOR", "THIEF", "MAGE"};
+            for (int i = 0; i < 8; i++) {
+                characterService.create("Fighter_" + (char) ('a' + i), jobs[i % 3]);
+            }
+
+            Random random = new Random(3L);
+            for (int i = 0; i < 200; i++) {
+                long first = random.nextInt(8) + 1;
+                long second = (first + random.nextInt(7)) % 8 + 1;
+                revive(characterService, first);
+                revive(characterService, second);
+                battleService.executeBattle(first, second);
+            }
+
+            // Records still queued for the writer are not visible to a rebuild yet
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (history.storedCount() < 200) {
+                assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the history writer");
+                Thread.onSpinWait();
+            }
+
+            RatingLadder rebuilt = new RatingLadder(history, 32);
+            assertEquals(new RatingLadder.Rebuild(200, 0), rebuilt.rebuild());
+            assertEquals(live.top(8), rebuilt.top(8));
+
+            // A ladder that has seen more battles than the history kept reports the shortfall
+            RatingLadder restored = new RatingLadder(history, 32);
+            restored.restore(live.ratings().toList(), 250);
+            assertEquals(250, restored.battles());
+            assertEquals(new RatingLadder.Rebuild(200, 50), restored.rebuild());
+            assertEquals(200, restored.battles());
+        } finally {
+            history.stop();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void revive(CharacterService characterService, long id) {
+        Character character = characterService.getById(id).orElseThrow();
+        character.setHealthPoints(character.getMaxHealthPoints());
+        character.setAlive(true);
+        characterService.update(character);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.SimulationResponse;
+import com.mapledeatharena.model.Job;
+import com.mapledeatharena.model.StatBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationServiceTest {
+
+    private SimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        simulationService = new SimulationService(4, Long.MAX_VALUE);
+    }
+
+    @Test
+    void simulate_withSameSeed_shouldBeReproducible() {
+        StatBlock warrior = StatBlock.base(Job.WARRIOR);
+        StatBlock thief = StatBlock.base(Job.THIEF);
+
+        SimulationResponse first = simulationService.simulate(warrior, thief, 200_000, 7L);
+        SimulationResponse second = simulationService.simulate(warrior, thief, 200_000, 7L);
+
+        assertEquals(first.firstWins(), second.firstWins());
+        assertEquals(first.meanRounds(), second.meanRounds(), 0.0);
+        assertArrayEquals(first.firstDamageDistribution(), second.firstDamageDistribution());
+    }
+
+    @Test
+    void simulate_withSameSeed_shouldNotDependOnChunkCount() {
+        StatBlock mage = StatBlock.base(Job.MAGE);
+        StatBlock thief = StatBlock.base(Job.THIEF);
+
+        SimulationResponse single = simulationService.simulate(mage, thief, 50_001, 13L, 1);
+        for (int chunks : new int[]{2, 7, 64}) {
+            SimulationResponse split = simulationService.simulate(mage, thief, 50_001, 13L, chunks);
+
+            assertEquals(single.firstWins(), split.firstWins());
+            assertEquals(single.meanRounds(), split.meanRounds(), 0.0);
+            assertEquals(single.rounds(), split.rounds());
+            assertArrayEquals(single.firstDamageDistribution(), split.firstDamageDistribution());
+            assertArrayEquals(single.secondDamageDistribution(), split.secondDamageDistribution());
+        }
+    }
+
+    @Test
+    void simulate_overTheRoundsBudget_shouldBeRejected() {
+        SimulationService budgeted = new SimulationService(1, 1_000_000);
+        StatBlock tank = new StatBlock(Job.WARRIOR, 60_000, 4, 4, 4);
+        StatBlock warrior = StatBlock.base(Job.WARRIOR);
+
+        assertThrows(IllegalStateException.class, () -> budgeted.simulate(tank, tank, 100, 1L));
+        SimulationResponse small = budgeted.simulate(warrior, warrior, 10, 1L);
+        assertEquals(10, small.firstWins() + small.secondWins());
+        budgeted.stop();
+    }
+
+    @Test
+    void simulate_shouldAccountForEveryBattle() {
+        SimulationResponse response = simulationService.simulate(
+                StatBlock.base(Job.MAGE), StatBlock.base(Job.WARRIOR), 100_001, 1L);
+
+        assertEquals(100_001, response.firstWins() + response.secondWins());
+        assertEquals(1.0, response.firstWinProbability() + response.secondWinProbability(), 1e-9);
+        assertTrue(response.rounds().p50() >= 1);
+        assertTrue(response.rounds().p50() <= response.rounds().p99());
+        assertTrue(response.rounds().p99() <= response.rounds().max());
+    }
+
+    @Test
+    void simulate_mirrorMatch_shouldBeCloseToEven() {
+        StatBlock warrior = StatBlock.base(Job.WARRIOR);
+
+        SimulationResponse response = simulationService.simulate(warrior, warrior, 400_000, 3L);
+
+        assertEquals(0.5, response.firstWinProbability(), 0.01);
+    }
+
+    @Test
+    void simulate_damageDistribution_shouldBeUniformOverAttackRange() {
+        SimulationResponse response = simulationService.simulate(
+                StatBlock.base(Job.THIEF), StatBlock.base(Job.MAGE), 200_000, 11L);
+
+        // Thief attack modifier 12 -> damage uniform on [0, 12]
+        long[] damage = response.firstDamageDistribution();
+        assertEquals(13, damage.length);
+        double expected = Arrays.stream(damage).sum() / 13.0;
+        for (long count : damage) {
+            assertEquals(expected, count, expected * 0.05);
+        }
+    }
+
+    @Test
+    void simulate_zeroAttackMatchup_shouldBeRejected() {
+        // No strength or dexterity: attack 0, but intelligence still gives the warrior speed to roll
+        StatBlock harmless = new StatBlock(Job.WARRIOR, 20, 0, 0, 20);
+
+        assertThrows(IllegalStateException.class, () -> simulationService.simulate(harmless, harmless, 1_000, 1L));
+    }
+}
@@ -0,0 +1,168 @@
+package com.mapledeatharena.service;
+
+import com.mapledeatharena.dto.TournamentMatch;
+import com.mapledeatharena.dto.TournamentRequest;
+import com.mapledeatharena.dto.TournamentResult;
+import com.mapledeatharena.dto.TournamentRound;
+import com.mapledeatharena.dto.TournamentStanding;
+import com.mapledeatharena.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentServiceTest {
+
+    private static final String[] JOBS = {"WARRIOR", "THIEF", "MAGE"};
+
+    private CharacterService characterService;
+    private TournamentService tournamentService;
+
+    @BeforeEach
+    void setUp() {
+        characterService = new CharacterService();
+        tournamentService = new TournamentService(characterService);
+    }
+
+    @Test
+    void singleElimination_ofEight_shouldPlayThreeRoundsToOneChampion() {
+        List<String> ids = createCharacters(8);
+
+        List<TournamentRound> rounds = new ArrayList<>();
+        TournamentResult result = tournamentService.prepare(request(ids, null, null, null, 5L)).run(rounds::add);
+
+        assertEquals(3, result.rounds());
+        assertEquals(7, result.matches());
+        assertEquals(List.of(4, 2, 1), rounds.stream().map(TournamentRound::matches).toList());
+        assertEquals(List.of(4, 2, 1), rounds.stream().map(TournamentRound::remaining).toList());
+
+        // Each round is played by exactly the previous round's winners
+        for (int r = 1; r < rounds.size(); r++) {
+            List<String> advanced = rounds.get(r - 1).results().stream().map(TournamentMatch::winnerId).toList();
+            List<String> played = rounds.get(r).results().stream()
+                    .flatMap(match -> java.util.stream.Stream.of(match.firstId(), match.secondId()))
+                    .toList();
+            assertEquals(advanced, played);
+        }
+
+        TournamentStanding champion = result.champion();
+        assertEquals(rounds.get(2).results().get(0).winnerId(), champion.characterId());
+        assertEquals(3, champion.wins());
+        assertEquals(1, result.standings().get(0).place());
+        assertEquals(champion.characterId(), result.standings().get(0).characterId());
+        assertEquals(8, result.standings().size());
+        assertEquals(5, result.standings().get(7).place());
+    }
+
+    @Test
+    void run_shouldLeaveLiveCharactersUntouched() {
+        List<String> ids = createCharacters(16);
+
+        tournamentService.prepare(request(ids, null, null, null, 1L)).run(round -> {
+        });
+
+        for (Character character : characterService.getAll()) {
+            assertTrue(character.isAlive());
+            assertEquals(character.getMaxHealthPoints(), character.getHealthPoints());
+            assertEquals(0, character.getExperience());
+        }
+    }
+
+    @Test
+    void run_withSameSeed_shouldBeReproducible() {
+        createCharacters(300);
+
+        TournamentResult first = tournamentService.prepare(request(null, "swiss", null, null, 9L)).run(round -> {
+        });
+        TournamentResult second = tournamentService.prepare(request(null, "swiss", null, null, 9L)).run(round -> {
+        });
+
+        assertEquals(first.standings(), second.standings());
+        assertEquals(first.champion(), second.champion());
+    }
+
+    @Test
+    void singleElimination_withOddField_shouldGiveByes() {
+        List<String> ids = createCharacters(5);
+
+        List<TournamentRound> rounds = new ArrayList<>();
+        TournamentResult result = tournamentService.prepare(request(ids, "single-elimination", null, null, 3L))
+                .run(rounds::add);
+
+        // 5 -> 2 matches + bye -> 3 -> 1 match + bye -> 2 -> final
+        assertEquals(List.of(1, 1, 0), rounds.stream().map(TournamentRound::byes).toList());
+        assertEquals(List.of(3, 2, 1), rounds.stream().map(TournamentRound::remaining).toList());
+        assertEquals(4, result.matches());
+        // The round 1 bye leads round 2, so it cannot sit out again
+        assertEquals(ids.get(4), rounds.get(1).results().get(0).firstId());
+    }
+
+    @Test
+    void swiss_shouldDefaultToLog2RoundsAndCountEveryWin() {
+        createCharacters(37);
+
+        List<TournamentRound> rounds = new ArrayList<>();
+        TournamentResult result = tournamentService.prepare(request(null, "swiss", "reset", null, 4L))
+                .run(rounds::add);
+
+        assertEquals(6, result.rounds());
+        assertEquals(6 * 18, result.matches());
+        assertTrue(rounds.stream().allMatch(round -> round.byes() == 1 && round.remaining() == 37));
+        assertTrue(result.champion().wins() >= result.standings().get(1).wins());
+        assertEquals(result.champion(), result.standings().get(0));
+    }
+
+    @Test
+    void carry_shouldStartLaterMatchesFromRemainingHealthPoints() {
+        List<String> ids = createCharacters(4);
+
+        List<TournamentRound> rounds = new ArrayList<>();
+        TournamentResult result = tournamentService.prepare(request(ids, null, "carry", null, 8L)).run(rounds::add);
+
+        TournamentMatch semiFinal = rounds.get(0).results().stream()
+                .filter(match -> match.winnerId().equals(result.champion().characterId()))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(result.champion().healthPoints() <= semiFinal.winnerHealthPoints());
+    }
+
+    @Test
+    void prepare_shouldRejectInvalidTournaments() {
+        List<String> ids = createCharacters(3);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.prepare(request(ids, "swiss", "carry", null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.prepare(request(ids, "round-robin", null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.prepare(request(ids, null, null, 3, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.prepare(request(List.of(ids.get(0), ids.get(0)), null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.prepare(request(List.of(ids.get(0), "999"), null, null, null, null)));
+        assertThrows(IllegalStateException.class,
+                () -> tournamentService.prepare(request(List.of(ids.get(0)), null, null, null, null)));
+
+        Character dead = characterService.getById(Long.parseLong(ids.get(1))).orElseThrow();
+        dead.setHealthPoints(0);
+        dead.setAlive(false);
+        assertThrows(IllegalStateException.class,
+                () -> tournamentService.prepare(request(ids, null, null, null, null)));
+    }
+
+    private static TournamentRequest request(List<String> ids, String format, String healthPoints, Integer rounds,
+                                             Long seed) {
+        return new TournamentRequest(ids, format, healthPoints, rounds, seed);
+    }
+
+    private List<String> createCharacters(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(String.valueOf(characterService.create("Fighter", JOBS[i % JOBS.length]).getId()));
+        }
+        return ids;
+    }
+}